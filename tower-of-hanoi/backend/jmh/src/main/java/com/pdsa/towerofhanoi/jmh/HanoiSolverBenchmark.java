@@ -0,0 +1,86 @@
+package com.pdsa.towerofhanoi.jmh;
+
+import com.pdsa.towerofhanoi.algorithm.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline comparison of the Tower of Hanoi solvers for 5..25 disks.
+ * 25 disks on three pegs is ~33.5 million moves, hence the large heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class HanoiSolverBenchmark {
+    
+    @Param({"5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15",
+            "16", "17", "18", "19", "20", "21", "22", "23", "24", "25"})
+    public int disks;
+    
+    private ThreePegRecursive threePegRecursive;
+    private ThreePegIterative threePegIterative;
+    private LegacyThreePegIterative legacyThreePegIterative;
+    private FourPegFrameStewart fourPegFrameStewart;
+    private FourPegOptimized fourPegOptimized;
+    private FrameStewartEngine frameStewartEngine;
+    private ParallelMoveGenerator parallelMoveGenerator;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        threePegRecursive = new ThreePegRecursive();
+        threePegIterative = new ThreePegIterative();
+        legacyThreePegIterative = new LegacyThreePegIterative();
+        frameStewartEngine = new FrameStewartEngine();
+        fourPegFrameStewart = new FourPegFrameStewart(frameStewartEngine);
+        fourPegOptimized = new FourPegOptimized();
+        parallelMoveGenerator = new ParallelMoveGenerator(frameStewartEngine);
+    }
+    
+    @Benchmark
+    public List<String> threePegRecursive() {
+        return threePegRecursive.solve(disks);
+    }
+    
+    @Benchmark
+    public List<String> threePegIterative() {
+        return threePegIterative.solve(disks);
+    }
+    
+    // Stack<Integer> version the int[] rewrite replaced
+    @Benchmark
+    public List<String> threePegIterativeLegacy() {
+        return legacyThreePegIterative.solve(disks);
+    }
+    
+    // Moves consumed as peg indices, no List or Strings
+    @Benchmark
+    public void threePegIterativeSink(Blackhole blackhole) {
+        threePegIterative.generate(disks, (from, to) -> blackhole.consume(from * 4 + to));
+    }
+    
+    @Benchmark
+    public PackedMoves threePegParallel() {
+        return parallelMoveGenerator.generateThreePeg(disks);
+    }
+    
+    @Benchmark
+    public List<String> fourPegFrameStewart() {
+        return fourPegFrameStewart.solve(disks);
+    }
+    
+    @Benchmark
+    public List<String> fourPegOptimized() {
+        return fourPegOptimized.solve(disks);
+    }
+    
+    @Benchmark
+    public PackedMoves fourPegParallel() {
+        return parallelMoveGenerator.generateFrameStewart(disks, 4);
+    }
+}
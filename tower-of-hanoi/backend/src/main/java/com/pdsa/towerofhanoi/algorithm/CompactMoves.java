@@ -0,0 +1,285 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Immutable move sequence at 4 bits per move (from peg in the high 2 bits,
+ * to peg in the low 2 bits), 16 moves per long, for pegs A to D.
+ *
+ * Parsed straight from the "A->C, A->B" text without splitting it into
+ * Strings, compared word by word, and stored as a small binary blob: a format
+ * byte, the move count as a varint, then either the nibbles two per byte or,
+ * when shorter, run-length tokens of (nibble, run length 1..16) per byte.
+ * The text form is only rebuilt when asked for.
+ */
+public final class CompactMoves {
+
+    private static final int MOVES_PER_WORD = 16;
+    private static final int FORMAT_NIBBLES = 0;
+    private static final int FORMAT_RUNS = 1;
+    private static final int MAX_RUN = 16;
+
+    private final long[] words;
+    private final int size;
+
+    private CompactMoves(long[] words, int size) {
+        this.words = words;
+        this.size = size;
+    }
+
+
+    /**
+     * Parses comma separated moves such as "A->C, A->B"
+     *
+     * @throws IllegalArgumentException if any move is not [A-D]->[A-D]
+     */
+    public static CompactMoves parse(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Move sequence is required");
+        }
+
+        long[] words = new long[text.length() / (4 * MOVES_PER_WORD) + 1];
+        int size = 0;
+        int length = text.length();
+        int i = skipSpaces(text, 0);
+        if (i == length) {
+            throw new IllegalArgumentException("Move sequence is empty");
+        }
+
+        while (true) {
+            if (i + 4 > length) {
+                throw new IllegalArgumentException("Incomplete move at position " + i);
+            }
+            int from = text.charAt(i) - 'A';
+            int to = text.charAt(i + 3) - 'A';
+            if (from < 0 || from > 3 || to < 0 || to > 3
+                    || text.charAt(i + 1) != '-' || text.charAt(i + 2) != '>') {
+                throw new IllegalArgumentException("Invalid move at position " + i);
+            }
+
+            if (size / MOVES_PER_WORD == words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+            words[size / MOVES_PER_WORD] |= (long) (from << 2 | to) << (4 * (size % MOVES_PER_WORD));
+            size++;
+
+            i = skipSpaces(text, i + 4);
+            if (i == length) {
+                break;
+            }
+            if (text.charAt(i) != ',') {
+                throw new IllegalArgumentException("Expected ',' at position " + i);
+            }
+            i = skipSpaces(text, i + 1);
+        }
+
+        return new CompactMoves(Arrays.copyOf(words, (size + MOVES_PER_WORD - 1) / MOVES_PER_WORD), size);
+    }
+
+    public static CompactMoves of(PackedMoves moves) {
+        long[] words = new long[(moves.size() + MOVES_PER_WORD - 1) / MOVES_PER_WORD];
+        for (int i = 0; i < moves.size(); i++) {
+            words[i / MOVES_PER_WORD] |= (long) (moves.fromPeg(i) << 2 | moves.toPeg(i)) << (4 * (i % MOVES_PER_WORD));
+        }
+        return new CompactMoves(words, moves.size());
+    }
+
+    /**
+     * Reads the blob written by encode
+     *
+     * @throws IllegalArgumentException if the blob is truncated or has an unknown format
+     */
+    public static CompactMoves decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("Encoded move sequence is empty");
+        }
+
+        int format = data[0];
+        int position = 1;
+        long size = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (position == data.length || shift > 28) {
+                throw new IllegalArgumentException("Corrupt move count");
+            }
+            int b = data[position++];
+            size |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (size > Integer.MAX_VALUE - MOVES_PER_WORD) {
+            throw new IllegalArgumentException("Corrupt move count");
+        }
+
+        int moves = (int) size;
+        long[] words = new long[(moves + MOVES_PER_WORD - 1) / MOVES_PER_WORD];
+        if (format == FORMAT_NIBBLES) {
+            if (data.length - position != (moves + 1) / 2) {
+                throw new IllegalArgumentException("Truncated move data");
+            }
+            for (int i = 0; i < moves; i++) {
+                long nibble = (data[position + i / 2] >>> (4 * (i & 1))) & 0x0F;
+                words[i / MOVES_PER_WORD] |= nibble << (4 * (i % MOVES_PER_WORD));
+            }
+        } else if (format == FORMAT_RUNS) {
+            int index = 0;
+            for (; position < data.length; position++) {
+                long nibble = (data[position] >>> 4) & 0x0F;
+                int run = (data[position] & 0x0F) + 1;
+                if (index + run > moves) {
+                    throw new IllegalArgumentException("Run exceeds move count");
+                }
+                for (int r = 0; r < run; r++, index++) {
+                    words[index / MOVES_PER_WORD] |= nibble << (4 * (index % MOVES_PER_WORD));
+                }
+            }
+            if (index != moves) {
+                throw new IllegalArgumentException("Truncated move data");
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown move sequence format " + format);
+        }
+        return new CompactMoves(words, moves);
+    }
+
+
+    public int size() {
+        return size;
+    }
+
+    public int fromPeg(int index) {
+        return nibble(index) >>> 2;
+    }
+
+    public int toPeg(int index) {
+        return nibble(index) & 3;
+    }
+
+    public void forEach(MoveSink sink) {
+        for (int i = 0; i < size; i++) {
+            int nibble = nibble(i);
+            sink.move(nibble >>> 2, nibble & 3);
+        }
+    }
+
+    //unused nibbles are always zero, so equal sequences have equal words
+    public boolean sameMoves(CompactMoves other) {
+        return size == other.size && Arrays.equals(words, other.words);
+    }
+
+    /**
+     * Index of the first move that differs, or -1 if the sequences are equal
+     */
+    public int firstDifference(CompactMoves other) {
+        int common = Math.min(words.length, other.words.length);
+        for (int w = 0; w < common; w++) {
+            long diff = words[w] ^ other.words[w];
+            if (diff != 0) {
+                int index = w * MOVES_PER_WORD + Long.numberOfTrailingZeros(diff) / 4;
+                return Math.min(index, Math.min(size, other.size));
+            }
+        }
+        return size == other.size ? -1 : Math.min(size, other.size);
+    }
+
+    //smaller of the plain nibble and run-length forms
+    public byte[] encode() {
+        int runs = 0;
+        for (int i = 0; i < size; ) {
+            int run = runLength(i);
+            runs++;
+            i += run;
+        }
+
+        int header = 1 + varintLength(size);
+        boolean useRuns = runs < (size + 1) / 2;
+        byte[] data = new byte[header + (useRuns ? runs : (size + 1) / 2)];
+        data[0] = (byte) (useRuns ? FORMAT_RUNS : FORMAT_NIBBLES);
+        int position = 1;
+        for (int value = size; ; value >>>= 7) {
+            if (value < 0x80) {
+                data[position++] = (byte) value;
+                break;
+            }
+            data[position++] = (byte) (value & 0x7F | 0x80);
+        }
+
+        if (useRuns) {
+            for (int i = 0; i < size; ) {
+                int run = runLength(i);
+                data[position++] = (byte) (nibble(i) << 4 | (run - 1));
+                i += run;
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                data[position + i / 2] |= (byte) (nibble(i) << (4 * (i & 1)));
+            }
+        }
+        return data;
+    }
+
+    //same format as PackedMoves.toSequence, e.g. "A->C, A->B, C->B"
+    public String toSequence() {
+        StringBuilder builder = new StringBuilder(size * 6);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(FrameStewartEngine.pegName(fromPeg(i)))
+                .append("->")
+                .append(FrameStewartEngine.pegName(toPeg(i)));
+        }
+        return builder.toString();
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CompactMoves && sameMoves((CompactMoves) other);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return toSequence();
+    }
+
+
+    private int nibble(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + size);
+        }
+        return (int) (words[index / MOVES_PER_WORD] >>> (4 * (index % MOVES_PER_WORD))) & 0x0F;
+    }
+
+    private int runLength(int start) {
+        int nibble = nibble(start);
+        int run = 1;
+        while (run < MAX_RUN && start + run < size && nibble(start + run) == nibble) {
+            run++;
+        }
+        return run;
+    }
+
+    private static int varintLength(int value) {
+        int length = 1;
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    private static int skipSpaces(CharSequence text, int from) {
+        while (from < text.length() && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+}
@@ -1,89 +1,50 @@
 package com.pdsa.towerofhanoi.algorithm;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import java.util.ArrayList;
 import java.util.List;
 
 @Component
 public class FourPegFrameStewart {
-    
-    private final char[] pegs = {'A', 'B', 'C', 'D'}; 
-    
-    
-    public List<String> solve(int n) {
-        List<String> moves = new ArrayList<>();  
-        frameStewart(n, 0, 3, 1, 2, moves);  
-        return moves;
+
+    private static final int PEGS = 4;
+
+    // Shared p-peg engine, holds the memoized (pegs, disks) -> (moves, split) table
+    private final FrameStewartEngine engine;
+    private final ParallelMoveGenerator generator;
+
+    public FourPegFrameStewart() {
+        this(new FrameStewartEngine());
     }
-    
-    
-    private void frameStewart(int n, int source, int destination, int aux1, int aux2, List<String> moves) {
-        if (n == 0) {
-            return;
-        }
-        
-        if (n == 1) {
-            moves.add(pegs[source] + "->" + pegs[destination]);
-            return;
-        }
-        
-        // Find optimal split point k 
-        int k = n - (int) Math.round(Math.sqrt(2 * n));
-        if (k < 1) k = 1;
-        if (k >= n) k = n - 1;
-        
-        // Step 1: Move top k disks from source to aux1 using all 4 pegs
-        frameStewart(k, source, aux1, aux2, destination, moves);
-        
-        // Step 2: Move remaining (n-k) disks from source to destination using 3 pegs
-        threePegMove(n - k, source, destination, aux2, moves);
-        
-        // Step 3: Move k disks from aux1 to destination using all 4 pegs
-        frameStewart(k, aux1, destination, source, aux2, moves);
+
+    public FourPegFrameStewart(FrameStewartEngine engine) {
+        this(engine, new ParallelMoveGenerator(engine));
     }
-    
-    
-    //3 peg method
-    private void threePegMove(int n, int source, int destination, int auxiliary, List<String> moves) {
-        if (n == 1) {
-            moves.add(pegs[source] + "->" + pegs[destination]);
-            return;
-        }
-        
-        threePegMove(n - 1, source, auxiliary, destination, moves);
-        moves.add(pegs[source] + "->" + pegs[destination]);
-        threePegMove(n - 1, auxiliary, destination, source, moves);
+
+    @Autowired
+    public FourPegFrameStewart(FrameStewartEngine engine, ParallelMoveGenerator generator) {
+        this.engine = engine;
+        this.generator = generator;
     }
-    
-    
-    //minimum number of moves calculation using dynamic programming
+
+
+    public List<String> solve(int n) {
+        // Moves the tower from A to D using the DP-optimal split at every level
+        return engine.solve(n, PEGS);
+    }
+
+    //same moves as solve(n), written straight into a packed buffer; forks across cores for large n
+    public PackedMoves solvePacked(int n) {
+        return generator.generateFrameStewart(n, PEGS);
+    }
+
+
+    //minimum number of moves from the shared dynamic programming table
     public int getMinimumMoves(int n) {
-        if (n == 0) return 0;
-        if (n == 1) return 1;
-        if (n == 2) return 3;
-        
-        // dynamic programming array
-        int[] dp = new int[n + 1];
-        dp[0] = 0;
-        dp[1] = 1;
-        dp[2] = 3;
-        
-        // Calculate for each number of disks
-        for (int i = 3; i <= n; i++) {
-            dp[i] = Integer.MAX_VALUE;
-            
-            // Try all possible split points
-            for (int k = 1; k < i; k++) {
-                // move k disks twice (to aux and to dest) + move (i-k) disks once with 3 pegs
-                int movesCount = 2 * dp[k] + ((1 << (i - k)) - 1);
-                dp[i] = Math.min(dp[i], movesCount);
-            }
-        }
-        
-        return dp[n];
+        return Math.toIntExact(engine.getMinimumMoves(n, PEGS));
     }
-    
+
     public String getAlgorithmName() {
         return "4-Peg Frame-Stewart";
     }
-}
\ No newline at end of file
+}
@@ -1,50 +1,56 @@
 package com.pdsa.towerofhanoi.algorithm;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Fixed-split four peg solver: park the top n-2 disks using all four pegs,
+ * move the two largest with three pegs, then bring the n-2 back.
+ *
+ * Runs on FrameStewartEngine with its own split column (k = n - 2) in place
+ * of the DP-optimal one, so it is not optimal from 6 disks on.
+ */
 @Component
 public class FourPegOptimized {
-    
-    public List<String> solve(int n) {
-        List<String> moves = new ArrayList<>();  
-        solveOptimized(n, 'A', 'D', 'B', 'C', moves);  
-        return moves;
+
+    private static final int PEGS = 4;
+
+    private final FrameStewartEngine engine;
+
+    public FourPegOptimized() {
+        this(new FrameStewartEngine());
     }
-    
-    
-    private void solveOptimized(int n, char source, char destination, char aux1, char aux2, List<String> moves) {
-        if (n == 0) {
-            return;
-        }
-        
-        if (n == 1) {
-            moves.add(source + "->" + destination);
-            return;
+
+    @Autowired
+    public FourPegOptimized(FrameStewartEngine engine) {
+        this.engine = engine;
+    }
+
+
+    public List<String> solve(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of disks cannot be negative");
         }
-        
-        if (n == 2) {
-            moves.add(source + "->" + aux1);
-            moves.add(source + "->" + destination);
-            moves.add(aux1 + "->" + destination);
-            return;
+        return engine.solve(n, PEGS, splitTables(n), getMinimumMoves(n));
+    }
+
+    // splits[4][i] = i - 2 (one disk for i = 2), the three peg column is the usual i - 1
+    private static int[][] splitTables(int n) {
+        int[] fourPegs = new int[n + 1];
+        int[] threePegs = new int[n + 1];
+        for (int i = 2; i <= n; i++) {
+            fourPegs[i] = i == 2 ? 1 : i - 2;
+            threePegs[i] = i - 1;
         }
-        
-        
-        // Move top (n-2) disks to aux1 using all pegs
-        solveOptimized(n - 2, source, aux1, aux2, destination, moves);
-        
-        // Move 2 largest disks directly to destination
-        moves.add(source + "->" + aux2);
-        moves.add(source + "->" + destination);
-        moves.add(aux2 + "->" + destination);
-        
-        // Move (n-2) disks from aux1 to destination using all pegs
-        solveOptimized(n - 2, aux1, destination, source, aux2, moves);
+
+        int[][] splits = new int[PEGS + 1][];
+        splits[3] = threePegs;
+        splits[4] = fourPegs;
+        return splits;
     }
-    
-    
+
+
     //approximate minimum number of moves calculation
     public int getMinimumMoves(int n) {
         if (n == 0) return 0;
@@ -58,4 +64,4 @@ public class FourPegOptimized {
     public String getAlgorithmName() {
         return "4-Peg Optimized";
     }
-}
\ No newline at end of file
+}
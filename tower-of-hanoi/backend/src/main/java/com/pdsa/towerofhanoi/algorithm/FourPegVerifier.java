@@ -0,0 +1,200 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ground truth for 4-peg move counts: a layered breadth-first search over the
+ * whole 4^n state graph from the tower on peg A until the tower on peg D is
+ * reached.
+ *
+ * Every state has 2 bits in an off-heap buffer: unvisited, in one of two
+ * alternating frontiers, or done. Each layer scans the buffer a word (32
+ * states) at a time and expands the current frontier in parallel; new states
+ * are claimed with atomic ORs, so no frontier list is ever materialised.
+ * 14 disks need 64 MB, 16 disks 1 GB.
+ *
+ * Run main to write the table loaded by the service at startup:
+ * disks,optimal_moves per line.
+ */
+public class FourPegVerifier {
+
+    // 4^16 states * 2 bits = 1 GB, the largest direct buffer that can be indexed by int
+    public static final int MAX_DISKS = 16;
+
+    private static final long UNVISITED = 0;
+    private static final long DONE = 3;
+    private static final long LOW_BITS = 0x5555555555555555L;
+
+    private static final VarHandle WORDS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int DEFAULT_WORDS_PER_TASK = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private final int wordsPerTask;
+
+    public FourPegVerifier() {
+        this(ForkJoinPool.commonPool(), DEFAULT_WORDS_PER_TASK);
+    }
+
+    public FourPegVerifier(ForkJoinPool pool, int wordsPerTask) {
+        this.pool = pool;
+        this.wordsPerTask = wordsPerTask;
+    }
+
+
+    /**
+     * Writes disks,optimal_moves for 1..maxDisks (default 14) to the given file or stdout
+     */
+    public static void main(String[] args) throws IOException {
+        int maxDisks = args.length > 0 ? Integer.parseInt(args[0]) : 14;
+        FourPegVerifier verifier = new FourPegVerifier();
+
+        try (Writer out = args.length > 1
+                ? Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8)
+                : new PrintWriter(System.out)) {
+            out.write("# Optimal 4-peg move counts, tower from peg A to peg D\n");
+            out.write("# Generated by exhaustive BFS: " + FourPegVerifier.class.getName() + "\n");
+            out.write("disks,optimal_moves\n");
+            for (int n = 1; n <= maxDisks; n++) {
+                long started = System.nanoTime();
+                int moves = verifier.optimalMoves(n);
+                out.write(n + "," + moves + "\n");
+                out.flush();
+                System.err.printf("%d disks: %d moves (%d ms)%n", n, moves, (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+    }
+
+    //fewest moves to take n disks from peg A to peg D
+    public int optimalMoves(int n) {
+        if (n < 0 || n > MAX_DISKS) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and " + MAX_DISKS);
+        }
+        if (n == 0) {
+            return 0;
+        }
+
+        long states = 1L << (2 * n);
+        int wordCount = (int) Math.max(1, states >>> 5);
+        ByteBuffer table = ByteBuffer.allocateDirect(wordCount * Long.BYTES).order(ByteOrder.nativeOrder());
+        StateSpaceSolver.Space space = new StateSpaceSolver.Space(n, 4);
+
+        // Peg A is 0 for every disk, so the start is state 0 and the goal has every bit set
+        long goal = states - 1;
+        long frontier = 1;
+        WORDS.getAndBitwiseOr(table, 0, frontier);
+
+        for (int depth = 1; ; depth++) {
+            long next = 3 - frontier;
+            long claimed = pool.invoke(new LayerTask(table, space, 0, wordCount, frontier, next));
+            if (status(table, goal) != UNVISITED) {
+                return depth;
+            }
+            if (claimed == 0) {
+                throw new IllegalStateException("Goal unreachable for " + n + " disks");
+            }
+            frontier = next;
+        }
+    }
+
+
+    private static long status(ByteBuffer table, long state) {
+        long word = (long) WORDS.getVolatile(table, (int) (state >>> 5) * Long.BYTES);
+        return (word >>> ((state & 31) << 1)) & 3;
+    }
+
+    //sets an unvisited state to code; true only for the caller that changed it
+    private static boolean claim(ByteBuffer table, long state, long code) {
+        int offset = (int) (state >>> 5) * Long.BYTES;
+        int shift = (int) (state & 31) << 1;
+        long word = (long) WORDS.getVolatile(table, offset);
+        if (((word >>> shift) & 3) != UNVISITED) {
+            return false;
+        }
+        // Only unvisited slots are ever ORed with next, so a racing claim writes the same bits
+        long previous = (long) WORDS.getAndBitwiseOr(table, offset, code << shift);
+        return ((previous >>> shift) & 3) == UNVISITED;
+    }
+
+    //expands every frontier state in words [from, to) and returns how many states were claimed
+    private static long expandWords(ByteBuffer table, StateSpaceSolver.Space space, int from, int to,
+                                    long frontier, long next) {
+        long[] neighbours = new long[6];
+        long claimed = 0;
+
+        for (int word = from; word < to; word++) {
+            long value = (long) WORDS.getVolatile(table, word * Long.BYTES);
+            if (value == 0) {
+                continue;
+            }
+            long low = value & LOW_BITS;
+            long high = (value >>> 1) & LOW_BITS;
+            long members = frontier == 1 ? low & ~high : high & ~low;
+            if (members == 0) {
+                continue;
+            }
+
+            for (long bits = members; bits != 0; bits &= bits - 1) {
+                long state = ((long) word << 5) | (Long.numberOfTrailingZeros(bits) >>> 1);
+                int count = space.neighbours(state, neighbours);
+                for (int j = 0; j < count; j++) {
+                    if (claim(table, neighbours[j], next)) {
+                        claimed++;
+                    }
+                }
+            }
+
+            // frontier | 3 == 3 for both frontier codes
+            WORDS.getAndBitwiseOr(table, word * Long.BYTES, members * DONE);
+        }
+        return claimed;
+    }
+
+
+    /**
+     * Expands one layer over words [from, to) by splitting the range in halves
+     */
+    private final class LayerTask extends RecursiveTask<Long> {
+
+        private final ByteBuffer table;
+        private final StateSpaceSolver.Space space;
+        private final int from;
+        private final int to;
+        private final long frontier;
+        private final long next;
+
+        LayerTask(ByteBuffer table, StateSpaceSolver.Space space, int from, int to, long frontier, long next) {
+            this.table = table;
+            this.space = space;
+            this.from = from;
+            this.to = to;
+            this.frontier = frontier;
+            this.next = next;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= wordsPerTask) {
+                return expandWords(table, space, from, to, frontier, next);
+            }
+
+            int middle = (from + to) >>> 1;
+            LayerTask left = new LayerTask(table, space, from, middle, frontier, next);
+            LayerTask right = new LayerTask(table, space, middle, to, frontier, next);
+            left.fork();
+            long rightClaimed = right.compute();
+            return left.join() + rightClaimed;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Frame-Stewart solver for any number of pegs (p >= 3).
+ *
+ * FS(n, 3) = 2^n - 1
+ * FS(n, p) = min over 1 <= k < n of 2 * FS(k, p) + FS(n - k, p - 1)
+ *
+ * The (p, n) -> (moves, optimal k) table is computed once and shared by every
+ * caller, and move generation uses the same k the table was built from, so the
+ * generated sequence always has exactly getMinimumMoves(n, p) moves.
+ */
+@Component
+public class FrameStewartEngine {
+
+    // Pegs are tracked as bits of an int mask and named 'A'..'P'
+    public static final int MAX_PEGS = 16;
+
+    private static final String[][] MOVE_NAMES = new String[MAX_PEGS][MAX_PEGS];
+
+    static {
+        for (int from = 0; from < MAX_PEGS; from++) {
+            for (int to = 0; to < MAX_PEGS; to++) {
+                MOVE_NAMES[from][to] = pegName(from) + "->" + pegName(to);
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<Integer, SplitTable> tables = new ConcurrentHashMap<>();
+
+
+    //minimum number of moves, saturating at Long.MAX_VALUE when it does not fit in a long
+    public long getMinimumMoves(int n, int pegs) {
+        validate(n, pegs);
+        return table(pegs).snapshot(n).moves[n];
+    }
+
+    //exact minimum number of moves for any size
+    public BigInteger getMinimumMovesExact(int n, int pegs) {
+        validate(n, pegs);
+        long moves = getMinimumMoves(n, pegs);
+        if (moves != Long.MAX_VALUE) {
+            return BigInteger.valueOf(moves);
+        }
+        return table(pegs).exact(n);
+    }
+
+    //number of disks parked on an intermediate peg by the optimal first step
+    public int getOptimalSplit(int n, int pegs) {
+        validate(n, pegs);
+        return table(pegs).snapshot(n).split[n];
+    }
+
+
+    public List<String> solve(int n, int pegs) {
+        validate(n, pegs);
+        return solve(n, pegs, splitTables(n, pegs), getMinimumMoves(n, pegs));
+    }
+
+    //lists the moves for a caller-supplied split rule, total is the move count that rule produces
+    List<String> solve(int n, int pegs, int[][] splits, long total) {
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                String.format("%d disks on %d pegs needs %d moves, too many to list", n, pegs, total));
+        }
+
+        List<String> moves = new ArrayList<>((int) total);
+        generate(n, 0, pegs - 1, (1 << pegs) - 1, pegs, splits,
+            (from, to) -> moves.add(MOVE_NAMES[from][to]));
+        return moves;
+    }
+
+    //moves the whole tower from peg A to the last peg
+    public void generate(int n, int pegs, MoveSink sink) {
+        generate(n, pegs, 0, pegs - 1, sink);
+    }
+
+    public void generate(int n, int pegs, int source, int destination, MoveSink sink) {
+        validate(n, pegs);
+        if (source < 0 || source >= pegs || destination < 0 || destination >= pegs || source == destination) {
+            throw new IllegalArgumentException("Invalid source/destination peg: " + source + ", " + destination);
+        }
+
+        generate(n, source, destination, (1 << pegs) - 1, pegs, splitTables(n, pegs), sink);
+    }
+
+    //generates n disks between pegs in pegMask, splits from splitTables(...)
+    void generate(int n, int source, int destination, int pegMask, int pegCount,
+                  int[][] splits, MoveSink sink) {
+        if (n == 0) {
+            return;
+        }
+
+        if (n == 1) {
+            sink.move(source, destination);
+            return;
+        }
+        if (n >= SolverCancellation.CHECK_MIN_DISKS) {
+            SolverCancellation.checkInterrupted();
+        }
+
+        int k = splits[pegCount][n];
+        int intermediate = Integer.numberOfTrailingZeros(pegMask & ~(1 << source) & ~(1 << destination));
+
+        // Step 1: Move top k disks to the intermediate peg using all pegs
+        generate(k, source, intermediate, pegMask, pegCount, splits, sink);
+
+        // Step 2: Move remaining (n-k) disks to destination without the intermediate peg
+        generate(n - k, source, destination, pegMask & ~(1 << intermediate), pegCount - 1, splits, sink);
+
+        // Step 3: Move k disks from the intermediate peg to destination using all pegs
+        generate(k, intermediate, destination, pegMask, pegCount, splits, sink);
+    }
+
+    /**
+     * Split columns for every peg count used while generating n disks on the given pegs,
+     * indexed as splits[pegCount][disks]
+     */
+    int[][] splitTables(int n, int pegs) {
+        int[][] splits = new int[pegs + 1][];
+        for (int p = 3; p <= pegs; p++) {
+            splits[p] = table(p).snapshot(n).split;
+        }
+        return splits;
+    }
+
+    /**
+     * Move-count columns for every peg count used while generating n disks,
+     * indexed as moveCounts[pegCount][disks]
+     */
+    long[][] moveTables(int n, int pegs) {
+        long[][] moveCounts = new long[pegs + 1][];
+        for (int p = 3; p <= pegs; p++) {
+            moveCounts[p] = table(p).snapshot(n).moves;
+        }
+        return moveCounts;
+    }
+
+    public static String moveName(int fromPeg, int toPeg) {
+        return MOVE_NAMES[fromPeg][toPeg];
+    }
+
+    public static char pegName(int peg) {
+        return (char) ('A' + peg);
+    }
+
+    private static void validate(int n, int pegs) {
+        if (pegs < 3 || pegs > MAX_PEGS) {
+            throw new IllegalArgumentException("Number of pegs must be between 3 and " + MAX_PEGS);
+        }
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of disks cannot be negative");
+        }
+    }
+
+    private SplitTable table(int pegs) {
+        SplitTable table = tables.get(pegs);
+        if (table != null) {
+            return table;
+        }
+
+        SplitTable fewerPegs = pegs == 3 ? null : table(pegs - 1);
+        return tables.computeIfAbsent(pegs, p -> new SplitTable(p, fewerPegs));
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+
+    /**
+     * DP column for one peg count. Grows on demand (doubling) and publishes
+     * moves/split together so readers never need a lock.
+     */
+    private static final class SplitTable {
+
+        private final int pegs;
+        private final SplitTable fewerPegs;
+        private volatile Snapshot snapshot = new Snapshot(new long[] {0, 1}, new int[] {0, 0});
+        private BigInteger[] exact = new BigInteger[0];
+
+        SplitTable(int pegs, SplitTable fewerPegs) {
+            this.pegs = pegs;
+            this.fewerPegs = fewerPegs;
+        }
+
+        Snapshot snapshot(int n) {
+            Snapshot current = snapshot;
+            return current.moves.length > n ? current : grow(n);
+        }
+
+        private synchronized Snapshot grow(int n) {
+            Snapshot current = snapshot;
+            int oldSize = current.moves.length;
+            if (oldSize > n) {
+                return current;
+            }
+
+            int newSize = Math.max(n + 1, oldSize * 2);
+            long[] moves = Arrays.copyOf(current.moves, newSize);
+            int[] split = Arrays.copyOf(current.split, newSize);
+            long[] lower = fewerPegs == null ? null : fewerPegs.snapshot(newSize - 1).moves;
+
+            for (int i = oldSize; i < newSize; i++) {
+                if (pegs == 3) {
+                    // 2^i - 1, park i-1 disks and move the largest directly
+                    moves[i] = i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+                    split[i] = i - 1;
+                    continue;
+                }
+
+                long best = Long.MAX_VALUE;
+                int bestK = 1;
+                for (int k = 1; k < i; k++) {
+                    long count = saturatedAdd(saturatedAdd(moves[k], moves[k]), lower[i - k]);
+                    if (count < best) {
+                        best = count;
+                        bestK = k;
+                    }
+                }
+                moves[i] = best;
+                split[i] = bestK;
+            }
+
+            Snapshot grown = new Snapshot(moves, split);
+            snapshot = grown;
+            return grown;
+        }
+
+        //BigInteger column, only built once the long column has saturated
+        BigInteger exact(int n) {
+            return exactColumn(n)[n];
+        }
+
+        private synchronized BigInteger[] exactColumn(int n) {
+            if (exact.length > n) {
+                return exact;
+            }
+
+            int oldSize = exact.length;
+            BigInteger[] values = Arrays.copyOf(exact, n + 1);
+            BigInteger[] lower = fewerPegs == null ? null : fewerPegs.exactColumn(n);
+
+            for (int i = oldSize; i <= n; i++) {
+                if (pegs == 3) {
+                    values[i] = BigInteger.ONE.shiftLeft(i).subtract(BigInteger.ONE);
+                } else if (i < 2) {
+                    values[i] = BigInteger.valueOf(i);
+                } else {
+                    BigInteger best = null;
+                    for (int k = 1; k < i; k++) {
+                        BigInteger count = values[k].shiftLeft(1).add(lower[i - k]);
+                        if (best == null || count.compareTo(best) < 0) {
+                            best = count;
+                        }
+                    }
+                    values[i] = best;
+                }
+            }
+            exact = values;
+            return values;
+        }
+    }
+
+    private record Snapshot(long[] moves, int[] split) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best next move from any legal configuration towards the whole tower on the
+ * last peg (C for 3 pegs, D for 4 pegs).
+ *
+ * 3 pegs: closed form in O(n). Walking from the largest disk down, each disk
+ * has a target peg; a disk already on its target keeps the target for the
+ * next smaller disk, otherwise the smaller disks must first go to the third
+ * peg. The smallest misplaced disk is the one to move, and the remaining
+ * distance is the sum of 2^i over misplaced disks.
+ *
+ * 4 pegs: one BFS from the goal per disk count fills a byte-per-state table
+ * of distances (4^n bytes), after which a hint is a scan of at most six
+ * neighbours.
+ */
+@Component
+public class HintEngine {
+
+    public static final int MAX_DISKS_THREE_PEGS = 62;
+    // 4^12 bytes = 16 MB table
+    public static final int MAX_DISKS_FOUR_PEGS = 12;
+
+    public static final Hint SOLVED = new Hint(-1, -1, -1, 0);
+
+    private final ConcurrentHashMap<Integer, byte[]> fourPegTables = new ConcurrentHashMap<>();
+
+
+    /**
+     * config[i] is the peg of disk i (0 = smallest)
+     */
+    public Hint nextMove(int pegs, int[] config) {
+        validate(pegs, config);
+        return pegs == 3 ? threePegHint(config) : fourPegHint(config);
+    }
+
+    //builds the 4-peg distance tables for 1..maxDisks up front
+    public void warmUp(int maxDisks) {
+        for (int n = 1; n <= Math.min(maxDisks, MAX_DISKS_FOUR_PEGS); n++) {
+            fourPegTable(n);
+        }
+    }
+
+
+    private static Hint threePegHint(int[] config) {
+        int target = 2;
+        long remaining = 0;
+        int disk = -1;
+        int from = -1;
+        int to = -1;
+
+        for (int i = config.length - 1; i >= 0; i--) {
+            if (config[i] != target) {
+                remaining += 1L << i;
+                disk = i;
+                from = config[i];
+                to = target;
+                target = 3 - config[i] - target;
+            }
+        }
+
+        if (disk < 0) {
+            return SOLVED;
+        }
+        return new Hint(disk, from, to, remaining);
+    }
+
+    private Hint fourPegHint(int[] config) {
+        int n = config.length;
+        byte[] distances = fourPegTable(n);
+        long state = StateSpaceSolver.encode(config);
+        int distance = distances[(int) state] & 0xFF;
+        if (distance == 0) {
+            return SOLVED;
+        }
+
+        StateSpaceSolver.Space space = new StateSpaceSolver.Space(n, 4);
+        long[] neighbours = new long[6];
+        int count = space.neighbours(state, neighbours);
+        for (int j = 0; j < count; j++) {
+            if ((distances[(int) neighbours[j]] & 0xFF) == distance - 1) {
+                int shift = Long.numberOfTrailingZeros(state ^ neighbours[j]) & ~1;
+                return new Hint(shift / 2, (int) (state >>> shift) & 3, (int) (neighbours[j] >>> shift) & 3,
+                    distance);
+            }
+        }
+        throw new IllegalStateException("Distance table has no downhill neighbour");
+    }
+
+    private byte[] fourPegTable(int n) {
+        byte[] table = fourPegTables.get(n);
+        if (table == null) {
+            table = fourPegTables.computeIfAbsent(n, HintEngine::buildFourPegTable);
+        }
+        return table;
+    }
+
+    //BFS outward from the goal (every disk on peg D)
+    private static byte[] buildFourPegTable(int n) {
+        int states = 1 << (2 * n);
+        byte[] distances = new byte[states];
+        boolean[] seen = new boolean[states];
+        int[] queue = new int[states];
+        StateSpaceSolver.Space space = new StateSpaceSolver.Space(n, 4);
+        long[] neighbours = new long[6];
+
+        int goal = states - 1;
+        seen[goal] = true;
+        queue[0] = goal;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int state = queue[head++];
+            int next = (distances[state] & 0xFF) + 1;
+            if (next > 0xFF) {
+                throw new IllegalStateException("Distance does not fit in a byte for " + n + " disks");
+            }
+            int count = space.neighbours(state, neighbours);
+            for (int j = 0; j < count; j++) {
+                int neighbour = (int) neighbours[j];
+                if (!seen[neighbour]) {
+                    seen[neighbour] = true;
+                    distances[neighbour] = (byte) next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static void validate(int pegs, int[] config) {
+        if (pegs != 3 && pegs != 4) {
+            throw new IllegalArgumentException("Number of pegs must be 3 or 4");
+        }
+        int maxDisks = pegs == 3 ? MAX_DISKS_THREE_PEGS : MAX_DISKS_FOUR_PEGS;
+        if (config.length > maxDisks) {
+            throw new IllegalArgumentException(
+                String.format("Hints support at most %d disks on %d pegs", maxDisks, pegs));
+        }
+        for (int disk = 0; disk < config.length; disk++) {
+            if (config[disk] < 0 || config[disk] >= pegs) {
+                throw new IllegalArgumentException("Disk " + disk + " is on a peg that does not exist");
+            }
+        }
+    }
+
+
+    /**
+     * disk is 0-based (0 = smallest); remainingMoves counts this move
+     */
+    public static final class Hint {
+
+        private final int disk;
+        private final int fromPeg;
+        private final int toPeg;
+        private final long remainingMoves;
+
+        public Hint(int disk, int fromPeg, int toPeg, long remainingMoves) {
+            this.disk = disk;
+            this.fromPeg = fromPeg;
+            this.toPeg = toPeg;
+            this.remainingMoves = remainingMoves;
+        }
+
+        public int getDisk() {
+            return disk;
+        }
+
+        public int getFromPeg() {
+            return fromPeg;
+        }
+
+        public int getToPeg() {
+            return toPeg;
+        }
+
+        public long getRemainingMoves() {
+            return remainingMoves;
+        }
+
+        public boolean isSolved() {
+            return remainingMoves == 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+/**
+ * Receives generated moves as peg indices (0 = A, 1 = B, ...)
+ * so solvers do not have to build a String per move.
+ */
+@FunctionalInterface
+public interface MoveSink {
+
+    void move(int fromPeg, int toPeg);
+}
@@ -0,0 +1,98 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size move buffer storing one move per byte (from peg in the high
+ * nibble, to peg in the low nibble) instead of one "X->Y" String per move.
+ *
+ * Writes to different indexes never interfere, so disjoint ranges can be
+ * filled by different threads.
+ */
+public final class PackedMoves {
+
+    // Largest array the JVM reliably allocates
+    public static final int MAX_MOVES = Integer.MAX_VALUE - 8;
+
+    private final byte[] moves;
+
+    public PackedMoves(int size) {
+        this.moves = new byte[size];
+    }
+
+    public static PackedMoves allocate(long size) {
+        if (size < 0 || size > MAX_MOVES) {
+            throw new IllegalArgumentException("Cannot hold " + size + " moves in one buffer");
+        }
+        return new PackedMoves((int) size);
+    }
+
+    //parse moves in "A->B" form
+    public static PackedMoves fromMoveList(List<String> moveList) {
+        PackedMoves packed = new PackedMoves(moveList.size());
+        for (int i = 0; i < moveList.size(); i++) {
+            String move = moveList.get(i).trim();
+            packed.set(i, move.charAt(0) - 'A', move.charAt(move.length() - 1) - 'A');
+        }
+        return packed;
+    }
+
+    public int size() {
+        return moves.length;
+    }
+
+    public int fromPeg(int index) {
+        return (moves[index] >> 4) & 0x0F;
+    }
+
+    public int toPeg(int index) {
+        return moves[index] & 0x0F;
+    }
+
+    public void set(int index, int fromPeg, int toPeg) {
+        moves[index] = (byte) ((fromPeg << 4) | toPeg);
+    }
+
+    //sink that fills the buffer sequentially starting at offset
+    public MoveSink writer(int offset) {
+        return new MoveSink() {
+            private int index = offset;
+
+            @Override
+            public void move(int fromPeg, int toPeg) {
+                set(index++, fromPeg, toPeg);
+            }
+        };
+    }
+
+    public void forEach(MoveSink sink) {
+        for (int i = 0; i < moves.length; i++) {
+            sink.move(fromPeg(i), toPeg(i));
+        }
+    }
+
+    public List<String> toMoveList() {
+        List<String> list = new ArrayList<>(moves.length);
+        forEach((from, to) -> list.add(FrameStewartEngine.moveName(from, to)));
+        return list;
+    }
+
+    //same format as the stored correctMoveSequence, e.g. "A->C, A->B, C->B"
+    public String toSequence() {
+        StringBuilder builder = new StringBuilder(moves.length * 6);
+        for (int i = 0; i < moves.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(FrameStewartEngine.pegName(fromPeg(i)))
+                .append("->")
+                .append(FrameStewartEngine.pegName(toPeg(i)));
+        }
+        return builder.toString();
+    }
+
+    public long sizeInBytes() {
+        return moves.length;
+    }
+}
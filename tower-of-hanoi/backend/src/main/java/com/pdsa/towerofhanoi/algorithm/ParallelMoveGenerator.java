@@ -0,0 +1,184 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join move generation into a preallocated PackedMoves buffer.
+ *
+ * Every sub-problem's move count is known up front (2^n - 1 for three pegs,
+ * the Frame-Stewart table otherwise), so each recursive step knows exactly
+ * which index range it owns and the ranges can be filled independently.
+ * Produces the same sequences as ThreePegRecursive and FourPegFrameStewart,
+ * which use it for their packed solves.
+ *
+ * A problem below the sequential threshold, which covers every disk count a
+ * game draws, is generated on the caller's thread without touching the pool,
+ * so it stays on the solver thread and its interrupt checks still apply.
+ */
+@Component
+public class ParallelMoveGenerator {
+
+    // Sub-problems with fewer moves than this are generated on the current thread
+    private static final long DEFAULT_SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    private final FrameStewartEngine engine;
+    private final ForkJoinPool pool;
+    private final long sequentialThreshold;
+
+    @Autowired
+    public ParallelMoveGenerator(FrameStewartEngine engine) {
+        this(engine, ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    public ParallelMoveGenerator(FrameStewartEngine engine, ForkJoinPool pool, long sequentialThreshold) {
+        this.engine = engine;
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+
+    //same sequence as ThreePegRecursive.solve(n): A to C using B
+    public PackedMoves generateThreePeg(int n) {
+        if (n < 0 || n > 30) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and 30");
+        }
+
+        PackedMoves buffer = PackedMoves.allocate((1L << n) - 1);
+        if (n > 0) {
+            run(new ThreePegTask(buffer, n, 0, 2, 1, 0, sequentialThreshold), buffer.size());
+        }
+        return buffer;
+    }
+
+    //same sequence as FrameStewartEngine.generate(n, pegs, ...): A to the last peg
+    public PackedMoves generateFrameStewart(int n, int pegs) {
+        PackedMoves buffer = PackedMoves.allocate(engine.getMinimumMoves(n, pegs));
+        if (n > 0) {
+            run(new FrameStewartTask(buffer, n, 0, pegs - 1, (1 << pegs) - 1, pegs, 0,
+                engine.splitTables(n, pegs), engine.moveTables(n, pegs)), buffer.size());
+        }
+        return buffer;
+    }
+
+    // invoke() computes on the calling thread; the pool is only needed once the task forks
+    private void run(RecursiveAction task, long moves) {
+        if (moves < sequentialThreshold) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+
+    /**
+     * Fills [offset, offset + 2^n - 1) with the 3-peg solution
+     */
+    private static final class ThreePegTask extends RecursiveAction {
+
+        private final PackedMoves buffer;
+        private final int n;
+        private final int source;
+        private final int destination;
+        private final int auxiliary;
+        private final int offset;
+        private final long threshold;
+
+        ThreePegTask(PackedMoves buffer, int n, int source, int destination, int auxiliary, int offset,
+                     long threshold) {
+            this.buffer = buffer;
+            this.n = n;
+            this.source = source;
+            this.destination = destination;
+            this.auxiliary = auxiliary;
+            this.offset = offset;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if ((1L << n) - 1 < threshold) {
+                solveSequential(n, source, destination, auxiliary, buffer.writer(offset));
+                return;
+            }
+
+            int half = (1 << (n - 1)) - 1;
+
+            // Largest disk sits between the two halves
+            buffer.set(offset + half, source, destination);
+            invokeAll(
+                new ThreePegTask(buffer, n - 1, source, auxiliary, destination, offset, threshold),
+                new ThreePegTask(buffer, n - 1, auxiliary, destination, source, offset + half + 1, threshold));
+        }
+
+        private static void solveSequential(int n, int source, int destination, int auxiliary, MoveSink sink) {
+            if (n == 0) {
+                return;
+            }
+            if (n >= SolverCancellation.CHECK_MIN_DISKS) {
+                SolverCancellation.checkInterrupted();
+            }
+            solveSequential(n - 1, source, auxiliary, destination, sink);
+            sink.move(source, destination);
+            solveSequential(n - 1, auxiliary, destination, source, sink);
+        }
+    }
+
+    /**
+     * Fills [offset, offset + FS(n, pegCount)) with the Frame-Stewart solution
+     */
+    private final class FrameStewartTask extends RecursiveAction {
+
+        private final PackedMoves buffer;
+        private final int n;
+        private final int source;
+        private final int destination;
+        private final int pegMask;
+        private final int pegCount;
+        private final int offset;
+        private final int[][] splits;
+        private final long[][] moveCounts;
+
+        FrameStewartTask(PackedMoves buffer, int n, int source, int destination, int pegMask, int pegCount,
+                         int offset, int[][] splits, long[][] moveCounts) {
+            this.buffer = buffer;
+            this.n = n;
+            this.source = source;
+            this.destination = destination;
+            this.pegMask = pegMask;
+            this.pegCount = pegCount;
+            this.offset = offset;
+            this.splits = splits;
+            this.moveCounts = moveCounts;
+        }
+
+        @Override
+        protected void compute() {
+            if (n == 0) {
+                return;
+            }
+
+            if (n == 1 || moveCounts[pegCount][n] < sequentialThreshold) {
+                engine.generate(n, source, destination, pegMask, pegCount, splits, buffer.writer(offset));
+                return;
+            }
+
+            int k = splits[pegCount][n];
+            int intermediate = Integer.numberOfTrailingZeros(pegMask & ~(1 << source) & ~(1 << destination));
+            int parked = (int) moveCounts[pegCount][k];
+            // With three pegs the middle step is the single largest disk
+            int middle = pegCount == 3 ? 1 : (int) moveCounts[pegCount - 1][n - k];
+
+            invokeAll(
+                new FrameStewartTask(buffer, k, source, intermediate, pegMask, pegCount,
+                    offset, splits, moveCounts),
+                new FrameStewartTask(buffer, n - k, source, destination, pegMask & ~(1 << intermediate),
+                    pegCount - 1, offset + parked, splits, moveCounts),
+                new FrameStewartTask(buffer, k, intermediate, destination, pegMask, pegCount,
+                    offset + parked + middle, splits, moveCounts));
+        }
+    }
+}
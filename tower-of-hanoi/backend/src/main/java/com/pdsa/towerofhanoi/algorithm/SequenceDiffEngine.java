@@ -0,0 +1,263 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the first move where a player's sequence leaves the optimal one
+ * (ThreePegRecursive on 3 pegs, FourPegFrameStewart on 4), without building
+ * either sequence.
+ *
+ * The optimal moves come from an explicit-stack walk of the Frame-Stewart
+ * recursion, one move per step, and the player's text is tokenised in place.
+ * Both stop at the first difference, so the work is proportional to the
+ * divergence index and the memory to the number of disks.
+ */
+@Component
+public class SequenceDiffEngine {
+
+    private final FrameStewartEngine engine;
+
+    public SequenceDiffEngine() {
+        this(new FrameStewartEngine());
+    }
+
+    @Autowired
+    public SequenceDiffEngine(FrameStewartEngine engine) {
+        this.engine = engine;
+    }
+
+
+    /**
+     * First divergence of the comma separated player moves from the optimal
+     * solution for n disks, or null if they are identical
+     */
+    public Divergence firstDivergence(int n, int pegs, CharSequence playerMoves) {
+        if (pegs != 3 && pegs != 4) {
+            throw new IllegalArgumentException("Number of pegs must be 3 or 4");
+        }
+        if (n < 0 || n > 62) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and 62");
+        }
+
+        OptimalMoves optimal = new OptimalMoves(n, pegs, engine.splitTables(Math.max(n, 1), pegs));
+        Towers towers = new Towers(n, pegs);
+        CharSequence text = playerMoves == null ? "" : playerMoves;
+        int length = text.length();
+        int position = skipSpaces(text, 0);
+        boolean playerDone = position == length;
+
+        for (int index = 0; ; index++) {
+            boolean optimalDone = !optimal.advance();
+            if (playerDone) {
+                return optimalDone ? null
+                    : new Divergence(index, optimal.from, optimal.to, null, towers.snapshot());
+            }
+
+            // Token is [start, end) without surrounding spaces
+            int start = position;
+            int end = start;
+            while (end < length && text.charAt(end) != ',') {
+                end++;
+            }
+            int next = end;
+            while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+
+            if (optimalDone || !isMove(text, start, end, optimal.from, optimal.to)) {
+                return new Divergence(index, optimalDone ? -1 : optimal.from, optimalDone ? -1 : optimal.to,
+                    text.subSequence(start, end).toString(), towers.snapshot());
+            }
+
+            towers.move(optimal.from, optimal.to);
+            if (next == length) {
+                playerDone = true;
+            } else {
+                position = skipSpaces(text, next + 1);
+                if (position == length) {
+                    // Trailing comma: an empty move
+                    optimalDone = !optimal.advance();
+                    return new Divergence(index + 1, optimalDone ? -1 : optimal.from,
+                        optimalDone ? -1 : optimal.to, "", towers.snapshot());
+                }
+            }
+        }
+    }
+
+
+    private static boolean isMove(CharSequence text, int start, int end, int from, int to) {
+        return end - start == 4
+            && text.charAt(start) == FrameStewartEngine.pegName(from)
+            && text.charAt(start + 1) == '-'
+            && text.charAt(start + 2) == '>'
+            && text.charAt(start + 3) == FrameStewartEngine.pegName(to);
+    }
+
+    private static int skipSpaces(CharSequence text, int from) {
+        while (from < text.length() && Character.isWhitespace(text.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+
+    /**
+     * FrameStewartEngine.generate as an explicit stack, one move per advance.
+     * Every child frame has fewer disks, so the stack never exceeds n + 1.
+     */
+    private static final class OptimalMoves {
+
+        private final int[][] splits;
+        private final int[] disks;
+        private final int[] source;
+        private final int[] destination;
+        private final int[] pegMask;
+        private final int[] pegCount;
+        private final int[] stage;
+        private int top;
+
+        int from;
+        int to;
+
+        OptimalMoves(int n, int pegs, int[][] splits) {
+            this.splits = splits;
+            int depth = n + 1;
+            disks = new int[depth];
+            source = new int[depth];
+            destination = new int[depth];
+            pegMask = new int[depth];
+            pegCount = new int[depth];
+            stage = new int[depth];
+            top = -1;
+            push(n, 0, pegs - 1, (1 << pegs) - 1, pegs);
+        }
+
+        //false once every move has been produced
+        boolean advance() {
+            while (top >= 0) {
+                int n = disks[top];
+                if (n == 0) {
+                    top--;
+                    continue;
+                }
+                if (n == 1) {
+                    from = source[top];
+                    to = destination[top];
+                    top--;
+                    return true;
+                }
+
+                int k = splits[pegCount[top]][n];
+                int intermediate = Integer.numberOfTrailingZeros(
+                    pegMask[top] & ~(1 << source[top]) & ~(1 << destination[top]));
+                int frame = top;
+                switch (stage[frame]++) {
+                    case 0:
+                        push(k, source[frame], intermediate, pegMask[frame], pegCount[frame]);
+                        break;
+                    case 1:
+                        push(n - k, source[frame], destination[frame],
+                            pegMask[frame] & ~(1 << intermediate), pegCount[frame] - 1);
+                        break;
+                    case 2:
+                        push(k, intermediate, destination[frame], pegMask[frame], pegCount[frame]);
+                        break;
+                    default:
+                        top--;
+                }
+            }
+            return false;
+        }
+
+        private void push(int n, int from, int to, int mask, int count) {
+            top++;
+            disks[top] = n;
+            source[top] = from;
+            destination[top] = to;
+            pegMask[top] = mask;
+            pegCount[top] = count;
+            stage[top] = 0;
+        }
+    }
+
+    /**
+     * Peg stacks as int arrays, smallest disk 0
+     */
+    private static final class Towers {
+
+        private final int n;
+        private final int[] stacks;
+        private final int[] heights;
+
+        Towers(int n, int pegs) {
+            this.n = n;
+            this.stacks = new int[pegs * n];
+            this.heights = new int[pegs];
+            for (int disk = n - 1; disk >= 0; disk--) {
+                stacks[heights[0]++] = disk;
+            }
+        }
+
+        void move(int from, int to) {
+            stacks[to * n + heights[to]++] = stacks[from * n + --heights[from]];
+        }
+
+        int[][] snapshot() {
+            int[][] pegs = new int[heights.length][];
+            for (int peg = 0; peg < heights.length; peg++) {
+                pegs[peg] = new int[heights[peg]];
+                System.arraycopy(stacks, peg * n, pegs[peg], 0, heights[peg]);
+            }
+            return pegs;
+        }
+    }
+
+
+    /**
+     * expectedFromPeg is -1 when the optimal sequence had already ended,
+     * actualMove is null when the player's had; pegs lists each peg bottom to
+     * top (0 = smallest disk) just before the divergent move
+     */
+    public static final class Divergence {
+
+        private final int index;
+        private final int expectedFromPeg;
+        private final int expectedToPeg;
+        private final String actualMove;
+        private final int[][] pegs;
+
+        public Divergence(int index, int expectedFromPeg, int expectedToPeg, String actualMove, int[][] pegs) {
+            this.index = index;
+            this.expectedFromPeg = expectedFromPeg;
+            this.expectedToPeg = expectedToPeg;
+            this.actualMove = actualMove;
+            this.pegs = pegs;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getExpectedFromPeg() {
+            return expectedFromPeg;
+        }
+
+        public int getExpectedToPeg() {
+            return expectedToPeg;
+        }
+
+        //e.g. "A->C", or null past the end of the optimal sequence
+        public String getExpectedMove() {
+            return expectedFromPeg < 0 ? null : FrameStewartEngine.moveName(expectedFromPeg, expectedToPeg);
+        }
+
+        public String getActualMove() {
+            return actualMove;
+        }
+
+        public int[][] getPegs() {
+            return pegs;
+        }
+    }
+}
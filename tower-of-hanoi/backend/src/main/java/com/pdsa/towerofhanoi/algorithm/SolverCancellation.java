@@ -0,0 +1,27 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Interrupt checks for the move generators, so a solver cancelled by
+ * SolverExecutor (future.cancel(true) after its deadline) actually stops
+ * instead of running to completion on a pool thread.
+ */
+public final class SolverCancellation {
+
+    // Recursive generators check once per call for at least this many disks,
+    // i.e. every few hundred moves, which keeps the check off the hot path
+    public static final int CHECK_MIN_DISKS = 8;
+
+    // Iterative generators check once every 1024 moves
+    public static final long CHECK_MOVE_MASK = 1023;
+
+    private SolverCancellation() {
+    }
+
+    public static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Solver interrupted");
+        }
+    }
+}
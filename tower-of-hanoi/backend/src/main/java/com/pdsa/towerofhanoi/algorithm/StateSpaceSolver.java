@@ -0,0 +1,362 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shortest move sequence between any two legal configurations on 3 or 4 pegs,
+ * found by bidirectional breadth-first search over the state graph.
+ *
+ * A configuration is given as the peg of every disk, index 0 being the
+ * smallest disk; any such assignment is legal because each peg is read as a
+ * sorted stack. Internally a state is packed 2 bits per disk into a long.
+ *
+ * Each search direction keeps a 2-bit-per-state table holding
+ * (depth mod 3) + 1, with 0 meaning unvisited. That doubles as the visited
+ * bitset and is enough to walk a path back to its root, since a neighbour of
+ * a state at depth d can only be at depth d - 1, d or d + 1. Large frontiers
+ * are expanded in parallel on a fork/join pool.
+ */
+@Component
+public class StateSpaceSolver {
+
+    // Table sizes: 3^18 and 4^15 states, 2 bits each, per direction
+    public static final int MAX_DISKS_THREE_PEGS = 18;
+    public static final int MAX_DISKS_FOUR_PEGS = 15;
+
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 12;
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    @Autowired
+    public StateSpaceSolver() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public StateSpaceSolver(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+
+    //fewest moves from start to target
+    public int distance(int pegs, int[] start, int[] target) {
+        return search(pegs, start, target).length - 1;
+    }
+
+    public List<String> solve(int pegs, int[] start, int[] target) {
+        List<String> moves = new ArrayList<>();
+        solve(pegs, start, target, (from, to) -> moves.add(FrameStewartEngine.moveName(from, to)));
+        return moves;
+    }
+
+    //writes the shortest sequence to the sink and returns its length
+    public int solve(int pegs, int[] start, int[] target, MoveSink sink) {
+        long[] path = search(pegs, start, target);
+        for (int i = 1; i < path.length; i++) {
+            long changed = path[i - 1] ^ path[i];
+            int shift = Long.numberOfTrailingZeros(changed) & ~1;
+            sink.move((int) (path[i - 1] >>> shift) & 3, (int) (path[i] >>> shift) & 3);
+        }
+        return path.length - 1;
+    }
+
+
+    //pegs[i] is the peg of disk i (0 = smallest)
+    public static long encode(int[] pegs) {
+        long state = 0;
+        for (int disk = 0; disk < pegs.length; disk++) {
+            state |= (long) pegs[disk] << (2 * disk);
+        }
+        return state;
+    }
+
+    public static int[] decode(long state, int n) {
+        int[] pegs = new int[n];
+        for (int disk = 0; disk < n; disk++) {
+            pegs[disk] = (int) (state >>> (2 * disk)) & 3;
+        }
+        return pegs;
+    }
+
+
+    /**
+     * Returns every state on a shortest path, start first and target last
+     */
+    private long[] search(int pegs, int[] start, int[] target) {
+        validate(pegs, start, target);
+        int n = start.length;
+        long startState = encode(start);
+        long targetState = encode(target);
+        if (startState == targetState) {
+            return new long[] {startState};
+        }
+
+        long stateCount = 1;
+        for (int i = 0; i < n; i++) {
+            stateCount *= pegs;
+        }
+        Space space = new Space(n, pegs);
+        DepthTable forward = new DepthTable(stateCount);
+        DepthTable backward = new DepthTable(stateCount);
+        forward.claim(space.index(startState), code(0));
+        backward.claim(space.index(targetState), code(0));
+
+        long[] forwardFrontier = {startState};
+        long[] backwardFrontier = {targetState};
+        int forwardDepth = 0;
+        int backwardDepth = 0;
+        AtomicReference<long[]> meeting = new AtomicReference<>();
+
+        while (true) {
+            // Always grow the smaller side
+            boolean expandForward = forwardFrontier.length <= backwardFrontier.length;
+            if (expandForward) {
+                forwardFrontier = expand(space, forwardFrontier, forward, backward, code(forwardDepth + 1), meeting);
+                forwardDepth++;
+            } else {
+                backwardFrontier = expand(space, backwardFrontier, backward, forward, code(backwardDepth + 1), meeting);
+                backwardDepth++;
+            }
+
+            long[] met = meeting.get();
+            if (met != null) {
+                // met[0] was on the side just expanded, met[1] on the other
+                long forwardEnd = expandForward ? met[0] : met[1];
+                long backwardEnd = expandForward ? met[1] : met[0];
+                int forwardLength = expandForward ? forwardDepth - 1 : forwardDepth;
+                int backwardLength = expandForward ? backwardDepth : backwardDepth - 1;
+
+                long[] path = new long[forwardLength + backwardLength + 2];
+                long[] toStart = walkBack(space, forward, forwardEnd, forwardLength);
+                for (int i = 0; i <= forwardLength; i++) {
+                    path[i] = toStart[forwardLength - i];
+                }
+                long[] toTarget = walkBack(space, backward, backwardEnd, backwardLength);
+                System.arraycopy(toTarget, 0, path, forwardLength + 1, backwardLength + 1);
+                return path;
+            }
+
+            if (forwardFrontier.length == 0 || backwardFrontier.length == 0) {
+                throw new IllegalStateException("Target configuration is unreachable");
+            }
+        }
+    }
+
+    private long[] expand(Space space, long[] frontier, DepthTable own, DepthTable other, int nextCode,
+                          AtomicReference<long[]> meeting) {
+        if (frontier.length < parallelThreshold) {
+            return expandRange(space, frontier, 0, frontier.length, own, other, nextCode, meeting);
+        }
+        return pool.invoke(new ExpandTask(space, frontier, 0, frontier.length, own, other, nextCode, meeting));
+    }
+
+    private static long[] expandRange(Space space, long[] frontier, int from, int to, DepthTable own,
+                                      DepthTable other, int nextCode, AtomicReference<long[]> meeting) {
+        long[] next = new long[Math.max(16, (to - from) * 2)];
+        int size = 0;
+        long[] neighbours = new long[space.pegs * (space.pegs - 1) / 2];
+
+        for (int i = from; i < to && meeting.get() == null; i++) {
+            long state = frontier[i];
+            int count = space.neighbours(state, neighbours);
+            for (int j = 0; j < count; j++) {
+                long neighbour = neighbours[j];
+                long index = space.index(neighbour);
+                if (other.get(index) != 0) {
+                    meeting.compareAndSet(null, new long[] {state, neighbour});
+                    break;
+                }
+                if (own.claim(index, nextCode)) {
+                    if (size == next.length) {
+                        next = Arrays.copyOf(next, size * 2);
+                    }
+                    next[size++] = neighbour;
+                }
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+
+    //states from end back to the root of the table, end first
+    private static long[] walkBack(Space space, DepthTable table, long end, int depth) {
+        long[] chain = new long[depth + 1];
+        long[] neighbours = new long[space.pegs * (space.pegs - 1) / 2];
+        chain[0] = end;
+        for (int d = depth; d > 0; d--) {
+            int count = space.neighbours(chain[depth - d], neighbours);
+            int wanted = code(d - 1);
+            for (int j = 0; j < count; j++) {
+                if (table.get(space.index(neighbours[j])) == wanted) {
+                    chain[depth - d + 1] = neighbours[j];
+                    break;
+                }
+            }
+        }
+        return chain;
+    }
+
+    private static int code(int depth) {
+        return depth % 3 + 1;
+    }
+
+    private static void validate(int pegs, int[] start, int[] target) {
+        if (pegs != 3 && pegs != 4) {
+            throw new IllegalArgumentException("Number of pegs must be 3 or 4");
+        }
+        if (start.length != target.length) {
+            throw new IllegalArgumentException("Start and target must have the same number of disks");
+        }
+        int maxDisks = pegs == 3 ? MAX_DISKS_THREE_PEGS : MAX_DISKS_FOUR_PEGS;
+        if (start.length > maxDisks) {
+            throw new IllegalArgumentException(
+                String.format("At most %d disks are supported on %d pegs", maxDisks, pegs));
+        }
+        for (int disk = 0; disk < start.length; disk++) {
+            if (start[disk] < 0 || start[disk] >= pegs || target[disk] < 0 || target[disk] >= pegs) {
+                throw new IllegalArgumentException("Disk " + disk + " is on a peg that does not exist");
+            }
+        }
+    }
+
+
+    /**
+     * State graph for n disks on a given number of pegs
+     */
+    static final class Space {
+
+        private final int n;
+        private final int pegs;
+
+        Space(int n, int pegs) {
+            this.n = n;
+            this.pegs = pegs;
+        }
+
+        //dense index: the packed state itself for 4 pegs, base-3 digits for 3 pegs
+        long index(long state) {
+            if (pegs == 4) {
+                return state;
+            }
+            long index = 0;
+            for (int disk = n - 1; disk >= 0; disk--) {
+                index = index * 3 + ((state >>> (2 * disk)) & 3);
+            }
+            return index;
+        }
+
+        //fills out with every state one legal move away and returns how many
+        int neighbours(long state, long[] out) {
+            int[] top = {-1, -1, -1, -1};
+            int found = 0;
+            for (int disk = 0; disk < n && found < pegs; disk++) {
+                int peg = (int) (state >>> (2 * disk)) & 3;
+                if (top[peg] < 0) {
+                    top[peg] = disk;
+                    found++;
+                }
+            }
+
+            int count = 0;
+            for (int a = 0; a < pegs; a++) {
+                for (int b = a + 1; b < pegs; b++) {
+                    if (top[a] < 0 && top[b] < 0) {
+                        continue;
+                    }
+                    // The smaller top disk moves onto the other peg
+                    boolean fromA = top[b] < 0 || (top[a] >= 0 && top[a] < top[b]);
+                    int disk = fromA ? top[a] : top[b];
+                    int destination = fromA ? b : a;
+                    int shift = 2 * disk;
+                    out[count++] = (state & ~(3L << shift)) | ((long) destination << shift);
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 2 bits per state, 32 states per word, claimed with compare-and-set
+     */
+    private static final class DepthTable {
+
+        private final AtomicLongArray words;
+
+        DepthTable(long states) {
+            this.words = new AtomicLongArray((int) ((states + 31) >>> 5));
+        }
+
+        int get(long index) {
+            return (int) (words.get((int) (index >>> 5)) >>> ((index & 31) << 1)) & 3;
+        }
+
+        //sets the entry if it is still unvisited; false if another expansion got there first
+        boolean claim(long index, int code) {
+            int word = (int) (index >>> 5);
+            int shift = (int) (index & 31) << 1;
+            while (true) {
+                long current = words.get(word);
+                if (((current >>> shift) & 3) != 0) {
+                    return false;
+                }
+                if (words.compareAndSet(word, current, current | ((long) code << shift))) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Expands frontier[from, to) by splitting it in halves
+     */
+    private final class ExpandTask extends RecursiveTask<long[]> {
+
+        private final Space space;
+        private final long[] frontier;
+        private final int from;
+        private final int to;
+        private final DepthTable own;
+        private final DepthTable other;
+        private final int nextCode;
+        private final AtomicReference<long[]> meeting;
+
+        ExpandTask(Space space, long[] frontier, int from, int to, DepthTable own, DepthTable other,
+                   int nextCode, AtomicReference<long[]> meeting) {
+            this.space = space;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.own = own;
+            this.other = other;
+            this.nextCode = nextCode;
+            this.meeting = meeting;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= parallelThreshold) {
+                return expandRange(space, frontier, from, to, own, other, nextCode, meeting);
+            }
+
+            int middle = (from + to) >>> 1;
+            ExpandTask left = new ExpandTask(space, frontier, from, middle, own, other, nextCode, meeting);
+            ExpandTask right = new ExpandTask(space, frontier, middle, to, own, other, nextCode, meeting);
+            left.fork();
+            long[] rightStates = right.compute();
+            long[] leftStates = left.join();
+
+            long[] merged = Arrays.copyOf(leftStates, leftStates.length + rightStates.length);
+            System.arraycopy(rightStates, 0, merged, leftStates.length, rightStates.length);
+            return merged;
+        }
+    }
+}
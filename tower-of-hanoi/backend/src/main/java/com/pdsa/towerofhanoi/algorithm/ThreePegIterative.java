@@ -3,84 +3,81 @@ package com.pdsa.towerofhanoi.algorithm;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Stack;
 
 @Component
 public class ThreePegIterative {
-    
+
+    // 2^30 - 1 moves is the largest count an int list size (and getMinimumMoves) can hold
+    private static final int MAX_LIST_DISKS = 30;
+
     public List<String> solve(int n) {
-        List<String> moves = new ArrayList<>();  
-        // total number of moves
-        int totalMoves = (int) Math.pow(2, n) - 1;
-        
-        // Peg naming 
-        char source = 'A';
-        char destination = 'C';
-        char auxiliary = 'B';
-        
-        // If number of disks is even, swap destination and auxiliary
-        if (n % 2 == 0) {
-            char temp = destination;
-            destination = auxiliary;
-            auxiliary = temp;
-        }
-        
-        // Create stacks for each peg 
-        Stack<Integer> pegA = new Stack<>();
-        Stack<Integer> pegB = new Stack<>();
-        Stack<Integer> pegC = new Stack<>();
-        
-        // Initialize source peg with all disks
-        for (int i = n; i >= 1; i--) {
-            pegA.push(i);
-        }
-        
-        
-        for (int i = 1; i <= totalMoves; i++) {
-            if (i % 3 == 1) {
-                // Move between source and destination
-                moveDisk(pegA, pegC, source, destination, moves);
-            } else if (i % 3 == 2) {
-                // Move between source and auxiliary
-                moveDisk(pegA, pegB, source, auxiliary, moves);
-            } else {
-                // Move between auxiliary and destination
-                moveDisk(pegB, pegC, auxiliary, destination, moves);
-            }
-        }
-        
+        List<String> moves = new ArrayList<>(getMinimumMoves(n));
+        generate(n, (from, to) -> moves.add(FrameStewartEngine.moveName(from, to)));
         return moves;
     }
-    
-    //A method to move disk between two pegs
-    private void moveDisk(Stack<Integer> fromPeg, Stack<Integer> toPeg, 
-                         char fromName, char toName, List<String> moves) {
-        if (fromPeg.isEmpty() && toPeg.isEmpty()) {
+
+    /**
+     * Iterative A to C solution written to the sink as peg indices. Takes up
+     * to 62 disks; solve(n) stops at 30 because its list is int-sized.
+     *
+     * Parity rule: odd-numbered moves move the smallest disk one step round a
+     * fixed cycle (A->C->B->A for odd n, A->B->C->A for even n); even-numbered
+     * moves make the only legal move between the other two pegs. The pegs are
+     * int[] stacks, so nothing is allocated per move.
+     */
+    public void generate(int n, MoveSink sink) {
+        if (n < 0 || n > 62) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and 62");
+        }
+        if (n == 0) {
             return;
         }
-        
-        if (fromPeg.isEmpty()) {
-            fromPeg.push(toPeg.pop());
-            moves.add(toName + "->" + fromName);
-        } else if (toPeg.isEmpty()) {
-            toPeg.push(fromPeg.pop());
-            moves.add(fromName + "->" + toName);
-        } else if (fromPeg.peek() > toPeg.peek()) {
-            fromPeg.push(toPeg.pop());
-            moves.add(toName + "->" + fromName);
-        } else {
-            toPeg.push(fromPeg.pop());
-            moves.add(fromName + "->" + toName);
+
+        // Peg p holds its disks in stacks[p * n .. p * n + heights[p])
+        int[] stacks = new int[3 * n];
+        int[] heights = new int[3];
+        for (int disk = n; disk >= 1; disk--) {
+            stacks[heights[0]++] = disk;
+        }
+
+        int step = (n & 1) == 1 ? 2 : 1;
+        int smallest = 0;
+        long totalMoves = (1L << n) - 1;
+
+        for (long move = 1; move <= totalMoves; move++) {
+            if ((move & SolverCancellation.CHECK_MOVE_MASK) == 0) {
+                SolverCancellation.checkInterrupted();
+            }
+            int from;
+            int to;
+            if ((move & 1) == 1) {
+                from = smallest;
+                to = (smallest + step) % 3;
+                smallest = to;
+            } else {
+                int a = (smallest + 1) % 3;
+                int b = (smallest + 2) % 3;
+                int topA = heights[a] == 0 ? Integer.MAX_VALUE : stacks[a * n + heights[a] - 1];
+                int topB = heights[b] == 0 ? Integer.MAX_VALUE : stacks[b * n + heights[b] - 1];
+                from = topA < topB ? a : b;
+                to = topA < topB ? b : a;
+            }
+
+            stacks[to * n + heights[to]++] = stacks[from * n + --heights[from]];
+            sink.move(from, to);
         }
     }
-    
-    
+
+
     //minimum number of moves calculation (2^n - 1)
     public int getMinimumMoves(int n) {
-        return (int) Math.pow(2, n) - 1;
+        if (n < 0 || n > MAX_LIST_DISKS) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and " + MAX_LIST_DISKS);
+        }
+        return (1 << n) - 1;
     }
-    
+
     public String getAlgorithmName() {
         return "3-Peg Iterative";
     }
-}
\ No newline at end of file
+}
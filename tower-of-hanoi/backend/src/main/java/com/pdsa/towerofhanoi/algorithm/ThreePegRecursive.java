@@ -1,5 +1,6 @@
 package com.pdsa.towerofhanoi.algorithm;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,6 +8,17 @@ import java.util.List;
 @Component
 public class ThreePegRecursive {
     
+    private final ParallelMoveGenerator generator;
+    
+    public ThreePegRecursive() {
+        this(new ParallelMoveGenerator(new FrameStewartEngine()));
+    }
+    
+    @Autowired
+    public ThreePegRecursive(ParallelMoveGenerator generator) {
+        this.generator = generator;
+    }
+    
     
     public List<String> solve(int n) {
         List<String> moves = new ArrayList<>();  
@@ -21,6 +33,9 @@ public class ThreePegRecursive {
             moves.add(source + "->" + destination);
             return;
         }
+        if (n >= SolverCancellation.CHECK_MIN_DISKS) {
+            SolverCancellation.checkInterrupted();
+        }
         
         // Step 1: Move n-1 disks from source to auxiliary using destination
         solveRecursive(n - 1, source, auxiliary, destination, moves);
@@ -32,6 +47,11 @@ public class ThreePegRecursive {
         solveRecursive(n - 1, auxiliary, destination, source, moves);
     }
     
+    //same moves as solve(n), written straight into a packed buffer; forks across cores for large n
+    public PackedMoves solvePacked(int n) {
+        return generator.generateThreePeg(n);
+    }
+    
     // minimum number of moves calculation (2^n - 1)
     public int getMinimumMoves(int n) {
         return (int) Math.pow(2, n) - 1;
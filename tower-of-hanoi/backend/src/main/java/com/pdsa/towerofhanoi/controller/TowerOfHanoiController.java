@@ -70,6 +70,46 @@ public class TowerOfHanoiController {
     }
     
     
+    @GetMapping("/performance/stats/{algorithmName}/records")
+    public ResponseEntity<PerformanceRecordPageResponse> getPerformanceRecords(
+            @PathVariable String algorithmName,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        
+        log.info("Received request for performance records of algorithm: {} after {}", algorithmName, afterId);
+        
+        PerformanceRecordPageResponse response = 
+            towerOfHanoiService.getPerformanceRecords(algorithmName, afterId, limit);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    
+    @PostMapping("/benchmark")
+    public ResponseEntity<BenchmarkResponse> runBenchmark(
+            @Valid @RequestBody BenchmarkRequest request) {
+        
+        log.info("Received benchmark request for {} pegs and {} disks", 
+                 request.getNumberOfPegs(), request.getNumberOfDisks());
+        
+        BenchmarkResponse response = towerOfHanoiService.runBenchmark(request);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    
+    @PostMapping("/hint")
+    public ResponseEntity<HintResponse> getHint(
+            @Valid @RequestBody HintRequest request) {
+        
+        log.debug("Received hint request for {} pegs", request.getNumberOfPegs());
+        
+        HintResponse response = towerOfHanoiService.getHint(request);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Tower of Hanoi service is running!");
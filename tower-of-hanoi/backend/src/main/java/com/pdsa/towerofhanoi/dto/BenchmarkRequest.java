@@ -0,0 +1,33 @@
+package com.pdsa.towerofhanoi.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchmarkRequest {
+    
+    @NotNull(message = "Number of pegs is required")
+    @Min(value = 3, message = "Number of pegs must be 3 or 4")
+    @Max(value = 4, message = "Number of pegs must be 3 or 4")
+    private Integer numberOfPegs;
+    
+    @NotNull(message = "Number of disks is required")
+    @Min(value = 1, message = "Number of disks must be between 1 and 20")
+    @Max(value = 20, message = "Number of disks must be between 1 and 20")
+    private Integer numberOfDisks;
+    
+    // Optional overrides of the configured iteration counts
+    @Min(value = 0, message = "Warmup iterations cannot be negative")
+    @Max(value = 1000, message = "Warmup iterations must be at most 1000")
+    private Integer warmupIterations;
+    
+    @Min(value = 1, message = "Measurement iterations must be at least 1")
+    @Max(value = 1000, message = "Measurement iterations must be at most 1000")
+    private Integer measurementIterations;
+}
@@ -0,0 +1,38 @@
+package com.pdsa.towerofhanoi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BenchmarkResponse {
+    
+    private Integer numberOfPegs;
+    private Integer numberOfDisks;
+    private Integer warmupIterations;
+    private Integer measurementIterations;
+    private List<AlgorithmBenchmark> results;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AlgorithmBenchmark {
+        private String algorithmName;
+        private Integer minimumMoves;
+        private Integer samples;
+        private Integer outliersRemoved;
+        private Long medianNanos;
+        private Double meanNanos;
+        private Long p90Nanos;
+        private Long p99Nanos;
+        private Long minNanos;
+        private Long maxNanos;
+        private Double medianMillis;
+    }
+}
@@ -16,4 +16,7 @@ public class GameStartRequest {
     @Min(value = 3, message = "Number of pegs must be 3 or 4")
     @Max(value = 4, message = "Number of pegs must be 3 or 4")
     private Integer numberOfPegs;
+    
+    // Benchmarking runs set this to re-run the solvers instead of using cached solutions
+    private Boolean bypassCache;
 }
\ No newline at end of file
@@ -32,5 +32,7 @@ public class GameStartResponse {
         private Long executionTimeNanos;
         private Double executionTimeMillis;
         private String moveSequence;
+        // The time is that of an earlier solve whose moves were cached
+        private Boolean cached;
     }
 }
\ No newline at end of file
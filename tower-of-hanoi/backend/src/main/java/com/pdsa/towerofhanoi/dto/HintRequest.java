@@ -0,0 +1,24 @@
+package com.pdsa.towerofhanoi.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HintRequest {
+    
+    @NotNull(message = "Number of pegs is required")
+    @Min(value = 3, message = "Number of pegs must be 3 or 4")
+    @Max(value = 4, message = "Number of pegs must be 3 or 4")
+    private Integer numberOfPegs;
+    
+    // Current board, one list per peg from bottom to top, disks numbered 1 (smallest) to n
+    @NotNull(message = "Pegs are required")
+    private List<List<Integer>> pegs;
+}
@@ -0,0 +1,20 @@
+package com.pdsa.towerofhanoi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HintResponse {
+    
+    private Boolean solved;
+    private Integer disk;           // 1 = smallest
+    private String fromPeg;
+    private String toPeg;
+    private String move;            // e.g. "A->C"
+    private Long remainingMoves;    // optimal moves left, including this one
+}
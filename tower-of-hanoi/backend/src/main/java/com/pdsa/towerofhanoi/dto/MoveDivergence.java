@@ -0,0 +1,20 @@
+package com.pdsa.towerofhanoi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoveDivergence {
+    
+    private Integer index;              // 0-based position of the first differing move
+    private String expectedMove;        // null if the optimal sequence had already ended
+    private String actualMove;          // null if the player's sequence had already ended
+    private List<List<Integer>> pegs;   // bottom to top, 1 = smallest, before that move
+}
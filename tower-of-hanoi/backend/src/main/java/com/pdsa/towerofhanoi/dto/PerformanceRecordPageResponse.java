@@ -0,0 +1,20 @@
+package com.pdsa.towerofhanoi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PerformanceRecordPageResponse {
+    
+    private String algorithmName;
+    private List<PerformanceStatsResponse.PerformanceRecord> records;
+    
+    // Pass as afterId to fetch the next page (null on the last page)
+    private Long nextCursor;
+}
@@ -14,10 +14,22 @@ public class PerformanceStatsResponse {
     
     private String algorithmName;
     private Integer numberOfPegs;
+    
+    // Most recent runs, oldest first; the full history is paged via /records
     private List<PerformanceRecord> records;
     private Double averageExecutionTimeMillis;
     private Long minExecutionTimeNanos;
     private Long maxExecutionTimeNanos;
+    private Long medianExecutionTimeNanos;
+    private Long p90ExecutionTimeNanos;
+    private Long p99ExecutionTimeNanos;
+    private Long totalRuns;
+    
+    // Aggregates per disk count
+    private List<DiskStats> diskStats;
+    
+    // Only set when stats come from SQL: pass as afterId to fetch the next page of records
+    private Long nextCursor;
     
     @Data
     @NoArgsConstructor
@@ -30,4 +42,19 @@ public class PerformanceStatsResponse {
         private Long executionTimeNanos;
         private Double executionTimeMillis;
     }
-}
\ No newline at end of file
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DiskStats {
+        private Integer numberOfDisks;
+        private Long runs;
+        private Double averageExecutionTimeMillis;
+        private Long minExecutionTimeNanos;
+        private Long maxExecutionTimeNanos;
+        private Long medianExecutionTimeNanos;
+        private Long p90ExecutionTimeNanos;
+        private Long p99ExecutionTimeNanos;
+    }
+}
@@ -24,4 +24,10 @@ public class PlayerAnswerResponse {
     // Player's answer
     private Integer playerMinimumMoves;
     private String playerMoveSequence;
+    
+    // True when the player's moves are exactly the stored optimal sequence
+    private Boolean matchesCorrectSequence;
+    
+    // Where the player's moves first leave the optimal sequence, null if they never do
+    private MoveDivergence firstDivergence;
 }
\ No newline at end of file
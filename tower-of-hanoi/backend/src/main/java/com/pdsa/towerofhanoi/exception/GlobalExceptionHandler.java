@@ -43,6 +43,54 @@ public class GlobalExceptionHandler {
     }
     
     
+    //invalid board configuration handling
+    @ExceptionHandler(InvalidConfigurationException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidConfigurationException(InvalidConfigurationException ex) {
+        
+        log.error("Invalid configuration: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.BAD_REQUEST.value())
+            .error("Invalid Configuration")
+            .message(ex.getMessage())
+            .build();
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+    
+    //solver pool timeout handling
+    @ExceptionHandler(SolverTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleSolverTimeoutException(SolverTimeoutException ex) {
+        
+        log.warn("Solver timeout: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+            .error("Service Unavailable")
+            .message(ex.getMessage())
+            .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
+    //saturated solver pool handling
+    @ExceptionHandler(SolverBusyException.class)
+    public ResponseEntity<ErrorResponse> handleSolverBusyException(SolverBusyException ex) {
+        
+        log.warn("Solver pool busy: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+            .error("Service Unavailable")
+            .message(ex.getMessage())
+            .build();
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
     //runtime exception handling
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
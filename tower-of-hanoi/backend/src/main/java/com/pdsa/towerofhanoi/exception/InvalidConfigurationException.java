@@ -0,0 +1,8 @@
+package com.pdsa.towerofhanoi.exception;
+
+public class InvalidConfigurationException extends RuntimeException {
+    
+    public InvalidConfigurationException(String message) {
+        super(message);
+    }
+}
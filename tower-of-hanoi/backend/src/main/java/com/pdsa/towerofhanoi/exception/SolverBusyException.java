@@ -0,0 +1,8 @@
+package com.pdsa.towerofhanoi.exception;
+
+public class SolverBusyException extends RuntimeException {
+    
+    public SolverBusyException(int queueCapacity) {
+        super("Solver pool is busy (" + queueCapacity + " tasks already queued), try again shortly");
+    }
+}
@@ -0,0 +1,12 @@
+package com.pdsa.towerofhanoi.exception;
+
+public class SolverTimeoutException extends RuntimeException {
+    
+    public SolverTimeoutException(String message) {
+        super(message);
+    }
+    
+    public SolverTimeoutException(long timeoutMillis) {
+        super("Solver did not finish within " + timeoutMillis + " ms");
+    }
+}
@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "algorithm_performance")
+@Table(name = "algorithm_performance", indexes = {
+    @Index(name = "idx_performance_game_round", columnList = "gameRoundId"),
+    @Index(name = "idx_performance_algorithm_id", columnList = "algorithmName, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,6 +37,10 @@ public class AlgorithmPerformance {
     @Column(nullable = false)
     private Integer minimumMoves;
     
+    // The round was answered from the solution cache and this is the time of the solve that filled it
+    @Column(nullable = false, columnDefinition = "BIT(1) NOT NULL DEFAULT 0")
+    private Boolean fromCache = false;
+    
     @Column(nullable = false)
     private LocalDateTime recordedAt;
     
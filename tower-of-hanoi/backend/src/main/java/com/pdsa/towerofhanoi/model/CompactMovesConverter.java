@@ -0,0 +1,23 @@
+package com.pdsa.towerofhanoi.model;
+
+import com.pdsa.towerofhanoi.algorithm.CompactMoves;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a CompactMoves sequence as its binary encoding (about half a byte
+ * per move instead of six characters)
+ */
+@Converter
+public class CompactMovesConverter implements AttributeConverter<CompactMoves, byte[]> {
+    
+    @Override
+    public byte[] convertToDatabaseColumn(CompactMoves moves) {
+        return moves == null ? null : moves.encode();
+    }
+    
+    @Override
+    public CompactMoves convertToEntityAttribute(byte[] data) {
+        return data == null ? null : CompactMoves.decode(data);
+    }
+}
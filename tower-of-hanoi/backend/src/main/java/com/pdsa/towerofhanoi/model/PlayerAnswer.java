@@ -2,6 +2,7 @@
 
 package com.pdsa.towerofhanoi.model;
 
+import com.pdsa.towerofhanoi.algorithm.CompactMoves;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,8 +29,10 @@ public class PlayerAnswer {
     @Column(nullable = false)
     private Integer playerMinimumMoves;
     
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String playerMoveSequence;
+    // Packed 4 bits per move, decoded only when read back
+    @Column(name = "player_move_sequence_packed", nullable = false, columnDefinition = "MEDIUMBLOB")
+    @Convert(converter = CompactMovesConverter.class)
+    private CompactMoves playerMoveSequence;
     
     @Column(nullable = false)
     private Boolean isCorrect;
@@ -1,7 +1,10 @@
 package com.pdsa.towerofhanoi.repository;
 
 import com.pdsa.towerofhanoi.model.AlgorithmPerformance;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -12,4 +15,38 @@ public interface AlgorithmPerformanceRepository extends JpaRepository<AlgorithmP
     List<AlgorithmPerformance> findByGameRoundId(Long gameRoundId);
     List<AlgorithmPerformance> findByAlgorithmName(String algorithmName);
     List<AlgorithmPerformance> findByNumberOfPegs(Integer numberOfPegs);
-}
\ No newline at end of file
+    
+    // Keyset page of records joined with their game round, ordered by id (afterId = last id of previous page)
+    @Query("SELECT p.id AS id, p.gameRoundId AS gameRoundId, p.algorithmName AS algorithmName, " +
+           "p.numberOfPegs AS numberOfPegs, g.numberOfDisks AS numberOfDisks, " +
+           "p.minimumMoves AS minimumMoves, p.executionTimeNanos AS executionTimeNanos " +
+           "FROM AlgorithmPerformance p JOIN GameRound g ON g.id = p.gameRoundId " +
+           "WHERE p.algorithmName = :algorithmName AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<PerformanceRecordView> findRecordsAfter(@Param("algorithmName") String algorithmName,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+    
+    // Time statistics per algorithm and disk count
+    @Query("SELECT p.algorithmName AS algorithmName, MIN(p.numberOfPegs) AS numberOfPegs, " +
+           "g.numberOfDisks AS numberOfDisks, COUNT(p) AS runs, " +
+           "AVG(p.executionTimeNanos) AS averageExecutionTimeNanos, " +
+           "MIN(p.executionTimeNanos) AS minExecutionTimeNanos, " +
+           "MAX(p.executionTimeNanos) AS maxExecutionTimeNanos " +
+           "FROM AlgorithmPerformance p JOIN GameRound g ON g.id = p.gameRoundId " +
+           "GROUP BY p.algorithmName, g.numberOfDisks " +
+           "ORDER BY p.algorithmName, g.numberOfDisks")
+    List<PerformanceAggregateView> aggregateByAlgorithmAndDisks();
+    
+    // Time statistics per disk count for one algorithm
+    @Query("SELECT p.algorithmName AS algorithmName, MIN(p.numberOfPegs) AS numberOfPegs, " +
+           "g.numberOfDisks AS numberOfDisks, COUNT(p) AS runs, " +
+           "AVG(p.executionTimeNanos) AS averageExecutionTimeNanos, " +
+           "MIN(p.executionTimeNanos) AS minExecutionTimeNanos, " +
+           "MAX(p.executionTimeNanos) AS maxExecutionTimeNanos " +
+           "FROM AlgorithmPerformance p JOIN GameRound g ON g.id = p.gameRoundId " +
+           "WHERE p.algorithmName = :algorithmName " +
+           "GROUP BY p.algorithmName, g.numberOfDisks " +
+           "ORDER BY g.numberOfDisks")
+    List<PerformanceAggregateView> aggregateByDisksForAlgorithm(@Param("algorithmName") String algorithmName);
+}
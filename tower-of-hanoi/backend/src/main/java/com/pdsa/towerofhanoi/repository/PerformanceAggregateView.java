@@ -0,0 +1,16 @@
+package com.pdsa.towerofhanoi.repository;
+
+/**
+ * Execution time aggregates computed in SQL for one algorithm and disk count
+ */
+public interface PerformanceAggregateView {
+    
+    String getAlgorithmName();
+    Integer getNumberOfPegs();
+    Integer getNumberOfDisks();
+    
+    Long getRuns();
+    Double getAverageExecutionTimeNanos();
+    Long getMinExecutionTimeNanos();
+    Long getMaxExecutionTimeNanos();
+}
@@ -0,0 +1,15 @@
+package com.pdsa.towerofhanoi.repository;
+
+/**
+ * One algorithm_performance row joined with the disk count of its game round
+ */
+public interface PerformanceRecordView {
+    
+    Long getId();
+    Long getGameRoundId();
+    String getAlgorithmName();
+    Integer getNumberOfPegs();
+    Integer getNumberOfDisks();
+    Integer getMinimumMoves();
+    Long getExecutionTimeNanos();
+}
@@ -0,0 +1,93 @@
+package com.pdsa.towerofhanoi.repository;
+
+import com.pdsa.towerofhanoi.algorithm.CompactMoves;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema changes that ddl-auto=update cannot make on an existing database.
+ *
+ * Hibernate only adds columns, so a column an entity stopped writing keeps
+ * its old NOT NULL constraint and every insert that leaves it out fails in
+ * strict mode. Runs after Hibernate has updated the schema and before the
+ * batch writers are created; each step checks the live schema first, so it
+ * is a no-op on a fresh database and on every later start.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class SchemaMigrations {
+
+    private static final String PLAYER_ANSWERS = "player_answers";
+    private static final String LEGACY_MOVE_SEQUENCE = "player_move_sequence";
+
+    // Rows written before the packed column existed got an empty value when it was added
+    private static final String UNPACKED_ANSWERS_SQL =
+        "SELECT id, player_move_sequence FROM player_answers " +
+        "WHERE player_move_sequence IS NOT NULL " +
+        "AND (player_move_sequence_packed IS NULL OR LENGTH(player_move_sequence_packed) = 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaMigrations(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    @PostConstruct
+    public void migrate() {
+        migratePlayerMoveSequence();
+    }
+
+    /**
+     * player_answers.player_move_sequence (TEXT NOT NULL) was replaced by
+     * player_move_sequence_packed. Old answers are packed into the new column
+     * and the old one is made nullable; it is kept so nothing is lost, and can
+     * be dropped by hand once the packed values have been checked.
+     */
+    void migratePlayerMoveSequence() {
+        Boolean nullable = columnNullable(PLAYER_ANSWERS, LEGACY_MOVE_SEQUENCE);
+        if (nullable == null) {
+            return;
+        }
+
+        List<Object[]> packed = new ArrayList<>();
+        jdbcTemplate.query(UNPACKED_ANSWERS_SQL, resultSet -> {
+            long id = resultSet.getLong(1);
+            try {
+                packed.add(new Object[] {CompactMoves.parse(resultSet.getString(2)).encode(), id});
+            } catch (IllegalArgumentException e) {
+                log.warn("Player answer {} has an unreadable move sequence, left unpacked: {}", id, e.getMessage());
+            }
+        });
+        if (!packed.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE player_answers SET player_move_sequence_packed = ? WHERE id = ?", packed);
+            log.info("Packed the move sequences of {} existing player answers", packed.size());
+        }
+
+        if (!nullable) {
+            jdbcTemplate.execute("ALTER TABLE player_answers MODIFY player_move_sequence TEXT NULL");
+            log.info("Made legacy column player_answers.player_move_sequence nullable");
+        }
+    }
+
+    //null if the column does not exist
+    private Boolean columnNullable(String table, String column) {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+                return columns.next() ? columns.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls : null;
+            }
+        });
+    }
+}
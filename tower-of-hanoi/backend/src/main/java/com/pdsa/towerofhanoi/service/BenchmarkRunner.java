@@ -0,0 +1,124 @@
+package com.pdsa.towerofhanoi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Times a solver the way a single System.nanoTime() pair cannot:
+ * - warmup iterations first, so the JIT has compiled the solver
+ * - repeated measured iterations
+ * - outliers (GC pauses, descheduling) above Q3 + 1.5 * IQR are dropped
+ * - median and percentiles reported over what is left
+ */
+@Component
+@Slf4j
+public class BenchmarkRunner {
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+
+    // Results are folded in here so the JIT cannot drop the solver call
+    private volatile int blackhole;
+
+    public BenchmarkRunner(
+            @Value("${hanoi.benchmark.warmup-iterations:20}") int warmupIterations,
+            @Value("${hanoi.benchmark.measurement-iterations:50}") int measurementIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+    }
+
+
+    public BenchmarkStatistics run(String name, Supplier<?> solver) {
+        return run(name, solver, warmupIterations, measurementIterations);
+    }
+
+    public BenchmarkStatistics run(String name, Supplier<?> solver, int warmup, int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("At least one measured iteration is required");
+        }
+
+        for (int i = 0; i < warmup; i++) {
+            consume(solver.get());
+        }
+
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long startTime = System.nanoTime();
+            Object result = solver.get();
+            samples[i] = System.nanoTime() - startTime;
+            consume(result);
+        }
+
+        BenchmarkStatistics statistics = summarize(samples);
+        log.debug("{}: median {} ns over {} samples ({} outliers dropped)",
+                  name, statistics.getMedianNanos(), statistics.getSamples(), statistics.getOutliersRemoved());
+        return statistics;
+    }
+
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public int getMeasurementIterations() {
+        return measurementIterations;
+    }
+
+    private void consume(Object result) {
+        blackhole += System.identityHashCode(result);
+    }
+
+    /**
+     * Drop high outliers using Tukey's fence, then compute summary statistics
+     */
+    static BenchmarkStatistics summarize(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+
+        long q1 = percentile(sorted, sorted.length, 0.25);
+        long q3 = percentile(sorted, sorted.length, 0.75);
+        long fence = q3 + (long) (1.5 * (q3 - q1));
+
+        int kept = sorted.length;
+        while (kept > 1 && sorted[kept - 1] > fence) {
+            kept--;
+        }
+
+        long sum = 0;
+        for (int i = 0; i < kept; i++) {
+            sum += sorted[i];
+        }
+
+        return new BenchmarkStatistics(
+            kept,
+            sorted.length - kept,
+            percentile(sorted, kept, 0.50),
+            (double) sum / kept,
+            percentile(sorted, kept, 0.90),
+            percentile(sorted, kept, 0.99),
+            sorted[0],
+            sorted[kept - 1]);
+    }
+
+    //nearest-rank percentile over the first count sorted values
+    private static long percentile(long[] sorted, int count, double fraction) {
+        int rank = (int) Math.ceil(fraction * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)];
+    }
+
+
+    @lombok.Value
+    public static class BenchmarkStatistics {
+        int samples;
+        int outliersRemoved;
+        long medianNanos;
+        double meanNanos;
+        long p90Nanos;
+        long p99Nanos;
+        long minNanos;
+        long maxNanos;
+    }
+}
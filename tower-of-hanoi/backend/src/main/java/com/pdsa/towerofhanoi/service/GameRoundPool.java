@@ -0,0 +1,150 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.dto.GameStartResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+/**
+ * Ready-made game rounds per peg count, so a start request only has to take
+ * one off a queue instead of running every solver.
+ *
+ * Each round handed in by the factory is solved but not yet saved; the caller
+ * saves it when it takes it, so rounds nobody plays never reach the database.
+ * When a queue drops below the low watermark a single background thread
+ * refills it up to the high watermark. An empty queue is not an error: take
+ * returns null and the caller builds the round itself.
+ */
+@Component
+@Slf4j
+public class GameRoundPool {
+
+    private static final int MIN_PEGS = 3;
+    private static final int MAX_PEGS = 4;
+
+    private final boolean enabled;
+    private final int lowWatermark;
+    private final int highWatermark;
+
+    private final LinkedBlockingQueue<GameStartResponse>[] rounds;
+    private final AtomicBoolean[] refilling;
+    private final ExecutorService producer;
+
+    private volatile IntFunction<GameStartResponse> factory;
+
+    @SuppressWarnings("unchecked")
+    public GameRoundPool(
+            @Value("${hanoi.pool.enabled:true}") boolean enabled,
+            @Value("${hanoi.pool.low-watermark:4}") int lowWatermark,
+            @Value("${hanoi.pool.high-watermark:16}") int highWatermark) {
+        if (lowWatermark < 0 || highWatermark < 1 || lowWatermark >= highWatermark) {
+            throw new IllegalArgumentException("Pool watermarks must satisfy 0 <= low < high");
+        }
+        this.enabled = enabled;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+
+        int slots = MAX_PEGS - MIN_PEGS + 1;
+        this.rounds = new LinkedBlockingQueue[slots];
+        this.refilling = new AtomicBoolean[slots];
+        for (int i = 0; i < slots; i++) {
+            rounds[i] = new LinkedBlockingQueue<>();
+            refilling[i] = new AtomicBoolean();
+        }
+
+        this.producer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hanoi-round-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Sets the round factory and fills every peg count up to the high watermark
+     */
+    public void start(IntFunction<GameStartResponse> roundFactory) {
+        if (!enabled) {
+            log.info("Game round pool disabled");
+            return;
+        }
+        this.factory = roundFactory;
+        for (int pegs = MIN_PEGS; pegs <= MAX_PEGS; pegs++) {
+            refillIfLow(pegs);
+        }
+    }
+
+    /**
+     * A pooled round for this peg count, or null if none is ready
+     */
+    public GameStartResponse take(int numberOfPegs) {
+        if (!enabled || numberOfPegs < MIN_PEGS || numberOfPegs > MAX_PEGS) {
+            return null;
+        }
+        GameStartResponse round = rounds[numberOfPegs - MIN_PEGS].poll();
+        refillIfLow(numberOfPegs);
+        return round;
+    }
+
+    public int size(int numberOfPegs) {
+        return rounds[numberOfPegs - MIN_PEGS].size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        factory = null;
+        producer.shutdownNow();
+        try {
+            producer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    //at most one refill per peg count is queued or running at a time
+    private void refillIfLow(int numberOfPegs) {
+        int slot = numberOfPegs - MIN_PEGS;
+        if (factory == null || rounds[slot].size() >= lowWatermark || !refilling[slot].compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            producer.execute(() -> fill(numberOfPegs));
+        } catch (RejectedExecutionException e) {
+            refilling[slot].set(false);
+        }
+    }
+
+    private void fill(int numberOfPegs) {
+        int slot = numberOfPegs - MIN_PEGS;
+        int produced = 0;
+        try {
+            IntFunction<GameStartResponse> current;
+            while (rounds[slot].size() < highWatermark && (current = factory) != null
+                    && !Thread.currentThread().isInterrupted()) {
+                rounds[slot].add(current.apply(numberOfPegs));
+                produced++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to pre-generate a {}-peg game round", numberOfPegs, e);
+        } finally {
+            refilling[slot].set(false);
+        }
+        log.debug("Pre-generated {} {}-peg game rounds, {} ready", produced, numberOfPegs, rounds[slot].size());
+
+        // Rounds taken while this refill ran may have pushed the queue below low again;
+        // after a failure wait for the next take instead of retrying in a tight loop
+        if (produced > 0) {
+            refillIfLow(numberOfPegs);
+        }
+    }
+}
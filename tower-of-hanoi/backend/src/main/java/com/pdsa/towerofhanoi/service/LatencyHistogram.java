@@ -0,0 +1,78 @@
+package com.pdsa.towerofhanoi.service;
+
+/**
+ * Fixed-size log-linear histogram of nanosecond timings.
+ *
+ * Every power of two is split into 32 equal sub-buckets, so any recorded
+ * value is reported within about 3% and the whole range of a long fits in
+ * 1920 counters. Histograms with the same layout merge by adding counters,
+ * which is what lets per-disk and seeded aggregates be combined.
+ *
+ * Not thread-safe; callers synchronise on the owner.
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    
+    
+    public void record(long value) {
+        counts[bucketOf(Math.max(0, value))]++;
+        totalCount++;
+    }
+    
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+    
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.merge(this);
+        return copy;
+    }
+    
+    public long getTotalCount() {
+        return totalCount;
+    }
+    
+    //nearest-rank percentile, reported as the middle of its bucket
+    public long percentile(double fraction) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return midpointOf(i);
+            }
+        }
+        return midpointOf(BUCKETS - 1);
+    }
+    
+    // Values below 32 get their own bucket; above that, 32 buckets per power of two
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+    
+    static long midpointOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lower + (1L << (shift - 1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.algorithm.FourPegFrameStewart;
+import com.pdsa.towerofhanoi.algorithm.FourPegOptimized;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * True optimal 4-peg move counts produced offline by FourPegVerifier, used at
+ * startup to check the counts the 4-peg algorithms report.
+ *
+ * A missing table only disables the check; a mismatch is logged as a warning
+ * rather than failing startup, since FourPegOptimized is known to be a
+ * heuristic.
+ */
+@Component
+@Slf4j
+public class OptimalMoveTable {
+
+    private final Resource table;
+    private final FourPegFrameStewart fourPegFrameStewart;
+    private final FourPegOptimized fourPegOptimized;
+
+    private final TreeMap<Integer, Integer> optimalMoves = new TreeMap<>();
+
+    public OptimalMoveTable(
+            @Value("${hanoi.verification.table:classpath:four-peg-optimal.csv}") Resource table,
+            FourPegFrameStewart fourPegFrameStewart,
+            FourPegOptimized fourPegOptimized) {
+        this.table = table;
+        this.fourPegFrameStewart = fourPegFrameStewart;
+        this.fourPegOptimized = fourPegOptimized;
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyFourPegAlgorithms() {
+        if (!load()) {
+            return;
+        }
+        verify(fourPegFrameStewart.getAlgorithmName(), fourPegFrameStewart::getMinimumMoves);
+        verify(fourPegOptimized.getAlgorithmName(), fourPegOptimized::getMinimumMoves);
+    }
+
+    /**
+     * Reads the table; false (and an empty table) if it is missing or malformed
+     */
+    public synchronized boolean load() {
+        optimalMoves.clear();
+        if (!table.exists()) {
+            log.warn("No optimal move table at {}, skipping 4-peg verification", table.getDescription());
+            return false;
+        }
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(table.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("disks")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                optimalMoves.put(Integer.parseInt(columns[0].trim()), Integer.parseInt(columns[1].trim()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read optimal move table {}", table.getDescription(), e);
+            optimalMoves.clear();
+            return false;
+        }
+
+        log.info("Loaded optimal 4-peg move counts for {} disk counts", optimalMoves.size());
+        return true;
+    }
+
+    /**
+     * Disk counts in the table where the reported count differs from the optimum
+     */
+    public synchronized List<Integer> verify(String algorithmName, IntUnaryOperator reportedMoves) {
+        List<Integer> mismatches = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : optimalMoves.entrySet()) {
+            int reported = reportedMoves.applyAsInt(entry.getKey());
+            if (reported != entry.getValue()) {
+                mismatches.add(entry.getKey());
+                log.warn("{} reports {} moves for {} disks, optimal is {}",
+                         algorithmName, reported, entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (mismatches.isEmpty()) {
+            log.info("{} matches the optimal move count for all {} disk counts", algorithmName, optimalMoves.size());
+        }
+        return mismatches;
+    }
+
+    public synchronized Map<Integer, Integer> getOptimalMoves() {
+        return Collections.unmodifiableMap(new TreeMap<>(optimalMoves));
+    }
+}
@@ -0,0 +1,282 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.model.AlgorithmPerformance;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Running execution time statistics per algorithm, kept in memory so the
+ * stats endpoints never query the database.
+ *
+ * For each algorithm there is one overall RollingStats plus one per disk
+ * count, each holding count, mean, min, max and a LatencyHistogram for
+ * percentiles, and a short list of the most recent runs. Every solver run is
+ * recorded as it happens; at startup the existing rows are scanned once and
+ * merged in.
+ *
+ * The scan only covers rows up to the highest id stored before this instance
+ * could record anything, so a run written to the database after startup is
+ * counted once, by the live recording, and never again by the scan.
+ * Until that scan has finished the aggregates are incomplete (isReady is
+ * false) and callers fall back to the SQL aggregates.
+ */
+@Component
+@Slf4j
+public class PerformanceAggregates {
+
+    private static final String SEED_SQL =
+        "SELECT p.algorithm_name, p.number_of_pegs, g.number_of_disks, p.game_round_id, " +
+        "p.minimum_moves, p.execution_time_nanos " +
+        "FROM algorithm_performance p JOIN game_rounds g ON g.id = p.game_round_id " +
+        "WHERE p.id <= ? " +
+        "ORDER BY p.id";
+
+    private static final String MAX_ID_SQL = "SELECT MAX(id) FROM algorithm_performance";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int recentRecords;
+    private final boolean seedOnStartup;
+
+    // Highest stored id when the bean was created, before any live run could be recorded
+    private long seedHighWaterMark;
+    private volatile boolean seeded;
+
+    // Sorted by name so the all-algorithms response has a stable order
+    private final ConcurrentSkipListMap<String, AlgorithmAggregate> algorithms = new ConcurrentSkipListMap<>();
+
+    public PerformanceAggregates(
+            JdbcTemplate jdbcTemplate,
+            @Value("${hanoi.stats.recent-records:100}") int recentRecords,
+            @Value("${hanoi.stats.seed-on-startup:true}") boolean seedOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recentRecords = recentRecords;
+        this.seedOnStartup = seedOnStartup;
+    }
+
+
+    /**
+     * Fix the seed boundary. Runs before the service that records runs is
+     * created, so every row this instance writes gets a larger id.
+     */
+    @PostConstruct
+    public void markSeedBoundary() {
+        if (!seedOnStartup) {
+            return;
+        }
+        try {
+            Long maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+            seedHighWaterMark = maxId == null ? 0 : maxId;
+        } catch (DataAccessException e) {
+            // No table yet: a fresh schema has no history to seed
+            log.info("No stored performance rows to seed from: {}", e.getMessage());
+            seedHighWaterMark = 0;
+        }
+    }
+
+    public void record(AlgorithmPerformance performance, int numberOfDisks) {
+        aggregateFor(performance.getAlgorithmName(), performance.getNumberOfPegs())
+            .record(numberOfDisks, new RecentRun(performance.getGameRoundId(), numberOfDisks,
+                performance.getMinimumMoves(), performance.getExecutionTimeNanos()));
+    }
+
+    /**
+     * True once the stored history is merged in, or when seeding is disabled
+     * and only live runs are wanted
+     */
+    public boolean isReady() {
+        return !seedOnStartup || seeded;
+    }
+
+    public List<String> getAlgorithmNames() {
+        return new ArrayList<>(algorithms.keySet());
+    }
+
+    /**
+     * Consistent copy of one algorithm's statistics, or null if it has never run
+     */
+    public AlgorithmSnapshot snapshot(String algorithmName) {
+        AlgorithmAggregate aggregate = algorithms.get(algorithmName);
+        return aggregate == null ? null : aggregate.snapshot();
+    }
+
+    /**
+     * Scan the performance rows stored before startup once and merge them
+     * into the live aggregates. Runs recorded while the scan is in progress
+     * are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromDatabase() {
+        if (!seedOnStartup) {
+            return;
+        }
+        if (seedHighWaterMark == 0) {
+            seeded = true;
+            return;
+        }
+
+        PerformanceAggregates history = new PerformanceAggregates(jdbcTemplate, recentRecords, false);
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(SEED_SQL, resultSet -> {
+                int numberOfDisks = resultSet.getInt(3);
+                history.aggregateFor(resultSet.getString(1), resultSet.getInt(2))
+                    .record(numberOfDisks, new RecentRun(resultSet.getLong(4), numberOfDisks,
+                        resultSet.getInt(5), resultSet.getLong(6)));
+                rows[0]++;
+            }, seedHighWaterMark);
+        } catch (DataAccessException e) {
+            // Nothing is merged, so stats keep coming from the SQL aggregates
+            log.warn("Could not seed performance aggregates, serving stats from SQL", e);
+            return;
+        }
+
+        merge(history);
+        seeded = true;
+        log.info("Seeded performance aggregates from {} stored runs up to id {}", rows[0], seedHighWaterMark);
+    }
+
+    //adds every statistic of other into this; other's recent runs count as older
+    void merge(PerformanceAggregates other) {
+        for (Map.Entry<String, AlgorithmAggregate> entry : other.algorithms.entrySet()) {
+            AlgorithmAggregate source = entry.getValue();
+            aggregateFor(entry.getKey(), source.numberOfPegs).mergeOlder(source);
+        }
+    }
+
+    private AlgorithmAggregate aggregateFor(String algorithmName, int numberOfPegs) {
+        return algorithms.computeIfAbsent(algorithmName, name -> new AlgorithmAggregate(numberOfPegs, recentRecords));
+    }
+
+
+    /**
+     * Count, mean, min, max and histogram for one group of runs
+     */
+    public static class RollingStats {
+
+        private long count;
+        private long totalNanos;
+        private long minNanos = Long.MAX_VALUE;
+        private long maxNanos = Long.MIN_VALUE;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            minNanos = Math.min(minNanos, nanos);
+            maxNanos = Math.max(maxNanos, nanos);
+            histogram.record(nanos);
+        }
+
+        void merge(RollingStats other) {
+            count += other.count;
+            totalNanos += other.totalNanos;
+            minNanos = Math.min(minNanos, other.minNanos);
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+            histogram.merge(other.histogram);
+        }
+
+        RollingStats copy() {
+            RollingStats copy = new RollingStats();
+            copy.merge(this);
+            return copy;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        public long getMinNanos() {
+            return minNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        //histogram estimate, clamped to the exact min and max
+        public long percentile(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            return Math.max(minNanos, Math.min(maxNanos, histogram.percentile(fraction)));
+        }
+    }
+
+    /**
+     * All statistics for one algorithm, guarded by its own lock
+     */
+    private static final class AlgorithmAggregate {
+
+        private final int numberOfPegs;
+        private final int recentLimit;
+        private final RollingStats overall = new RollingStats();
+        private final TreeMap<Integer, RollingStats> byDisks = new TreeMap<>();
+        private final ArrayDeque<RecentRun> recent = new ArrayDeque<>();
+
+        AlgorithmAggregate(int numberOfPegs, int recentLimit) {
+            this.numberOfPegs = numberOfPegs;
+            this.recentLimit = recentLimit;
+        }
+
+        synchronized void record(int numberOfDisks, RecentRun run) {
+            overall.record(run.getExecutionTimeNanos());
+            byDisks.computeIfAbsent(numberOfDisks, disks -> new RollingStats()).record(run.getExecutionTimeNanos());
+            recent.addLast(run);
+            if (recent.size() > recentLimit) {
+                recent.removeFirst();
+            }
+        }
+
+        void mergeOlder(AlgorithmAggregate older) {
+            AlgorithmSnapshot source = older.snapshot();
+            synchronized (this) {
+                overall.merge(source.getOverall());
+                source.getByDisks().forEach((disks, stats) ->
+                    byDisks.computeIfAbsent(disks, key -> new RollingStats()).merge(stats));
+                List<RecentRun> olderRuns = source.getRecentRuns();
+                for (int i = olderRuns.size() - 1; i >= 0 && recent.size() < recentLimit; i--) {
+                    recent.addFirst(olderRuns.get(i));
+                }
+            }
+        }
+
+        synchronized AlgorithmSnapshot snapshot() {
+            TreeMap<Integer, RollingStats> disksCopy = new TreeMap<>();
+            byDisks.forEach((disks, stats) -> disksCopy.put(disks, stats.copy()));
+            return new AlgorithmSnapshot(numberOfPegs, overall.copy(), disksCopy, new ArrayList<>(recent));
+        }
+    }
+
+    @lombok.Value
+    public static class AlgorithmSnapshot {
+        int numberOfPegs;
+        RollingStats overall;
+        TreeMap<Integer, RollingStats> byDisks;
+        List<RecentRun> recentRuns;
+    }
+
+    @lombok.Value
+    public static class RecentRun {
+        Long gameRoundId;
+        int numberOfDisks;
+        int minimumMoves;
+        long executionTimeNanos;
+    }
+}
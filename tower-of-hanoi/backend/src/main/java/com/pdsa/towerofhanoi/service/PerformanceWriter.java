@@ -0,0 +1,81 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.model.AlgorithmPerformance;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes AlgorithmPerformance rows in the background, outside the request
+ * transaction, as JDBC batch inserts.
+ */
+@Component
+@Slf4j
+public class PerformanceWriter {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO algorithm_performance " +
+        "(game_round_id, algorithm_name, number_of_pegs, execution_time_nanos, minimum_moves, from_cache, recorded_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindQueue<AlgorithmPerformance> queue;
+    
+    public PerformanceWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${hanoi.performance-writer.capacity:10000}") int capacity,
+            @Value("${hanoi.performance-writer.batch-size:100}") int batchSize,
+            @Value("${hanoi.performance-writer.flush-interval-ms:500}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new WriteBehindQueue<>("performance", capacity, batchSize, flushIntervalMillis,
+                                            flushIntervalMillis, this::insertBatchAtomically);
+    }
+    
+    
+    public void submit(AlgorithmPerformance performance) {
+        if (performance.getRecordedAt() == null) {
+            performance.setRecordedAt(LocalDateTime.now());
+        }
+        queue.submit(performance);
+    }
+    
+    // Rows that could not be inserted even on their own
+    public long failed() {
+        return queue.failed();
+    }
+    
+    // With rewriteBatchedStatements a failed batch can leave some rows inserted;
+    // rolling it back keeps the queue's retries from inserting them twice
+    private void insertBatchAtomically(List<AlgorithmPerformance> batch) {
+        transactionTemplate.executeWithoutResult(status -> insertBatch(batch));
+    }
+    
+    private void insertBatch(List<AlgorithmPerformance> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, performance) -> {
+            statement.setLong(1, performance.getGameRoundId());
+            statement.setString(2, performance.getAlgorithmName());
+            statement.setInt(3, performance.getNumberOfPegs());
+            statement.setLong(4, performance.getExecutionTimeNanos());
+            statement.setInt(5, performance.getMinimumMoves());
+            statement.setBoolean(6, Boolean.TRUE.equals(performance.getFromCache()));
+            statement.setTimestamp(7, Timestamp.valueOf(performance.getRecordedAt()));
+        });
+        log.debug("Inserted {} performance records", batch.size());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        queue.close();
+    }
+}
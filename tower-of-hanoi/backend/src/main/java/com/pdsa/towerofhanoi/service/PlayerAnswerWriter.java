@@ -0,0 +1,87 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.model.PlayerAnswer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes winning PlayerAnswer rows in the background as JDBC batch inserts,
+ * so submit-answer responses do not wait for the database. Created after
+ * SchemaMigrations, which relaxes the legacy move sequence column these
+ * inserts leave out.
+ */
+@Component
+@DependsOn("schemaMigrations")
+@Slf4j
+public class PlayerAnswerWriter {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO player_answers " +
+        "(player_name, game_round_id, player_minimum_moves, player_move_sequence_packed, is_correct, submitted_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WriteBehindQueue<PlayerAnswer> queue;
+    
+    public PlayerAnswerWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${hanoi.answer-writer.capacity:5000}") int capacity,
+            @Value("${hanoi.answer-writer.batch-size:50}") int batchSize,
+            @Value("${hanoi.answer-writer.flush-interval-ms:250}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new WriteBehindQueue<>("player-answer", capacity, batchSize, flushIntervalMillis,
+                                            flushIntervalMillis, this::insertBatchAtomically);
+    }
+    
+    
+    public void submit(PlayerAnswer answer) {
+        if (answer.getSubmittedAt() == null) {
+            answer.setSubmittedAt(LocalDateTime.now());
+        }
+        queue.submit(answer);
+    }
+    
+    public int pending() {
+        return queue.pending();
+    }
+    
+    // Answers that could not be inserted even on their own
+    public long failed() {
+        return queue.failed();
+    }
+    
+    // All or nothing, so a batch the queue retries cannot insert an answer twice
+    private void insertBatchAtomically(List<PlayerAnswer> batch) {
+        transactionTemplate.executeWithoutResult(status -> insertBatch(batch));
+    }
+    
+    private void insertBatch(List<PlayerAnswer> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, answer) -> {
+            statement.setString(1, answer.getPlayerName());
+            statement.setLong(2, answer.getGameRoundId());
+            statement.setInt(3, answer.getPlayerMinimumMoves());
+            statement.setBytes(4, answer.getPlayerMoveSequence().encode());
+            statement.setBoolean(5, answer.getIsCorrect());
+            statement.setTimestamp(6, Timestamp.valueOf(answer.getSubmittedAt()));
+        });
+        log.debug("Inserted {} player answers", batch.size());
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        queue.close();
+    }
+}
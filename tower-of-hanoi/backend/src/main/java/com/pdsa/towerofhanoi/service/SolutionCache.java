@@ -0,0 +1,147 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.algorithm.PackedMoves;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of solved puzzles keyed by (algorithm, pegs, disks).
+ *
+ * Holds the packed move sequence, minimum move count and the solve time
+ * measured when the entry was computed. Entries above maxDisks are never
+ * cached, and the least recently used entries are evicted once the packed
+ * sequences exceed maxBytes.
+ */
+@Component
+@Slf4j
+public class SolutionCache {
+
+    // Rough per-entry cost of the key, entry object and map node
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+    private final int maxDisks;
+    private final long maxBytes;
+    private final boolean warmOnStartup;
+
+    private final LinkedHashMap<SolutionKey, CachedSolution> entries = new LinkedHashMap<>(32, 0.75f, true);
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SolutionCache(
+            @Value("${hanoi.cache.max-disks:10}") int maxDisks,
+            @Value("${hanoi.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${hanoi.cache.warm-on-startup:true}") boolean warmOnStartup) {
+        this.maxDisks = maxDisks;
+        this.maxBytes = maxBytes;
+        this.warmOnStartup = warmOnStartup;
+    }
+
+
+    /**
+     * Returns the cached solution, computing and storing it on a miss.
+     * The loader runs outside the lock, so two concurrent misses for the
+     * same key may both compute it; the first stored result wins.
+     */
+    public CachedSolution get(String algorithmName, int numberOfPegs, int numberOfDisks,
+                              Supplier<CachedSolution> loader) {
+        if (numberOfDisks > maxDisks) {
+            misses.incrementAndGet();
+            return loader.get();
+        }
+
+        SolutionKey key = new SolutionKey(algorithmName, numberOfPegs, numberOfDisks);
+        synchronized (this) {
+            CachedSolution cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        CachedSolution loaded = loader.get();
+        return put(key, loaded);
+    }
+
+    private synchronized CachedSolution put(SolutionKey key, CachedSolution solution) {
+        CachedSolution existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        long size = sizeOf(solution);
+        if (size > maxBytes) {
+            log.debug("Solution for {} is larger than the cache budget, not caching", key);
+            return solution;
+        }
+
+        entries.put(key, solution);
+        currentBytes += size;
+
+        // Evict least recently used entries until back under budget
+        Iterator<Map.Entry<SolutionKey, CachedSolution>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<SolutionKey, CachedSolution> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            currentBytes -= sizeOf(eldest.getValue());
+            iterator.remove();
+            log.debug("Evicted cached solution {}", eldest.getKey());
+        }
+        return solution;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getMaxDisks() {
+        return maxDisks;
+    }
+
+    public boolean isWarmOnStartup() {
+        return warmOnStartup;
+    }
+
+    private static long sizeOf(CachedSolution solution) {
+        return solution.getMoves().sizeInBytes() + ENTRY_OVERHEAD_BYTES;
+    }
+
+
+    private record SolutionKey(String algorithmName, int numberOfPegs, int numberOfDisks) {
+    }
+
+    @lombok.Value
+    public static class CachedSolution {
+        PackedMoves moves;
+        int minimumMoves;
+        long solveTimeNanos;
+    }
+}
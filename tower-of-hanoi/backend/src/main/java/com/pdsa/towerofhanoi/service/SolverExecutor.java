@@ -0,0 +1,101 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.exception.SolverBusyException;
+import com.pdsa.towerofhanoi.exception.SolverTimeoutException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared bounded pool the game uses to run its solvers side by side.
+ *
+ * When every worker is busy and the queue is full, new work is rejected with
+ * SolverBusyException rather than run on the request thread, where the
+ * deadline could not be enforced. On timeout the solvers are interrupted; the
+ * move generators check for that (SolverCancellation) and stop.
+ */
+@Component
+@Slf4j
+public class SolverExecutor {
+    
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    
+    public SolverExecutor(
+            @Value("${hanoi.solver.pool-size:4}") int poolSize,
+            @Value("${hanoi.solver.queue-capacity:64}") int queueCapacity,
+            @Value("${hanoi.solver.timeout-ms:10000}") long timeoutMillis) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            poolSize, poolSize, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "hanoi-solver-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    
+    /**
+     * Run all tasks concurrently and return their results in task order.
+     * Each task gets timeoutMillis from submission; on timeout or failure the
+     * remaining tasks are cancelled (interrupted) and an exception is thrown.
+     * If the pool cannot take every task, none of them run.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            
+            for (Future<T> future : futures) {
+                long remaining = deadline - System.nanoTime();
+                results.add(future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (RejectedExecutionException e) {
+            log.warn("Solver pool saturated, rejecting request");
+            throw new SolverBusyException(queueCapacity);
+        } catch (TimeoutException e) {
+            log.warn("Solver timed out after {} ms", timeoutMillis);
+            throw new SolverTimeoutException(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for solvers", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Solver failed", cause);
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+    
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -31,4 +31,25 @@ public interface TowerOfHanoiService {
      * Get performance statistics for specific algorithm
      */
     PerformanceStatsResponse getPerformanceStatsByAlgorithm(String algorithmName);
+    
+    /**
+     * Get one page of performance records for an algorithm
+     * - Keyset pagination: pass the previous page's nextCursor as afterId
+     */
+    PerformanceRecordPageResponse getPerformanceRecords(String algorithmName, Long afterId, Integer limit);
+    
+    /**
+     * Benchmark the algorithms for a given number of pegs and disks
+     * - Runs warmup iterations before measuring
+     * - Bypasses the solution cache
+     * - Returns median and percentile timings per algorithm
+     */
+    BenchmarkResponse runBenchmark(BenchmarkRequest request);
+    
+    /**
+     * Best next move from the player's current board towards the last peg
+     * - 3 pegs: closed form, 4 pegs: precomputed distance table
+     * - Returns solved = true when the tower is already complete
+     */
+    HintResponse getHint(HintRequest request);
 }
\ No newline at end of file
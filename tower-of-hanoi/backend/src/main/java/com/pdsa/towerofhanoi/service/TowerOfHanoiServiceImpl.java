@@ -2,14 +2,19 @@ package com.pdsa.towerofhanoi.service;
 
 import com.pdsa.towerofhanoi.algorithm.*;
 import com.pdsa.towerofhanoi.dto.*;
+import com.pdsa.towerofhanoi.exception.InvalidConfigurationException;
 import com.pdsa.towerofhanoi.model.*;
 import com.pdsa.towerofhanoi.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +22,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
     
+    private static final int MIN_DISKS = 5;
+    private static final int MAX_DISKS = 10;
+    
+    private static final int DEFAULT_RECORD_PAGE_SIZE = 100;
+    private static final int MAX_RECORD_PAGE_SIZE = 1000;
+    
     private final GameRoundRepository gameRoundRepository;
     private final PlayerAnswerRepository playerAnswerRepository;
     private final AlgorithmPerformanceRepository algorithmPerformanceRepository;
@@ -26,20 +37,112 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
     private final FourPegFrameStewart fourPegFrameStewart;
     private final FourPegOptimized fourPegOptimized;
     
+    private final SolutionCache solutionCache;
+    private final BenchmarkRunner benchmarkRunner;
+    private final SolverExecutor solverExecutor;
+    private final PerformanceWriter performanceWriter;
+    private final HintEngine hintEngine;
+    private final PlayerAnswerWriter playerAnswerWriter;
+    private final PerformanceAggregates performanceAggregates;
+    private final GameRoundPool gameRoundPool;
+    private final SequenceDiffEngine sequenceDiffEngine;
+    
+    /**
+     * Pre-solve every (algorithm, pegs, disks) combination a game can draw
+     * so requests are answered from the cache
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmSolutionCache() {
+        if (!solutionCache.isWarmOnStartup()) {
+            return;
+        }
+        
+        int upperBound = Math.min(MAX_DISKS, solutionCache.getMaxDisks());
+        for (int disks = MIN_DISKS; disks <= upperBound; disks++) {
+            int n = disks;
+            warmAlgorithm(() -> threePegRecursive.solvePacked(n), 3, n,
+                threePegRecursive.getMinimumMoves(n), threePegRecursive.getAlgorithmName());
+            warmAlgorithm(() -> PackedMoves.fromMoveList(threePegIterative.solve(n)), 3, n,
+                threePegIterative.getMinimumMoves(n), threePegIterative.getAlgorithmName());
+            warmAlgorithm(() -> fourPegFrameStewart.solvePacked(n), 4, n,
+                fourPegFrameStewart.getMinimumMoves(n), fourPegFrameStewart.getAlgorithmName());
+            warmAlgorithm(() -> PackedMoves.fromMoveList(fourPegOptimized.solve(n)), 4, n,
+                fourPegOptimized.getMinimumMoves(n), fourPegOptimized.getAlgorithmName());
+        }
+        
+        log.info("Warmed solution cache with {} entries ({} bytes)",
+                 solutionCache.size(), solutionCache.getCurrentBytes());
+    }
+    
+    /**
+     * Build the 4-peg hint distance tables for every disk count a game can draw
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmHintTables() {
+        hintEngine.warmUp(MAX_DISKS);
+        log.info("Built 4-peg hint tables for up to {} disks", MAX_DISKS);
+    }
+    
+    /**
+     * Start the background producer that keeps ready-made rounds per peg count
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRoundPool() {
+        gameRoundPool.start(numberOfPegs -> createRound(numberOfPegs, false, true));
+    }
+    
     @Override
-    @Transactional
     public GameStartResponse startNewGame(GameStartRequest request) {
         log.info("Starting new game with {} pegs", request.getNumberOfPegs());
         
+        boolean bypassCache = Boolean.TRUE.equals(request.getBypassCache());
+        
+        // Benchmark runs want freshly timed solvers, so they never take a pooled round
+        if (!bypassCache) {
+            GameStartResponse pooled = gameRoundPool.take(request.getNumberOfPegs());
+            if (pooled != null) {
+                return handOutPooledRound(pooled);
+            }
+        }
+        
+        return createRound(request.getNumberOfPegs(), bypassCache, false);
+    }
+    
+    // Pooled rounds are saved, and their timings recorded, only once a player
+    // gets one, so unplayed rounds never reach the database or the stats
+    private GameStartResponse handOutPooledRound(GameStartResponse pooled) {
+        GameStartResponse.AlgorithmResult correctResult = pooled.getAlgorithm1Result();
+        GameRound gameRound = gameRoundRepository.save(newGameRound(
+            pooled.getNumberOfDisks(), pooled.getNumberOfPegs(),
+            correctResult.getMinimumMoves(), correctResult.getMoveSequence()));
+        
+        pooled.setGameRoundId(gameRound.getId());
+        for (GameStartResponse.AlgorithmResult result : Arrays.asList(pooled.getAlgorithm1Result(),
+                pooled.getAlgorithm2Result(), pooled.getAlgorithm3Result(), pooled.getAlgorithm4Result())) {
+            if (result != null) {
+                recordPerformance(gameRound.getId(), pooled.getNumberOfPegs(), pooled.getNumberOfDisks(),
+                    result.getAlgorithmName(), result.getMinimumMoves(), result.getExecutionTimeNanos(),
+                    Boolean.TRUE.equals(result.getCached()));
+            }
+        }
+        log.info("Handing out pooled game round {}", gameRound.getId());
+        return pooled;
+    }
+    
+    // Not transactional: solvers run before any DB work, the round is a single
+    // insert and performance rows are written in the background.
+    // A pooled round is only solved: it is not saved and records no performance data yet
+    private GameStartResponse createRound(int numberOfPegs, boolean bypassCache, boolean pooled) {
+        
         // Step 1: Randomly select number of disks between 5 and 10
         Random random = new Random();
-        int numberOfDisks = 5 + random.nextInt(6); // 5 to 10 inclusive
+        int numberOfDisks = MIN_DISKS + random.nextInt(MAX_DISKS - MIN_DISKS + 1); // 5 to 10 inclusive
         
         // ========== DEBUG LOGGING START ==========
         System.out.println("====================================");
         System.out.println("=== DEBUG: START NEW GAME ===");
         System.out.println("Generated numberOfDisks: " + numberOfDisks);
-        System.out.println("Number of pegs: " + request.getNumberOfPegs());
+        System.out.println("Number of pegs: " + numberOfPegs);
         System.out.println("====================================");
         // ========== DEBUG LOGGING END ==========
         
@@ -47,14 +150,14 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
         
         // Step 2: Execute appropriate algorithms based on number of pegs
         List<AlgorithmExecutionResult> results;
-        if (request.getNumberOfPegs() == 3) {
+        if (numberOfPegs == 3) {
             
             System.out.println("Executing 3-peg algorithms for " + numberOfDisks + " disks");
-            results = executeThreePegAlgorithms(numberOfDisks);
+            results = executeThreePegAlgorithms(numberOfDisks, bypassCache);
         } else {
             
             System.out.println("Executing 4-peg algorithms for " + numberOfDisks + " disks");
-            results = executeFourPegAlgorithms(numberOfDisks);
+            results = executeFourPegAlgorithms(numberOfDisks, bypassCache);
         }
         
         // Step 3: Get the correct answer (use first algorithm result)
@@ -77,11 +180,11 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
         // ========== DEBUG LOGGING END ==========
         
         // Step 4: Save game round to database
-        GameRound gameRound = new GameRound();
-        gameRound.setNumberOfDisks(numberOfDisks);
-        gameRound.setNumberOfPegs(request.getNumberOfPegs());
-        gameRound.setCorrectMinimumMoves(correctResult.getMinimumMoves());
-        gameRound.setCorrectMoveSequence(String.join(", ", correctResult.getMoves()));
+        GameRound gameRound = newGameRound(numberOfDisks, numberOfPegs,
+            correctResult.getMinimumMoves(), correctResult.getMoves().toSequence());
+        if (pooled) {
+            return buildGameStartResponse(gameRound, results);
+        }
         
         gameRound = gameRoundRepository.save(gameRound);
         
@@ -95,57 +198,79 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
         
         log.info("Saved game round with ID: {}", gameRound.getId());
         
-        // Step 5: Save algorithm performance data
+        // Step 5: Queue algorithm performance data for the background batch writer
         for (AlgorithmExecutionResult result : results) {
-            AlgorithmPerformance performance = new AlgorithmPerformance();
-            performance.setGameRoundId(gameRound.getId());
-            performance.setAlgorithmName(result.getAlgorithmName());
-            performance.setNumberOfPegs(request.getNumberOfPegs());
-            performance.setExecutionTimeNanos(result.getExecutionTimeNanos());
-            performance.setMinimumMoves(result.getMinimumMoves());
-            
-            algorithmPerformanceRepository.save(performance);
+            recordPerformance(gameRound.getId(), numberOfPegs, numberOfDisks, result.getAlgorithmName(),
+                result.getMinimumMoves(), result.getExecutionTimeNanos(), !result.isSolved());
         }
         
-        log.info("Saved performance data for {} algorithms", results.size());
+        log.info("Queued performance data for {} algorithms", results.size());
         
         // Step 6: Build response
         return buildGameStartResponse(gameRound, results);
     }
     
+    // One row per algorithm per round played. A cached result is recorded with
+    // the time of the solve that filled the cache, marked as such
+    private void recordPerformance(Long gameRoundId, int numberOfPegs, int numberOfDisks, String algorithmName,
+                                   int minimumMoves, long executionTimeNanos, boolean fromCache) {
+        AlgorithmPerformance performance = new AlgorithmPerformance();
+        performance.setGameRoundId(gameRoundId);
+        performance.setAlgorithmName(algorithmName);
+        performance.setNumberOfPegs(numberOfPegs);
+        performance.setExecutionTimeNanos(executionTimeNanos);
+        performance.setMinimumMoves(minimumMoves);
+        performance.setFromCache(fromCache);
+        
+        performanceWriter.submit(performance);
+        performanceAggregates.record(performance, numberOfDisks);
+    }
+    
+    private GameRound newGameRound(int numberOfDisks, int numberOfPegs, int correctMinimumMoves,
+                                   String correctMoveSequence) {
+        GameRound gameRound = new GameRound();
+        gameRound.setNumberOfDisks(numberOfDisks);
+        gameRound.setNumberOfPegs(numberOfPegs);
+        gameRound.setCorrectMinimumMoves(correctMinimumMoves);
+        gameRound.setCorrectMoveSequence(correctMoveSequence);
+        return gameRound;
+    }
+    
     /**
      * Execute both 3-peg algorithms
      */
-    private List<AlgorithmExecutionResult> executeThreePegAlgorithms(int numberOfDisks) {
-        List<AlgorithmExecutionResult> results = new ArrayList<>();
+    private List<AlgorithmExecutionResult> executeThreePegAlgorithms(int numberOfDisks, boolean bypassCache) {
         
         // ========== DEBUG LOGGING ==========
         System.out.println("executeThreePegAlgorithms called with numberOfDisks: " + numberOfDisks);
         // ===================================
         
-        // Algorithm 1: Recursive
-        AlgorithmExecutionResult result1 = executeAlgorithm(
-            () -> threePegRecursive.solve(numberOfDisks),
-            threePegRecursive.getMinimumMoves(numberOfDisks),
-            threePegRecursive.getAlgorithmName()
-        );
-        results.add(result1);
+        // Both algorithms run at the same time on the shared solver pool
+        List<AlgorithmExecutionResult> results = solverExecutor.invokeAll(List.of(
+            () -> executeAlgorithm(
+                () -> threePegRecursive.solvePacked(numberOfDisks),
+                3,
+                numberOfDisks,
+                threePegRecursive.getMinimumMoves(numberOfDisks),
+                threePegRecursive.getAlgorithmName(),
+                bypassCache
+            ),
+            () -> executeAlgorithm(
+                () -> PackedMoves.fromMoveList(threePegIterative.solve(numberOfDisks)),
+                3,
+                numberOfDisks,
+                threePegIterative.getMinimumMoves(numberOfDisks),
+                threePegIterative.getAlgorithmName(),
+                bypassCache
+            )
+        ));
+        AlgorithmExecutionResult result1 = results.get(0);
+        AlgorithmExecutionResult result2 = results.get(1);
         
         // ========== DEBUG LOGGING ==========
         System.out.println("3-Peg Recursive completed:");
         System.out.println("  getMinimumMoves(" + numberOfDisks + ") returned: " + threePegRecursive.getMinimumMoves(numberOfDisks));
         System.out.println("  solve(" + numberOfDisks + ") generated: " + result1.getMoves().size() + " moves");
-        // ===================================
-        
-        // Algorithm 2: Iterative
-        AlgorithmExecutionResult result2 = executeAlgorithm(
-            () -> threePegIterative.solve(numberOfDisks),
-            threePegIterative.getMinimumMoves(numberOfDisks),
-            threePegIterative.getAlgorithmName()
-        );
-        results.add(result2);
-        
-        // ========== DEBUG LOGGING ==========
         System.out.println("3-Peg Iterative completed:");
         System.out.println("  getMinimumMoves(" + numberOfDisks + ") returned: " + threePegIterative.getMinimumMoves(numberOfDisks));
         System.out.println("  solve(" + numberOfDisks + ") generated: " + result2.getMoves().size() + " moves");
@@ -157,36 +282,38 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
     /**
      * Execute both 4-peg algorithms
      */
-    private List<AlgorithmExecutionResult> executeFourPegAlgorithms(int numberOfDisks) {
-        List<AlgorithmExecutionResult> results = new ArrayList<>();
+    private List<AlgorithmExecutionResult> executeFourPegAlgorithms(int numberOfDisks, boolean bypassCache) {
         
         // ========== DEBUG LOGGING ==========
         System.out.println("executeFourPegAlgorithms called with numberOfDisks: " + numberOfDisks);
         // ===================================
         
-        // Algorithm 1: Frame-Stewart
-        AlgorithmExecutionResult result1 = executeAlgorithm(
-            () -> fourPegFrameStewart.solve(numberOfDisks),
-            fourPegFrameStewart.getMinimumMoves(numberOfDisks),
-            fourPegFrameStewart.getAlgorithmName()
-        );
-        results.add(result1);
+        // Both algorithms run at the same time on the shared solver pool
+        List<AlgorithmExecutionResult> results = solverExecutor.invokeAll(List.of(
+            () -> executeAlgorithm(
+                () -> fourPegFrameStewart.solvePacked(numberOfDisks),
+                4,
+                numberOfDisks,
+                fourPegFrameStewart.getMinimumMoves(numberOfDisks),
+                fourPegFrameStewart.getAlgorithmName(),
+                bypassCache
+            ),
+            () -> executeAlgorithm(
+                () -> PackedMoves.fromMoveList(fourPegOptimized.solve(numberOfDisks)),
+                4,
+                numberOfDisks,
+                fourPegOptimized.getMinimumMoves(numberOfDisks),
+                fourPegOptimized.getAlgorithmName(),
+                bypassCache
+            )
+        ));
+        AlgorithmExecutionResult result1 = results.get(0);
+        AlgorithmExecutionResult result2 = results.get(1);
         
         // ========== DEBUG LOGGING ==========
         System.out.println("4-Peg Frame-Stewart completed:");
         System.out.println("  getMinimumMoves(" + numberOfDisks + ") returned: " + fourPegFrameStewart.getMinimumMoves(numberOfDisks));
         System.out.println("  solve(" + numberOfDisks + ") generated: " + result1.getMoves().size() + " moves");
-        // ===================================
-        
-        // Algorithm 2: Optimized
-        AlgorithmExecutionResult result2 = executeAlgorithm(
-            () -> fourPegOptimized.solve(numberOfDisks),
-            fourPegOptimized.getMinimumMoves(numberOfDisks),
-            fourPegOptimized.getAlgorithmName()
-        );
-        results.add(result2);
-        
-        // ========== DEBUG LOGGING ==========
         System.out.println("4-Peg Optimized completed:");
         System.out.println("  getMinimumMoves(" + numberOfDisks + ") returned: " + fourPegOptimized.getMinimumMoves(numberOfDisks));
         System.out.println("  solve(" + numberOfDisks + ") generated: " + result2.getMoves().size() + " moves");
@@ -195,28 +322,67 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
         return results;
     }
     
-    //Execute an algorithm and measure time
+    //Execute an algorithm (or take its cached solution) and measure time
     private AlgorithmExecutionResult executeAlgorithm(
             AlgorithmExecutor executor, 
+            int numberOfPegs,
+            int numberOfDisks,
             int minimumMoves, 
-            String algorithmName) {
-        
-        long startTime = System.nanoTime();
-        List<String> moves = executor.execute();
-        long endTime = System.nanoTime();
-        
-        long executionTime = endTime - startTime;
+            String algorithmName,
+            boolean bypassCache) {
+        
+        // Set only when this call ran the solver; a cache hit leaves it null
+        AtomicReference<SolutionCache.CachedSolution> fresh = new AtomicReference<>();
+        SolutionCache.CachedSolution solution = bypassCache
+            ? solveAndTime(executor, minimumMoves)
+            : solutionCache.get(algorithmName, numberOfPegs, numberOfDisks, () -> {
+                SolutionCache.CachedSolution solved = solveAndTime(executor, minimumMoves);
+                fresh.set(solved);
+                return solved;
+            });
+        if (bypassCache) {
+            fresh.set(solution);
+        } else if (fresh.get() != null) {
+            // Two concurrent misses may both solve; report this call's own timing
+            solution = fresh.get();
+        }
         
-        log.info("{}: {} moves in {} ns", algorithmName, moves.size(), executionTime);
+        log.info("{}: {} moves in {} ns{}", algorithmName, solution.getMoves().size(),
+                 solution.getSolveTimeNanos(), bypassCache ? " (cache bypassed)" : fresh.get() == null ? " (cached)" : "");
         
         return AlgorithmExecutionResult.builder()
             .algorithmName(algorithmName)
-            .moves(moves)
-            .minimumMoves(minimumMoves)
-            .executionTimeNanos(executionTime)
+            .moves(solution.getMoves())
+            .minimumMoves(solution.getMinimumMoves())
+            .executionTimeNanos(solution.getSolveTimeNanos())
+            .solved(fresh.get() != null)
             .build();
     }
     
+    //Request path: time the one solve that produces the moves
+    private SolutionCache.CachedSolution solveAndTime(AlgorithmExecutor executor, int minimumMoves) {
+        long startTime = System.nanoTime();
+        PackedMoves moves = executor.execute();
+        long solveTimeNanos = System.nanoTime() - startTime;
+        
+        return new SolutionCache.CachedSolution(moves, minimumMoves, solveTimeNanos);
+    }
+    
+    //Startup warm-up: cache the moves with a warmed-up median time, off the request path
+    private void warmAlgorithm(
+            AlgorithmExecutor executor, 
+            int numberOfPegs,
+            int numberOfDisks,
+            int minimumMoves, 
+            String algorithmName) {
+        
+        solutionCache.get(algorithmName, numberOfPegs, numberOfDisks, () -> {
+            PackedMoves moves = executor.execute();
+            BenchmarkRunner.BenchmarkStatistics statistics = benchmarkRunner.run(algorithmName, executor::execute);
+            return new SolutionCache.CachedSolution(moves, minimumMoves, statistics.getMedianNanos());
+        });
+    }
+    
     /**
      * Build response for game start
      */
@@ -238,7 +404,8 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
                 .minimumMoves(result.getMinimumMoves())
                 .executionTimeNanos(result.getExecutionTimeNanos())
                 .executionTimeMillis(result.getExecutionTimeNanos() / 1_000_000.0)
-                .moveSequence(String.join(", ", result.getMoves()))
+                .moveSequence(result.getMoves().toSequence())
+                .cached(!result.isSolved())
                 .build();
             
             if (i == 0) responseBuilder.algorithm1Result(algorithmResult);
@@ -250,8 +417,8 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
         return responseBuilder.build();
     }
     
+    // Not transactional: one read of the round, and the answer insert is queued
     @Override
-    @Transactional
     public PlayerAnswerResponse submitAnswer(PlayerAnswerRequest request) {
         log.info("Submitting answer for game round {} by player {}", 
                  request.getGameRoundId(), request.getPlayerName());
@@ -274,11 +441,16 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
         // Step 2: Check if answer is correct
         boolean isCorrect = gameRound.getCorrectMinimumMoves().equals(request.getPlayerMinimumMoves());
         
-        // Step 3: Validate move sequence (basic validation)
-        boolean sequenceValid = validateMoveSequence(
+        // Step 3: Validate move sequence (basic validation) and pack it once
+        CompactMoves playerMoves = parseMoveSequence(
             request.getPlayerMoveSequence(), 
             request.getPlayerMinimumMoves()
         );
+        boolean sequenceValid = playerMoves != null;
+        boolean matchesCorrectSequence = sequenceValid && gameRound.getCorrectMoveSequence() != null
+            && playerMoves.sameMoves(CompactMoves.parse(gameRound.getCorrectMoveSequence()));
+        MoveDivergence firstDivergence = matchesCorrectSequence ? null
+            : findDivergence(gameRound, request.getPlayerMoveSequence());
         
         // Step 4: Determine result
         String result;
@@ -293,11 +465,11 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
             playerAnswer.setPlayerName(request.getPlayerName());
             playerAnswer.setGameRoundId(request.getGameRoundId());
             playerAnswer.setPlayerMinimumMoves(request.getPlayerMinimumMoves());
-            playerAnswer.setPlayerMoveSequence(request.getPlayerMoveSequence());
+            playerAnswer.setPlayerMoveSequence(playerMoves);
             playerAnswer.setIsCorrect(true);
             
-            playerAnswerRepository.save(playerAnswer);
-            log.info("Saved correct answer for player {}", request.getPlayerName());
+            playerAnswerWriter.submit(playerAnswer);
+            log.info("Queued correct answer for player {}", request.getPlayerName());
             
         } else if (request.getPlayerMinimumMoves().equals(gameRound.getCorrectMinimumMoves())) {
             result = "DRAW";
@@ -317,116 +489,366 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
             .correctMoveSequence(gameRound.getCorrectMoveSequence())
             .playerMinimumMoves(request.getPlayerMinimumMoves())
             .playerMoveSequence(request.getPlayerMoveSequence())
+            .matchesCorrectSequence(matchesCorrectSequence)
+            .firstDivergence(firstDivergence)
             .build();
     }
     
-    //move sequence validation
-    private boolean validateMoveSequence(String sequence, int expectedMoves) {
-        if (sequence == null || sequence.trim().isEmpty()) {
-            return false;
+    //streams the player's text against the optimal sequence for this round
+    private MoveDivergence findDivergence(GameRound gameRound, String playerMoveSequence) {
+        if (gameRound.getNumberOfDisks() == null || gameRound.getNumberOfPegs() == null) {
+            return null;
         }
         
-        String[] moves = sequence.split(",");
-        
-        // Check if number of moves matches
-        if (moves.length != expectedMoves) {
-            return false;
+        SequenceDiffEngine.Divergence divergence = sequenceDiffEngine.firstDivergence(
+            gameRound.getNumberOfDisks(), gameRound.getNumberOfPegs(), playerMoveSequence);
+        if (divergence == null) {
+            return null;
         }
         
-        // Check format of each move (A->B, etc.)
-        for (String move : moves) {
-            String trimmed = move.trim();
-            if (!trimmed.matches("[A-D]->[A-D]")) {
-                return false;
+        List<List<Integer>> pegs = new ArrayList<>();
+        for (int[] peg : divergence.getPegs()) {
+            List<Integer> disks = new ArrayList<>(peg.length);
+            for (int disk : peg) {
+                disks.add(disk + 1);
             }
+            pegs.add(disks);
+        }
+        
+        return MoveDivergence.builder()
+            .index(divergence.getIndex())
+            .expectedMove(divergence.getExpectedMove())
+            .actualMove(divergence.getActualMove())
+            .pegs(pegs)
+            .build();
+    }
+    
+    //packed move sequence, or null if it is malformed or has the wrong number of moves
+    private CompactMoves parseMoveSequence(String sequence, int expectedMoves) {
+        if (sequence == null || sequence.trim().isEmpty()) {
+            return null;
+        }
+        
+        // Checks the format of each move (A->B, etc.) while packing
+        CompactMoves moves;
+        try {
+            moves = CompactMoves.parse(sequence);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
         
-        return true;
+        // Check if number of moves matches
+        return moves.size() == expectedMoves ? moves : null;
     }
     
+    // Served from the in-memory aggregates, or from SQL aggregates until their startup seed is done
     @Override
     public List<PerformanceStatsResponse> getPerformanceStats() {
-        List<AlgorithmPerformance> allPerformances = algorithmPerformanceRepository.findAll();
-        
-        Map<String, List<AlgorithmPerformance>> groupedByAlgorithm = allPerformances.stream()
-            .collect(Collectors.groupingBy(AlgorithmPerformance::getAlgorithmName));
+        if (!performanceAggregates.isReady()) {
+            // One grouped query covers every algorithm's aggregates
+            Map<String, List<PerformanceAggregateView>> aggregatesByAlgorithm = 
+                algorithmPerformanceRepository.aggregateByAlgorithmAndDisks().stream()
+                    .collect(Collectors.groupingBy(PerformanceAggregateView::getAlgorithmName, 
+                                                   LinkedHashMap::new, Collectors.toList()));
+            
+            return aggregatesByAlgorithm.entrySet().stream()
+                .map(entry -> buildPerformanceStats(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        }
         
-        return groupedByAlgorithm.entrySet().stream()
-            .map(entry -> buildPerformanceStats(entry.getKey(), entry.getValue()))
+        return performanceAggregates.getAlgorithmNames().stream()
+            .map(this::getPerformanceStatsByAlgorithm)
             .collect(Collectors.toList());
     }
     
     @Override
     public PerformanceStatsResponse getPerformanceStatsByAlgorithm(String algorithmName) {
-        List<AlgorithmPerformance> performances = 
-            algorithmPerformanceRepository.findByAlgorithmName(algorithmName);
+        if (!performanceAggregates.isReady()) {
+            return buildPerformanceStats(algorithmName,
+                algorithmPerformanceRepository.aggregateByDisksForAlgorithm(algorithmName));
+        }
+        return buildPerformanceStats(algorithmName, performanceAggregates.snapshot(algorithmName));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PerformanceRecordPageResponse getPerformanceRecords(String algorithmName, Long afterId, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_RECORD_PAGE_SIZE 
+            : Math.max(1, Math.min(limit, MAX_RECORD_PAGE_SIZE));
+        
+        // Fetch one extra row to know whether another page exists
+        List<PerformanceRecordView> rows = algorithmPerformanceRepository.findRecordsAfter(
+            algorithmName, afterId == null ? 0L : afterId, PageRequest.ofSize(pageSize + 1));
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<PerformanceRecordView> page = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        List<PerformanceStatsResponse.PerformanceRecord> records = new ArrayList<>(page.size());
+        for (PerformanceRecordView row : page) {
+            records.add(PerformanceStatsResponse.PerformanceRecord.builder()
+                .gameRoundId(row.getGameRoundId())
+                .numberOfDisks(row.getNumberOfDisks())
+                .minimumMoves(row.getMinimumMoves())
+                .executionTimeNanos(row.getExecutionTimeNanos())
+                .executionTimeMillis(row.getExecutionTimeNanos() / 1_000_000.0)
+                .build());
+        }
         
-        return buildPerformanceStats(algorithmName, performances);
+        return PerformanceRecordPageResponse.builder()
+            .algorithmName(algorithmName)
+            .records(records)
+            .nextCursor(hasMore ? page.get(page.size() - 1).getId() : null)
+            .build();
     }
     
     /**
-     * Build performance statistics response
+     * Build performance statistics response from per-disk-count SQL aggregates
+     * plus the first page of records
      */
     private PerformanceStatsResponse buildPerformanceStats(
             String algorithmName, 
-            List<AlgorithmPerformance> performances) {
+            List<PerformanceAggregateView> aggregates) {
         
-        if (performances.isEmpty()) {
+        if (aggregates.isEmpty()) {
             return PerformanceStatsResponse.builder()
                 .algorithmName(algorithmName)
                 .records(new ArrayList<>())
+                .diskStats(new ArrayList<>())
+                .totalRuns(0L)
                 .build();
         }
         
-        List<PerformanceStatsResponse.PerformanceRecord> records = new ArrayList<>();
-        
-        for (AlgorithmPerformance perf : performances) {
-            GameRound gameRound = gameRoundRepository.findById(perf.getGameRoundId())
-                .orElse(null);
+        long totalRuns = 0;
+        double totalNanos = 0;
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        List<PerformanceStatsResponse.DiskStats> diskStats = new ArrayList<>();
+        
+        for (PerformanceAggregateView aggregate : aggregates) {
+            totalRuns += aggregate.getRuns();
+            totalNanos += aggregate.getAverageExecutionTimeNanos() * aggregate.getRuns();
+            minTime = Math.min(minTime, aggregate.getMinExecutionTimeNanos());
+            maxTime = Math.max(maxTime, aggregate.getMaxExecutionTimeNanos());
             
-            if (gameRound != null) {
-                records.add(PerformanceStatsResponse.PerformanceRecord.builder()
-                    .gameRoundId(perf.getGameRoundId())
-                    .numberOfDisks(gameRound.getNumberOfDisks())
-                    .minimumMoves(perf.getMinimumMoves())
-                    .executionTimeNanos(perf.getExecutionTimeNanos())
-                    .executionTimeMillis(perf.getExecutionTimeNanos() / 1_000_000.0)
-                    .build());
-            }
+            diskStats.add(PerformanceStatsResponse.DiskStats.builder()
+                .numberOfDisks(aggregate.getNumberOfDisks())
+                .runs(aggregate.getRuns())
+                .averageExecutionTimeMillis(aggregate.getAverageExecutionTimeNanos() / 1_000_000.0)
+                .minExecutionTimeNanos(aggregate.getMinExecutionTimeNanos())
+                .maxExecutionTimeNanos(aggregate.getMaxExecutionTimeNanos())
+                .build());
         }
         
-        // Calculate statistics
-        double avgTime = records.stream()
-            .mapToDouble(PerformanceStatsResponse.PerformanceRecord::getExecutionTimeMillis)
-            .average()
-            .orElse(0.0);
+        PerformanceRecordPageResponse firstPage = getPerformanceRecords(algorithmName, null, DEFAULT_RECORD_PAGE_SIZE);
         
-        long minTime = records.stream()
-            .mapToLong(PerformanceStatsResponse.PerformanceRecord::getExecutionTimeNanos)
-            .min()
-            .orElse(0L);
+        return PerformanceStatsResponse.builder()
+            .algorithmName(algorithmName)
+            .numberOfPegs(aggregates.get(0).getNumberOfPegs())
+            .records(firstPage.getRecords())
+            .nextCursor(firstPage.getNextCursor())
+            .averageExecutionTimeMillis(totalNanos / totalRuns / 1_000_000.0)
+            .minExecutionTimeNanos(minTime)
+            .maxExecutionTimeNanos(maxTime)
+            .totalRuns(totalRuns)
+            .diskStats(diskStats)
+            .build();
+    }
+    
+    /**
+     * Build performance statistics response from an aggregates snapshot
+     */
+    private PerformanceStatsResponse buildPerformanceStats(
+            String algorithmName, 
+            PerformanceAggregates.AlgorithmSnapshot snapshot) {
         
-        long maxTime = records.stream()
-            .mapToLong(PerformanceStatsResponse.PerformanceRecord::getExecutionTimeNanos)
-            .max()
-            .orElse(0L);
+        if (snapshot == null) {
+            return PerformanceStatsResponse.builder()
+                .algorithmName(algorithmName)
+                .records(new ArrayList<>())
+                .diskStats(new ArrayList<>())
+                .totalRuns(0L)
+                .build();
+        }
+        
+        List<PerformanceStatsResponse.DiskStats> diskStats = new ArrayList<>();
+        snapshot.getByDisks().forEach((numberOfDisks, stats) ->
+            diskStats.add(PerformanceStatsResponse.DiskStats.builder()
+                .numberOfDisks(numberOfDisks)
+                .runs(stats.getCount())
+                .averageExecutionTimeMillis(stats.getMeanNanos() / 1_000_000.0)
+                .minExecutionTimeNanos(stats.getMinNanos())
+                .maxExecutionTimeNanos(stats.getMaxNanos())
+                .medianExecutionTimeNanos(stats.percentile(0.50))
+                .p90ExecutionTimeNanos(stats.percentile(0.90))
+                .p99ExecutionTimeNanos(stats.percentile(0.99))
+                .build()));
         
+        List<PerformanceStatsResponse.PerformanceRecord> records = new ArrayList<>();
+        for (PerformanceAggregates.RecentRun run : snapshot.getRecentRuns()) {
+            records.add(PerformanceStatsResponse.PerformanceRecord.builder()
+                .gameRoundId(run.getGameRoundId())
+                .numberOfDisks(run.getNumberOfDisks())
+                .minimumMoves(run.getMinimumMoves())
+                .executionTimeNanos(run.getExecutionTimeNanos())
+                .executionTimeMillis(run.getExecutionTimeNanos() / 1_000_000.0)
+                .build());
+        }
+        
+        PerformanceAggregates.RollingStats overall = snapshot.getOverall();
         return PerformanceStatsResponse.builder()
             .algorithmName(algorithmName)
-            .numberOfPegs(performances.get(0).getNumberOfPegs())
+            .numberOfPegs(snapshot.getNumberOfPegs())
             .records(records)
-            .averageExecutionTimeMillis(avgTime)
-            .minExecutionTimeNanos(minTime)
-            .maxExecutionTimeNanos(maxTime)
+            .averageExecutionTimeMillis(overall.getMeanNanos() / 1_000_000.0)
+            .minExecutionTimeNanos(overall.getMinNanos())
+            .maxExecutionTimeNanos(overall.getMaxNanos())
+            .medianExecutionTimeNanos(overall.percentile(0.50))
+            .p90ExecutionTimeNanos(overall.percentile(0.90))
+            .p99ExecutionTimeNanos(overall.percentile(0.99))
+            .totalRuns(overall.getCount())
+            .diskStats(diskStats)
+            .build();
+    }
+    
+    @Override
+    public BenchmarkResponse runBenchmark(BenchmarkRequest request) {
+        int numberOfDisks = request.getNumberOfDisks();
+        int warmup = request.getWarmupIterations() != null
+            ? request.getWarmupIterations() : benchmarkRunner.getWarmupIterations();
+        int iterations = request.getMeasurementIterations() != null
+            ? request.getMeasurementIterations() : benchmarkRunner.getMeasurementIterations();
+        
+        log.info("Benchmarking {}-peg algorithms for {} disks ({} warmup, {} measured)",
+                 request.getNumberOfPegs(), numberOfDisks, warmup, iterations);
+        
+        // Solvers are called as a game calls them, but directly, so the solution cache is never involved
+        List<BenchmarkResponse.AlgorithmBenchmark> results = new ArrayList<>();
+        if (request.getNumberOfPegs() == 3) {
+            results.add(benchmarkAlgorithm(() -> threePegRecursive.solvePacked(numberOfDisks),
+                threePegRecursive.getMinimumMoves(numberOfDisks), threePegRecursive.getAlgorithmName(),
+                warmup, iterations));
+            results.add(benchmarkAlgorithm(() -> PackedMoves.fromMoveList(threePegIterative.solve(numberOfDisks)),
+                threePegIterative.getMinimumMoves(numberOfDisks), threePegIterative.getAlgorithmName(),
+                warmup, iterations));
+        } else {
+            results.add(benchmarkAlgorithm(() -> fourPegFrameStewart.solvePacked(numberOfDisks),
+                fourPegFrameStewart.getMinimumMoves(numberOfDisks), fourPegFrameStewart.getAlgorithmName(),
+                warmup, iterations));
+            results.add(benchmarkAlgorithm(() -> PackedMoves.fromMoveList(fourPegOptimized.solve(numberOfDisks)),
+                fourPegOptimized.getMinimumMoves(numberOfDisks), fourPegOptimized.getAlgorithmName(),
+                warmup, iterations));
+        }
+        
+        return BenchmarkResponse.builder()
+            .numberOfPegs(request.getNumberOfPegs())
+            .numberOfDisks(numberOfDisks)
+            .warmupIterations(warmup)
+            .measurementIterations(iterations)
+            .results(results)
+            .build();
+    }
+    
+    private BenchmarkResponse.AlgorithmBenchmark benchmarkAlgorithm(
+            AlgorithmExecutor executor, 
+            int minimumMoves, 
+            String algorithmName,
+            int warmup,
+            int iterations) {
+        
+        BenchmarkRunner.BenchmarkStatistics statistics =
+            benchmarkRunner.run(algorithmName, executor::execute, warmup, iterations);
+        
+        return BenchmarkResponse.AlgorithmBenchmark.builder()
+            .algorithmName(algorithmName)
+            .minimumMoves(minimumMoves)
+            .samples(statistics.getSamples())
+            .outliersRemoved(statistics.getOutliersRemoved())
+            .medianNanos(statistics.getMedianNanos())
+            .meanNanos(statistics.getMeanNanos())
+            .p90Nanos(statistics.getP90Nanos())
+            .p99Nanos(statistics.getP99Nanos())
+            .minNanos(statistics.getMinNanos())
+            .maxNanos(statistics.getMaxNanos())
+            .medianMillis(statistics.getMedianNanos() / 1_000_000.0)
+            .build();
+    }
+    
+    @Override
+    public HintResponse getHint(HintRequest request) {
+        int numberOfPegs = request.getNumberOfPegs();
+        int[] config = toConfiguration(numberOfPegs, request.getPegs());
+        
+        HintEngine.Hint hint;
+        try {
+            hint = hintEngine.nextMove(numberOfPegs, config);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException(e.getMessage());
+        }
+        
+        if (hint.isSolved()) {
+            return HintResponse.builder()
+                .solved(true)
+                .remainingMoves(0L)
+                .build();
+        }
+        
+        return HintResponse.builder()
+            .solved(false)
+            .disk(hint.getDisk() + 1)
+            .fromPeg(String.valueOf(FrameStewartEngine.pegName(hint.getFromPeg())))
+            .toPeg(String.valueOf(FrameStewartEngine.pegName(hint.getToPeg())))
+            .move(FrameStewartEngine.moveName(hint.getFromPeg(), hint.getToPeg()))
+            .remainingMoves(hint.getRemainingMoves())
             .build();
     }
     
+    /**
+     * Convert peg stacks (bottom to top, disks 1..n) into the peg of each disk,
+     * checking every disk appears once and no disk sits on a smaller one
+     */
+    private int[] toConfiguration(int numberOfPegs, List<List<Integer>> pegs) {
+        if (pegs.size() != numberOfPegs) {
+            throw new InvalidConfigurationException(
+                String.format("Expected %d pegs but got %d", numberOfPegs, pegs.size()));
+        }
+        
+        int numberOfDisks = 0;
+        for (List<Integer> peg : pegs) {
+            if (peg == null) {
+                throw new InvalidConfigurationException("Peg list cannot be null");
+            }
+            numberOfDisks += peg.size();
+        }
+        
+        int[] config = new int[numberOfDisks];
+        Arrays.fill(config, -1);
+        for (int peg = 0; peg < numberOfPegs; peg++) {
+            int below = Integer.MAX_VALUE;
+            for (Integer disk : pegs.get(peg)) {
+                if (disk == null || disk < 1 || disk > numberOfDisks) {
+                    throw new InvalidConfigurationException(
+                        "Disks must be numbered from 1 to " + numberOfDisks);
+                }
+                if (config[disk - 1] != -1) {
+                    throw new InvalidConfigurationException("Disk " + disk + " appears more than once");
+                }
+                if (disk > below) {
+                    throw new InvalidConfigurationException(
+                        String.format("Disk %d is on top of smaller disk %d", disk, below));
+                }
+                config[disk - 1] = peg;
+                below = disk;
+            }
+        }
+        return config;
+    }
+    
     /**
      * Functional interface for algorithm execution
      */
     @FunctionalInterface
     private interface AlgorithmExecutor {
-        List<String> execute();
+        PackedMoves execute();
     }
     
     /**
@@ -436,8 +858,10 @@ public class TowerOfHanoiServiceImpl implements TowerOfHanoiService {
     @lombok.Builder
     private static class AlgorithmExecutionResult {
         private String algorithmName;
-        private List<String> moves;
+        private PackedMoves moves;
         private int minimumMoves;
         private long executionTimeNanos;
+        // false when the moves and time came from the solution cache
+        private boolean solved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.pdsa.towerofhanoi.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue drained by one background thread that hands items to a
+ * flusher in batches. A batch is flushed when it reaches batchSize or when
+ * flushIntervalMillis has passed since its first item.
+ *
+ * Backpressure: when the queue is full, submit() waits up to offerTimeoutMillis
+ * and then writes the item on the caller's thread, so nothing is dropped.
+ * close() stops accepting background work and drains what is left.
+ *
+ * Write failures: a failed batch is retried with a short backoff, then written
+ * one item at a time so a single bad row cannot sink the rest. Only an item
+ * that still fails on its own is given up on; it is logged in full and counted
+ * in failed(). Retrying repeats every item of the batch, so the flusher must
+ * write a batch all or nothing; the writers run it in a transaction.
+ */
+@Slf4j
+public class WriteBehindQueue<T> implements AutoCloseable {
+    
+    // Longest the worker blocks before re-checking for close()
+    private static final long WAKE_UP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    
+    // Whole-batch attempts before falling back to single items; the wait doubles each time
+    private static final int BATCH_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 50;
+    
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final Consumer<List<T>> flusher;
+    private final Thread worker;
+    
+    private final AtomicLong failed = new AtomicLong();
+    
+    private volatile boolean running = true;
+    
+    public WriteBehindQueue(String name, int capacity, int batchSize, long flushIntervalMillis,
+                            long offerTimeoutMillis, Consumer<List<T>> flusher) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.flusher = flusher;
+        this.worker = new Thread(this::drainLoop, name + "-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+    
+    
+    public void submit(T item) {
+        try {
+            if (running && queue.offer(item, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // Queue full (or closed): write on the caller's thread instead of dropping
+        log.warn("{} queue full, writing on caller thread", name);
+        flushBatch(List.of(item));
+    }
+    
+    public int pending() {
+        return queue.size();
+    }
+    
+    // Items given up on after every retry
+    public long failed() {
+        return failed.get();
+    }
+    
+    private void drainLoop() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(Math.min(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis), WAKE_UP_NANOS),
+                                     TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    T next = queue.poll(Math.min(remaining, WAKE_UP_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                
+                flushBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!batch.isEmpty()) {
+            flushBatch(batch);
+        }
+    }
+    
+    private void flushBatch(List<T> batch) {
+        long backoffMillis = RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flusher.accept(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == BATCH_ATTEMPTS || !sleep(backoffMillis)) {
+                    log.warn("{} failed to write batch of {} items after {} attempts, writing one by one: {}",
+                             name, batch.size(), attempt, e.getMessage());
+                    break;
+                }
+                log.debug("{} batch write failed (attempt {}), retrying: {}", name, attempt, e.getMessage());
+                backoffMillis *= 2;
+            }
+        }
+        
+        for (T item : batch) {
+            try {
+                flusher.accept(List.of(item));
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.error("{} dropped item after retries: {}", name, item, e);
+            }
+        }
+    }
+    
+    //false if interrupted, with the interrupt flag restored
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    @Override
+    public void close() {
+        // Not interrupted: the worker may be mid-write, and it notices running
+        // within WAKE_UP_NANOS
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // Anything the worker could not get to is written here
+        List<T> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flushBatch(remaining);
+        }
+        log.info("{} queue closed", name);
+    }
+}
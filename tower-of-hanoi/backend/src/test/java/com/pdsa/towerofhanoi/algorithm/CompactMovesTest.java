@@ -0,0 +1,96 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compact Moves Tests")
+class CompactMovesTest {
+
+    @Test
+    @DisplayName("Test parse and toSequence round trip")
+    void testParseRoundTrip() {
+        String sequence = "A->C, A->B, C->B, A->C, B->A, B->C, A->C, D->A, C->D";
+
+        CompactMoves moves = CompactMoves.parse(sequence);
+
+        assertEquals(9, moves.size());
+        assertEquals(0, moves.fromPeg(0));
+        assertEquals(2, moves.toPeg(0));
+        assertEquals(sequence, moves.toSequence());
+        assertEquals(sequence, CompactMoves.parse(" A->C ,A->B,C->B, A->C,B->A,  B->C,A->C,D->A,C->D ").toSequence());
+    }
+
+    @Test
+    @DisplayName("Test optimal sequences encode to about a twelfth of their text")
+    void testEncodeRoundTripAndSize() {
+        for (int n = 1; n <= 12; n++) {
+            PackedMoves solution = PackedMoves.fromMoveList(new ThreePegRecursive().solve(n));
+            String text = solution.toSequence();
+            CompactMoves moves = CompactMoves.parse(text);
+
+            byte[] encoded = moves.encode();
+            CompactMoves decoded = CompactMoves.decode(encoded);
+
+            assertTrue(decoded.sameMoves(moves), n + " disks");
+            assertEquals(text, decoded.toSequence());
+            assertTrue(moves.sameMoves(CompactMoves.of(solution)));
+            if (n >= 6) {
+                assertTrue(encoded.length * 10 < text.getBytes(StandardCharsets.UTF_8).length,
+                    n + " disks: " + encoded.length + " bytes");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test long runs use run-length encoding")
+    void testRunLengthEncoding() {
+        String[] moves = new String[1000];
+        Arrays.fill(moves, "A->B");
+        moves[500] = "B->C";
+        CompactMoves runs = CompactMoves.parse(String.join(", ", moves));
+
+        byte[] encoded = runs.encode();
+
+        assertTrue(encoded.length < 80, encoded.length + " bytes");
+        assertTrue(CompactMoves.decode(encoded).sameMoves(runs));
+        assertEquals(1, CompactMoves.decode(encoded).fromPeg(500));
+    }
+
+    @Test
+    @DisplayName("Test comparison finds the first differing move")
+    void testComparison() {
+        CompactMoves base = CompactMoves.parse("A->B, A->C, B->C, A->B, C->A, C->B, A->B, A->C, B->C, B->A, "
+            + "C->A, B->C, A->B, A->C, B->C, A->B, C->A");
+        CompactMoves changed = CompactMoves.parse(base.toSequence().replaceFirst("B->A", "B->D"));
+
+        assertTrue(base.sameMoves(CompactMoves.parse(base.toSequence())));
+        assertEquals(base, CompactMoves.parse(base.toSequence()));
+        assertEquals(-1, base.firstDifference(CompactMoves.parse(base.toSequence())));
+        assertFalse(base.sameMoves(changed));
+        assertEquals(9, base.firstDifference(changed));
+
+        CompactMoves prefix = CompactMoves.parse("A->B, A->C, B->C");
+        assertFalse(base.sameMoves(prefix));
+        assertEquals(3, base.firstDifference(prefix));
+        assertEquals(3, prefix.firstDifference(base));
+    }
+
+    @Test
+    @DisplayName("Test malformed input is rejected")
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.parse("   "));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.parse("A->E"));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.parse("A-B"));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.parse("A->B C->D"));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.parse("A->B,"));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.decode(new byte[] {0, 10, 0x12}));
+        assertThrows(IllegalArgumentException.class, () -> CompactMoves.decode(new byte[] {7, 1, 0}));
+    }
+}
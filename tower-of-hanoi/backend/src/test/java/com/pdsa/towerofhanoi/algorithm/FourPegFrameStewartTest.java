@@ -103,4 +103,12 @@ class FourPegFrameStewartTest {
                     fourPegMoves, threePegMoves, n));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test packed solve gives the same moves for every game disk count")
+    void testSolvePackedMatchesSolve() {
+        for (int n = 5; n <= 10; n++) {
+            assertEquals(algorithm.solve(n), algorithm.solvePacked(n).toMoveList(), "Moves differ for " + n + " disks");
+        }
+    }
+}
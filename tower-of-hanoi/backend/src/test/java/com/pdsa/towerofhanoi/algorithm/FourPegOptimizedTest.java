@@ -4,6 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -101,4 +104,33 @@ class FourPegOptimizedTest {
                 String.format("4-peg optimized should be better than 3-peg for %d disks", n));
         }
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test moves are legal and match the minimum move count")
+    void testMovesAreLegal() {
+        for (int n = 1; n <= 12; n++) {
+            List<Deque<Integer>> towers = new ArrayList<>();
+            for (int p = 0; p < 4; p++) {
+                towers.add(new ArrayDeque<>());
+            }
+            for (int disk = n; disk >= 1; disk--) {
+                towers.get(0).push(disk);
+            }
+            
+            List<String> moves = algorithm.solve(n);
+            for (String move : moves) {
+                int from = move.charAt(0) - 'A';
+                int to = move.charAt(3) - 'A';
+                assertFalse(towers.get(from).isEmpty(), "Cannot move from an empty peg");
+                int disk = towers.get(from).pop();
+                if (!towers.get(to).isEmpty()) {
+                    assertTrue(towers.get(to).peek() > disk, "Cannot place a larger disk on a smaller one");
+                }
+                towers.get(to).push(disk);
+            }
+            
+            assertEquals(algorithm.getMinimumMoves(n), moves.size());
+            assertEquals(n, towers.get(3).size(), "All disks should end on peg D");
+        }
+    }
+}
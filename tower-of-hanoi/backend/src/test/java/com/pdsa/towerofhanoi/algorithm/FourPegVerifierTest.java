@@ -0,0 +1,71 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Four Peg Verifier Tests")
+class FourPegVerifierTest {
+
+    private final FourPegVerifier verifier = new FourPegVerifier();
+
+    @Test
+    @DisplayName("Test exhaustive BFS agrees with Frame-Stewart")
+    void testMatchesFrameStewart() {
+        FrameStewartEngine engine = new FrameStewartEngine();
+
+        for (int n = 1; n <= 10; n++) {
+            assertEquals(engine.getMinimumMoves(n, 4), verifier.optimalMoves(n), n + " disks");
+        }
+    }
+
+    @Test
+    @DisplayName("Test exhaustive BFS agrees with the bidirectional solver")
+    void testMatchesStateSpaceSolver() {
+        StateSpaceSolver solver = new StateSpaceSolver();
+
+        for (int n = 1; n <= 8; n++) {
+            int[] start = new int[n];
+            int[] goal = new int[n];
+            Arrays.fill(goal, 3);
+            assertEquals(solver.distance(4, start, goal), verifier.optimalMoves(n), n + " disks");
+        }
+    }
+
+    @Test
+    @DisplayName("Test parallel layers give the same counts")
+    void testParallelLayers() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            FourPegVerifier parallel = new FourPegVerifier(pool, 2);
+            for (int n = 1; n <= 9; n++) {
+                assertEquals(verifier.optimalMoves(n), parallel.optimalMoves(n), n + " disks");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test FourPegOptimized is not optimal from 6 disks")
+    void testOptimizedIsHeuristic() {
+        FourPegOptimized optimized = new FourPegOptimized();
+
+        for (int n = 1; n <= 5; n++) {
+            assertEquals(verifier.optimalMoves(n), optimized.getMinimumMoves(n), n + " disks");
+        }
+        assertTrue(optimized.getMinimumMoves(6) > verifier.optimalMoves(6));
+    }
+
+    @Test
+    @DisplayName("Test disk count bounds")
+    void testBounds() {
+        assertEquals(0, verifier.optimalMoves(0));
+        assertThrows(IllegalArgumentException.class, () -> verifier.optimalMoves(-1));
+        assertThrows(IllegalArgumentException.class, () -> verifier.optimalMoves(FourPegVerifier.MAX_DISKS + 1));
+    }
+}
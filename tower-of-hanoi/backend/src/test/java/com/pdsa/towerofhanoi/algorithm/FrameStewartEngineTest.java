@@ -0,0 +1,121 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Frame-Stewart Engine Tests")
+class FrameStewartEngineTest {
+
+    private FrameStewartEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new FrameStewartEngine();
+    }
+
+    @Test
+    @DisplayName("Test known 4-peg minimum moves")
+    void testKnownFourPegValues() {
+        long[] expected = {0, 1, 3, 5, 9, 13, 17, 25, 33, 41, 49, 65, 81, 97, 113, 129};
+
+        for (int n = 0; n < expected.length; n++) {
+            assertEquals(expected[n], engine.getMinimumMoves(n, 4), "4 pegs, " + n + " disks");
+        }
+    }
+
+    @Test
+    @DisplayName("Test 3 pegs matches 2^n - 1")
+    void testThreePegsClosedForm() {
+        for (int n = 0; n < 63; n++) {
+            assertEquals((1L << n) - 1, engine.getMinimumMoves(n, 3));
+        }
+    }
+
+    @Test
+    @DisplayName("Test generated move count equals reported minimum")
+    void testGeneratedCountMatchesMinimum() {
+        for (int pegs = 3; pegs <= 6; pegs++) {
+            for (int n = 1; n <= 12; n++) {
+                List<String> moves = engine.solve(n, pegs);
+                assertEquals(engine.getMinimumMoves(n, pegs), moves.size(),
+                    String.format("%d pegs, %d disks", pegs, n));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test generated moves are legal and finish on the last peg")
+    void testGeneratedMovesAreLegal() {
+        for (int pegs = 3; pegs <= 5; pegs++) {
+            int n = 9;
+            List<Deque<Integer>> towers = new ArrayList<>();
+            for (int p = 0; p < pegs; p++) {
+                towers.add(new ArrayDeque<>());
+            }
+            for (int disk = n; disk >= 1; disk--) {
+                towers.get(0).push(disk);
+            }
+
+            engine.generate(n, pegs, (from, to) -> {
+                assertFalse(towers.get(from).isEmpty(), "Cannot move from an empty peg");
+                int disk = towers.get(from).pop();
+                if (!towers.get(to).isEmpty()) {
+                    assertTrue(towers.get(to).peek() > disk, "Cannot place a larger disk on a smaller one");
+                }
+                towers.get(to).push(disk);
+            });
+
+            assertEquals(n, towers.get(pegs - 1).size(), "All disks should end on the last peg");
+        }
+    }
+
+    @Test
+    @DisplayName("Test large disk counts do not overflow")
+    void testLargeCountsUseExactArithmetic() {
+        assertEquals(Long.MAX_VALUE, engine.getMinimumMoves(64, 3));
+        assertEquals(BigInteger.TWO.pow(64).subtract(BigInteger.ONE), engine.getMinimumMovesExact(64, 3));
+
+        // 4 pegs stays well inside a long for n = 100 and never goes negative
+        long fourPegs = engine.getMinimumMoves(100, 4);
+        assertTrue(fourPegs > 0);
+        assertEquals(BigInteger.valueOf(fourPegs), engine.getMinimumMovesExact(100, 4));
+    }
+
+    @Test
+    @DisplayName("Test optimal split is within range")
+    void testOptimalSplitRange() {
+        for (int n = 2; n <= 50; n++) {
+            int k = engine.getOptimalSplit(n, 4);
+            assertTrue(k >= 1 && k < n, "Split should leave at least one disk on each side");
+        }
+    }
+
+    @Test
+    @DisplayName("Test invalid peg count is rejected")
+    void testInvalidPegCount() {
+        assertThrows(IllegalArgumentException.class, () -> engine.getMinimumMoves(5, 2));
+    }
+
+    @Test
+    @DisplayName("Test generation stops once the thread is interrupted")
+    void testStopsWhenInterrupted() {
+        long[] moves = {0};
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> engine.generate(60, 4, (from, to) -> moves[0]++));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(0, moves[0]);
+    }
+}
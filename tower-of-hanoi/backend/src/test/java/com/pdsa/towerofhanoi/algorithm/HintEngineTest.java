@@ -0,0 +1,119 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hint Engine Tests")
+class HintEngineTest {
+
+    private HintEngine engine;
+    private StateSpaceSolver solver;
+
+    @BeforeEach
+    void setUp() {
+        engine = new HintEngine();
+        solver = new StateSpaceSolver();
+    }
+
+    private static int[] tower(int n, int peg) {
+        int[] config = new int[n];
+        Arrays.fill(config, peg);
+        return config;
+    }
+
+    //follows hints to the goal, checking every move is legal and the count matches
+    private void followHints(int pegs, int[] start) {
+        int[] config = start.clone();
+        long expected = engine.nextMove(pegs, config).getRemainingMoves();
+        long taken = 0;
+
+        HintEngine.Hint hint = engine.nextMove(pegs, config);
+        while (!hint.isSolved()) {
+            int disk = hint.getDisk();
+            assertEquals(hint.getFromPeg(), config[disk]);
+            for (int smaller = 0; smaller < disk; smaller++) {
+                assertNotEquals(hint.getFromPeg(), config[smaller], "Hinted disk is not on top");
+                assertNotEquals(hint.getToPeg(), config[smaller], "Hinted disk lands on a smaller one");
+            }
+            config[disk] = hint.getToPeg();
+            taken++;
+            assertEquals(expected - taken, engine.nextMove(pegs, config).getRemainingMoves());
+            hint = engine.nextMove(pegs, config);
+        }
+
+        assertEquals(expected, taken);
+        assertArrayEquals(tower(start.length, pegs - 1), config);
+    }
+
+    @Test
+    @DisplayName("Test 3-peg hint from the start follows the classic solution")
+    void testThreePegStart() {
+        ThreePegRecursive recursive = new ThreePegRecursive();
+
+        for (int n = 1; n <= 10; n++) {
+            HintEngine.Hint hint = engine.nextMove(3, tower(n, 0));
+            assertEquals((1L << n) - 1, hint.getRemainingMoves());
+            assertEquals(recursive.solve(n).get(0),
+                FrameStewartEngine.moveName(hint.getFromPeg(), hint.getToPeg()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test 4-peg hint distance from the start equals Frame-Stewart")
+    void testFourPegStart() {
+        FrameStewartEngine frameStewart = new FrameStewartEngine();
+
+        for (int n = 1; n <= 10; n++) {
+            assertEquals(frameStewart.getMinimumMoves(n, 4), engine.nextMove(4, tower(n, 0)).getRemainingMoves());
+        }
+    }
+
+    @Test
+    @DisplayName("Test hint distances match BFS from random configurations")
+    void testRandomConfigurationsMatchBfs() {
+        Random random = new Random(7);
+
+        for (int trial = 0; trial < 30; trial++) {
+            int pegs = 3 + random.nextInt(2);
+            int n = 1 + random.nextInt(8);
+            int[] config = random.ints(n, 0, pegs).toArray();
+
+            assertEquals(solver.distance(pegs, config, tower(n, pegs - 1)),
+                engine.nextMove(pegs, config).getRemainingMoves(),
+                Arrays.toString(config) + " on " + pegs + " pegs");
+            followHints(pegs, config);
+        }
+    }
+
+    @Test
+    @DisplayName("Test solved board has no hint")
+    void testSolved() {
+        assertTrue(engine.nextMove(3, tower(6, 2)).isSolved());
+        assertTrue(engine.nextMove(4, tower(6, 3)).isSolved());
+        assertTrue(engine.nextMove(4, new int[0]).isSolved());
+    }
+
+    @Test
+    @DisplayName("Test 3-peg hints scale to large towers")
+    void testThreePegLargeTower() {
+        HintEngine.Hint hint = engine.nextMove(3, tower(40, 0));
+
+        assertEquals((1L << 40) - 1, hint.getRemainingMoves());
+        assertEquals(0, hint.getDisk());
+    }
+
+    @Test
+    @DisplayName("Test invalid inputs are rejected")
+    void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> engine.nextMove(5, tower(3, 0)));
+        assertThrows(IllegalArgumentException.class, () -> engine.nextMove(3, new int[] {0, 3}));
+        assertThrows(IllegalArgumentException.class,
+            () -> engine.nextMove(4, tower(HintEngine.MAX_DISKS_FOUR_PEGS + 1, 0)));
+    }
+}
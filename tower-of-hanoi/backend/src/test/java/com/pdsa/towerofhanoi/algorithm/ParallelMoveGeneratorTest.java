@@ -0,0 +1,100 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Parallel Move Generator Tests")
+class ParallelMoveGeneratorTest {
+
+    private FrameStewartEngine engine;
+    private ForkJoinPool pool;
+    private ParallelMoveGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        engine = new FrameStewartEngine();
+        pool = new ForkJoinPool(4);
+        // Tiny threshold so small inputs still exercise the forked path
+        generator = new ParallelMoveGenerator(engine, pool, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test 3-peg output matches ThreePegRecursive")
+    void testThreePegMatchesRecursive() {
+        ThreePegRecursive recursive = new ThreePegRecursive();
+
+        for (int n = 1; n <= 12; n++) {
+            PackedMoves packed = generator.generateThreePeg(n);
+            assertEquals(recursive.solve(n), packed.toMoveList(), "Sequences differ for " + n + " disks");
+        }
+    }
+
+    @Test
+    @DisplayName("Test Frame-Stewart output matches the sequential engine")
+    void testFrameStewartMatchesSequential() {
+        for (int pegs = 3; pegs <= 5; pegs++) {
+            for (int n = 1; n <= 15; n++) {
+                List<String> expected = engine.solve(n, pegs);
+                assertEquals(expected, generator.generateFrameStewart(n, pegs).toMoveList(),
+                    String.format("Sequences differ for %d pegs, %d disks", pegs, n));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test 4-peg output matches FourPegFrameStewart")
+    void testFourPegMatchesFrameStewart() {
+        FourPegFrameStewart fourPeg = new FourPegFrameStewart(engine);
+
+        assertEquals(fourPeg.solve(10), generator.generateFrameStewart(10, 4).toMoveList());
+    }
+
+    @Test
+    @DisplayName("Test buffer size equals minimum moves with the default threshold")
+    void testDefaultThresholdLargeInput() {
+        ParallelMoveGenerator defaults = new ParallelMoveGenerator(engine);
+
+        PackedMoves packed = defaults.generateThreePeg(20);
+        assertEquals((1 << 20) - 1, packed.size());
+        assertEquals(0, packed.fromPeg(0));
+    }
+
+    @Test
+    @DisplayName("Test zero disks gives an empty buffer")
+    void testZeroDisks() {
+        assertEquals(0, generator.generateThreePeg(0).size());
+        assertEquals(0, generator.generateFrameStewart(0, 4).size());
+    }
+
+    @Test
+    @DisplayName("Test inputs below the threshold are generated on the caller thread")
+    void testSmallInputStaysOnCallerThread() {
+        ParallelMoveGenerator defaults = new ParallelMoveGenerator(engine, pool, 1 << 14);
+
+        defaults.generateThreePeg(10);
+        defaults.generateFrameStewart(10, 4);
+        assertEquals(0, pool.getStealCount() + pool.getQueuedSubmissionCount() + pool.getPoolSize(),
+            "The pool should not have been used");
+
+        // An interrupt on the solver thread still stops an inline generation
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> defaults.generateThreePeg(12));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
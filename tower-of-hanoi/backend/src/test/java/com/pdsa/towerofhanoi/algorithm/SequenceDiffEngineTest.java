@@ -0,0 +1,120 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sequence Diff Engine Tests")
+class SequenceDiffEngineTest {
+
+    private final SequenceDiffEngine diffEngine = new SequenceDiffEngine();
+
+    private static List<String> optimal(int n, int pegs) {
+        return pegs == 3 ? new ThreePegRecursive().solve(n) : new FourPegFrameStewart().solve(n);
+    }
+
+    //peg stacks, bottom to top with 0 = smallest, after the first count moves
+    private static int[][] replay(int n, int pegs, List<String> moves, int count) {
+        List<List<Integer>> stacks = new ArrayList<>();
+        for (int peg = 0; peg < pegs; peg++) {
+            stacks.add(new ArrayList<>());
+        }
+        for (int disk = n - 1; disk >= 0; disk--) {
+            stacks.get(0).add(disk);
+        }
+        for (String move : moves.subList(0, count)) {
+            List<Integer> from = stacks.get(move.charAt(0) - 'A');
+            stacks.get(move.charAt(3) - 'A').add(from.remove(from.size() - 1));
+        }
+        return stacks.stream().map(peg -> peg.stream().mapToInt(Integer::intValue).toArray()).toArray(int[][]::new);
+    }
+
+    @Test
+    @DisplayName("Test the optimal sequences themselves never diverge")
+    void testOptimalSequencesMatch() {
+        for (int pegs = 3; pegs <= 4; pegs++) {
+            for (int n = 1; n <= 10; n++) {
+                assertNull(diffEngine.firstDivergence(n, pegs, String.join(", ", optimal(n, pegs))),
+                    n + " disks on " + pegs + " pegs");
+            }
+        }
+        assertNull(diffEngine.firstDivergence(3, 3, "A->C,A->B ,C->B,   A->C, B->A,B->C,A->C  "));
+        assertNull(diffEngine.firstDivergence(0, 4, ""));
+    }
+
+    @Test
+    @DisplayName("Test a changed move is reported with the expected move and peg state")
+    void testChangedMove() {
+        Random random = new Random(7);
+
+        for (int trial = 0; trial < 30; trial++) {
+            int pegs = 3 + random.nextInt(2);
+            int n = 2 + random.nextInt(8);
+            List<String> moves = new ArrayList<>(optimal(n, pegs));
+            int index = random.nextInt(moves.size());
+            String expected = moves.get(index);
+            String actual = expected.equals("A->B") ? "B->A" : "A->B";
+            moves.set(index, actual);
+
+            SequenceDiffEngine.Divergence divergence = diffEngine.firstDivergence(n, pegs, String.join(", ", moves));
+
+            assertEquals(index, divergence.getIndex());
+            assertEquals(expected, divergence.getExpectedMove());
+            assertEquals(actual, divergence.getActualMove());
+            assertArrayEquals(replay(n, pegs, moves, index), divergence.getPegs());
+        }
+    }
+
+    @Test
+    @DisplayName("Test short, long and malformed sequences")
+    void testLengthAndFormat() {
+        List<String> moves = optimal(4, 4);
+        String full = String.join(", ", moves);
+
+        SequenceDiffEngine.Divergence shorter = diffEngine.firstDivergence(4, 4, String.join(", ", moves.subList(0, 5)));
+        assertEquals(5, shorter.getIndex());
+        assertEquals(moves.get(5), shorter.getExpectedMove());
+        assertNull(shorter.getActualMove());
+
+        SequenceDiffEngine.Divergence longer = diffEngine.firstDivergence(4, 4, full + ", A->B");
+        assertEquals(moves.size(), longer.getIndex());
+        assertNull(longer.getExpectedMove());
+        assertEquals("A->B", longer.getActualMove());
+        assertArrayEquals(new int[] {3, 2, 1, 0}, longer.getPegs()[3]);
+
+        SequenceDiffEngine.Divergence empty = diffEngine.firstDivergence(4, 4, "  ");
+        assertEquals(0, empty.getIndex());
+        assertNull(empty.getActualMove());
+
+        SequenceDiffEngine.Divergence malformed = diffEngine.firstDivergence(4, 4, moves.get(0) + ", A - >C, B->C");
+        assertEquals(1, malformed.getIndex());
+        assertEquals("A - >C", malformed.getActualMove());
+
+        SequenceDiffEngine.Divergence trailingComma = diffEngine.firstDivergence(4, 4, full + ",");
+        assertEquals(moves.size(), trailingComma.getIndex());
+        assertEquals("", trailingComma.getActualMove());
+    }
+
+    @Test
+    @DisplayName("Test an early divergence is found without generating the whole solution")
+    void testEarlyDivergenceOnHugeTower() {
+        // 2^60 - 1 optimal moves; only the first few are ever produced
+        SequenceDiffEngine.Divergence divergence = diffEngine.firstDivergence(60, 3, "A->B, A->C, B->C, A->D");
+
+        assertEquals(3, divergence.getIndex());
+        assertEquals("A->B", divergence.getExpectedMove());
+        assertArrayEquals(new int[] {1, 0}, divergence.getPegs()[2]);
+    }
+
+    @Test
+    @DisplayName("Test invalid sizes are rejected")
+    void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> diffEngine.firstDivergence(5, 5, "A->B"));
+        assertThrows(IllegalArgumentException.class, () -> diffEngine.firstDivergence(-1, 3, "A->B"));
+    }
+}
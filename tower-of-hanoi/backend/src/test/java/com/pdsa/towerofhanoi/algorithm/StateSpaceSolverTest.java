@@ -0,0 +1,176 @@
+package com.pdsa.towerofhanoi.algorithm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("State Space Solver Tests")
+class StateSpaceSolverTest {
+
+    private StateSpaceSolver solver;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        solver = new StateSpaceSolver();
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private static int[] tower(int n, int peg) {
+        int[] pegs = new int[n];
+        Arrays.fill(pegs, peg);
+        return pegs;
+    }
+
+    //applies the moves, checking each one is legal, and returns the final configuration
+    private static int[] replay(int pegs, int[] start, List<String> moves) {
+        int[] config = start.clone();
+        for (String move : moves) {
+            int from = move.charAt(0) - 'A';
+            int to = move.charAt(3) - 'A';
+            int disk = topDisk(config, from);
+            assertTrue(disk >= 0, "Move " + move + " from an empty peg");
+            int onTarget = topDisk(config, to);
+            assertTrue(onTarget < 0 || onTarget > disk, "Move " + move + " puts a larger disk on a smaller one");
+            config[disk] = to;
+        }
+        return config;
+    }
+
+    private static int topDisk(int[] config, int peg) {
+        for (int disk = 0; disk < config.length; disk++) {
+            if (config[disk] == peg) {
+                return disk;
+            }
+        }
+        return -1;
+    }
+
+    //plain single-direction BFS over boxed states as a reference
+    private static int referenceDistance(int pegs, int[] start, int[] target) {
+        Map<String, Integer> seen = new HashMap<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        seen.put(Arrays.toString(start), 0);
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int[] config = queue.poll();
+            int depth = seen.get(Arrays.toString(config));
+            if (Arrays.equals(config, target)) {
+                return depth;
+            }
+            for (int from = 0; from < pegs; from++) {
+                int disk = topDisk(config, from);
+                if (disk < 0) {
+                    continue;
+                }
+                for (int to = 0; to < pegs; to++) {
+                    int onTarget = topDisk(config, to);
+                    if (to != from && (onTarget < 0 || onTarget > disk)) {
+                        int[] next = config.clone();
+                        next[disk] = to;
+                        if (seen.putIfAbsent(Arrays.toString(next), depth + 1) == null) {
+                            queue.add(next);
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Test
+    @DisplayName("Test full 3-peg tower transfer takes 2^n - 1 moves")
+    void testThreePegTower() {
+        for (int n = 1; n <= 12; n++) {
+            assertEquals((1 << n) - 1, solver.distance(3, tower(n, 0), tower(n, 2)), n + " disks");
+        }
+    }
+
+    @Test
+    @DisplayName("Test BFS agrees with Frame-Stewart on 4 pegs")
+    void testFourPegMatchesFrameStewart() {
+        FrameStewartEngine engine = new FrameStewartEngine();
+
+        for (int n = 1; n <= 10; n++) {
+            assertEquals(engine.getMinimumMoves(n, 4), solver.distance(4, tower(n, 0), tower(n, 3)), n + " disks");
+        }
+    }
+
+    @Test
+    @DisplayName("Test arbitrary configurations match a reference BFS")
+    void testArbitraryConfigurations() {
+        Random random = new Random(42);
+
+        for (int trial = 0; trial < 40; trial++) {
+            int pegs = 3 + random.nextInt(2);
+            int n = 1 + random.nextInt(6);
+            int[] start = random.ints(n, 0, pegs).toArray();
+            int[] target = random.ints(n, 0, pegs).toArray();
+
+            List<String> moves = solver.solve(pegs, start, target);
+
+            assertEquals(referenceDistance(pegs, start, target), moves.size(),
+                Arrays.toString(start) + " -> " + Arrays.toString(target) + " on " + pegs + " pegs");
+            assertArrayEquals(target, replay(pegs, start, moves));
+        }
+    }
+
+    @Test
+    @DisplayName("Test parallel frontier expansion finds the same distance")
+    void testParallelExpansion() {
+        StateSpaceSolver parallel = new StateSpaceSolver(pool, 8);
+        int[] start = {0, 1, 2, 3, 0, 1, 2, 3, 0, 1};
+        int[] target = {3, 3, 0, 0, 2, 2, 1, 1, 3, 0};
+
+        List<String> moves = parallel.solve(4, start, target);
+
+        assertEquals(solver.distance(4, start, target), moves.size());
+        assertArrayEquals(target, replay(4, start, moves));
+        assertEquals(new FrameStewartEngine().getMinimumMoves(12, 4),
+            parallel.distance(4, tower(12, 0), tower(12, 3)));
+    }
+
+    @Test
+    @DisplayName("Test identical start and target need no moves")
+    void testSameConfiguration() {
+        int[] config = {2, 0, 1, 1};
+
+        assertEquals(0, solver.distance(3, config, config.clone()));
+        assertTrue(solver.solve(4, config, config.clone()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test encode and decode round trip")
+    void testEncodeDecode() {
+        int[] config = {3, 0, 2, 1, 1, 3};
+
+        assertArrayEquals(config, StateSpaceSolver.decode(StateSpaceSolver.encode(config), config.length));
+    }
+
+    @Test
+    @DisplayName("Test invalid inputs are rejected")
+    void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> solver.distance(5, tower(3, 0), tower(3, 4)));
+        assertThrows(IllegalArgumentException.class, () -> solver.distance(3, tower(3, 0), tower(4, 2)));
+        assertThrows(IllegalArgumentException.class, () -> solver.distance(3, new int[] {0, 3}, tower(2, 2)));
+        assertThrows(IllegalArgumentException.class,
+            () -> solver.distance(4, tower(StateSpaceSolver.MAX_DISKS_FOUR_PEGS + 1, 0),
+                                  tower(StateSpaceSolver.MAX_DISKS_FOUR_PEGS + 1, 3)));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -93,4 +94,59 @@ class ThreePegIterativeTest {
                 "Iterative and recursive should have same number of moves for " + n + " disks");
         }
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test sequence is identical to recursive")
+    void testSameSequenceAsRecursive() {
+        ThreePegRecursive recursive = new ThreePegRecursive();
+        
+        for (int n = 1; n <= 12; n++) {
+            assertEquals(recursive.solve(n), algorithm.solve(n), "Sequences differ for " + n + " disks");
+        }
+    }
+    
+    @Test
+    @DisplayName("Test sink receives every move of a large tower without building a list")
+    void testGenerateToSink() {
+        int[] pegHeights = {20, 0, 0};
+        long[] count = {0};
+        
+        algorithm.generate(20, (from, to) -> {
+            assertTrue(pegHeights[from] > 0, "Move from an empty peg");
+            pegHeights[from]--;
+            pegHeights[to]++;
+            count[0]++;
+        });
+        
+        assertEquals((1L << 20) - 1, count[0]);
+        assertArrayEquals(new int[] {0, 0, 20}, pegHeights);
+    }
+    
+    @Test
+    @DisplayName("Test zero disks produces no moves")
+    void testZeroDisks() {
+        assertTrue(algorithm.solve(0).isEmpty());
+        assertEquals(0, algorithm.getMinimumMoves(0));
+    }
+
+    @Test
+    @DisplayName("Test a move list beyond 30 disks is rejected with a disk count error")
+    void testListSolveRejectsTooManyDisks() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> algorithm.solve(31));
+        assertEquals("Number of disks must be between 0 and 30", error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> algorithm.getMinimumMoves(-1));
+    }
+
+    @Test
+    @DisplayName("Test generation stops once the thread is interrupted")
+    void testStopsWhenInterrupted() {
+        long[] moves = {0};
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> algorithm.generate(40, (from, to) -> moves[0]++));
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(moves[0] < 1024, "Should stop at the first check");
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -96,4 +97,23 @@ class ThreePegRecursiveTest {
         assertEquals("A->C", moves.get(0), "First move should be A->C");
         assertEquals("A->C", moves.get(moves.size() - 1), "Last move should be A->C");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test solving stops once the thread is interrupted")
+    void testStopsWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> algorithm.solve(40));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    @DisplayName("Test packed solve gives the same moves for every game disk count")
+    void testSolvePackedMatchesSolve() {
+        for (int n = 5; n <= 10; n++) {
+            assertEquals(algorithm.solve(n), algorithm.solvePacked(n).toMoveList(), "Moves differ for " + n + " disks");
+        }
+    }
+}
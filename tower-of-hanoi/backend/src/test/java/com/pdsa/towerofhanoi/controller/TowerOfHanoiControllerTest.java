@@ -12,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -203,4 +204,82 @@ class TowerOfHanoiControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.algorithmName").value("3-Peg Recursive"));
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test benchmark endpoint")
+    void testRunBenchmark() throws Exception {
+        // Arrange
+        BenchmarkRequest request = new BenchmarkRequest();
+        request.setNumberOfPegs(3);
+        request.setNumberOfDisks(10);
+        
+        BenchmarkResponse response = BenchmarkResponse.builder()
+            .numberOfPegs(3)
+            .numberOfDisks(10)
+            .results(List.of(BenchmarkResponse.AlgorithmBenchmark.builder()
+                .algorithmName("3-Peg Recursive")
+                .medianNanos(25000L)
+                .build()))
+            .build();
+        
+        when(service.runBenchmark(any(BenchmarkRequest.class))).thenReturn(response);
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/tower/benchmark")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.results[0].algorithmName").value("3-Peg Recursive"))
+            .andExpect(jsonPath("$.results[0].medianNanos").value(25000));
+    }
+    
+    @Test
+    @DisplayName("Test benchmark with too many disks - should return 400")
+    void testRunBenchmarkWithTooManyDisks() throws Exception {
+        BenchmarkRequest request = new BenchmarkRequest();
+        request.setNumberOfPegs(3);
+        request.setNumberOfDisks(40);
+        
+        mockMvc.perform(post("/api/tower/benchmark")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @DisplayName("Test hint endpoint")
+    void testGetHint() throws Exception {
+        // Arrange
+        HintRequest request = new HintRequest(3, List.of(List.of(3, 2, 1), List.of(), List.of()));
+        
+        HintResponse response = HintResponse.builder()
+            .solved(false)
+            .disk(1)
+            .fromPeg("A")
+            .toPeg("C")
+            .move("A->C")
+            .remainingMoves(7L)
+            .build();
+        
+        when(service.getHint(any(HintRequest.class))).thenReturn(response);
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/tower/hint")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.move").value("A->C"))
+            .andExpect(jsonPath("$.remainingMoves").value(7));
+    }
+    
+    @Test
+    @DisplayName("Test hint without pegs - should return 400")
+    void testGetHintWithoutPegs() throws Exception {
+        HintRequest request = new HintRequest(4, null);
+        
+        mockMvc.perform(post("/api/tower/hint")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,113 @@
+package com.pdsa.towerofhanoi.repository;
+
+import com.pdsa.towerofhanoi.algorithm.CompactMoves;
+import com.pdsa.towerofhanoi.model.PlayerAnswer;
+import com.pdsa.towerofhanoi.service.PlayerAnswerWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Schema Migrations Tests")
+class SchemaMigrationsTest {
+
+    private static final String SEQUENCE = "A->B, A->C, B->C";
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    // player_answers as ddl-auto=update leaves it on a database created before the packed column
+    private void createLegacyPlayerAnswers() {
+        jdbcTemplate.execute("CREATE TABLE player_answers (" +
+            "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "player_name VARCHAR(255) NOT NULL, " +
+            "game_round_id BIGINT NOT NULL, " +
+            "player_minimum_moves INT NOT NULL, " +
+            "player_move_sequence TEXT NOT NULL, " +
+            "is_correct BIT NOT NULL, " +
+            "submitted_at DATETIME(6) NOT NULL, " +
+            "player_move_sequence_packed MEDIUMBLOB NOT NULL)");
+        jdbcTemplate.update("INSERT INTO player_answers (player_name, game_round_id, player_minimum_moves, " +
+            "player_move_sequence, is_correct, submitted_at, player_move_sequence_packed) " +
+            "VALUES ('Old Player', 1, 3, ?, TRUE, CURRENT_TIMESTAMP, X'')", SEQUENCE);
+    }
+
+    private static PlayerAnswer answer(String playerName) {
+        PlayerAnswer answer = new PlayerAnswer();
+        answer.setPlayerName(playerName);
+        answer.setGameRoundId(2L);
+        answer.setPlayerMinimumMoves(3);
+        answer.setPlayerMoveSequence(CompactMoves.parse(SEQUENCE));
+        answer.setIsCorrect(true);
+        return answer;
+    }
+
+    @Test
+    @DisplayName("Test answers cannot be inserted into the old schema before migrating")
+    void testOldSchemaRejectsInserts() {
+        createLegacyPlayerAnswers();
+
+        PlayerAnswerWriter writer = new PlayerAnswerWriter(jdbcTemplate, transactionManager, 10, 10, 60_000);
+        writer.submit(answer("New Player"));
+        writer.shutdown();
+
+        assertEquals(1, writer.failed());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM player_answers", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Test migration relaxes the legacy column and packs old answers")
+    void testMigrateLegacyPlayerAnswers() {
+        createLegacyPlayerAnswers();
+
+        new SchemaMigrations(jdbcTemplate).migrate();
+
+        PlayerAnswerWriter writer = new PlayerAnswerWriter(jdbcTemplate, transactionManager, 10, 10, 60_000);
+        writer.submit(answer("New Player"));
+        writer.shutdown();
+
+        assertEquals(0, writer.failed());
+        List<byte[]> packed = jdbcTemplate.queryForList(
+            "SELECT player_move_sequence_packed FROM player_answers ORDER BY id", byte[].class);
+        assertEquals(2, packed.size());
+        for (byte[] data : packed) {
+            assertEquals(SEQUENCE, CompactMoves.decode(data).toSequence());
+        }
+        assertNull(jdbcTemplate.queryForObject(
+            "SELECT player_move_sequence FROM player_answers WHERE player_name = 'New Player'", String.class));
+
+        // A second start finds nothing left to do
+        new SchemaMigrations(jdbcTemplate).migrate();
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM player_answers", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Test migration leaves a current schema alone")
+    void testCurrentSchemaUnchanged() {
+        jdbcTemplate.execute("CREATE TABLE player_answers (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "player_move_sequence_packed MEDIUMBLOB NOT NULL)");
+
+        assertDoesNotThrow(() -> new SchemaMigrations(jdbcTemplate).migrate());
+    }
+}
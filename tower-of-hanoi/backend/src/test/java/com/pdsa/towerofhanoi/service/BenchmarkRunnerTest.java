@@ -0,0 +1,61 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.algorithm.ThreePegRecursive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Benchmark Runner Tests")
+class BenchmarkRunnerTest {
+    
+    @Test
+    @DisplayName("Test warmup and measured iterations are all executed")
+    void testIterationCounts() {
+        BenchmarkRunner runner = new BenchmarkRunner(3, 7);
+        AtomicInteger calls = new AtomicInteger();
+        
+        BenchmarkRunner.BenchmarkStatistics statistics = runner.run("counter", calls::incrementAndGet);
+        
+        assertEquals(10, calls.get(), "3 warmup + 7 measured runs");
+        assertEquals(7, statistics.getSamples() + statistics.getOutliersRemoved());
+    }
+    
+    @Test
+    @DisplayName("Test outliers above the Tukey fence are removed")
+    void testOutlierTrimming() {
+        long[] samples = {100, 101, 102, 103, 104, 105, 106, 107, 108, 50_000};
+        
+        BenchmarkRunner.BenchmarkStatistics statistics = BenchmarkRunner.summarize(samples);
+        
+        assertEquals(1, statistics.getOutliersRemoved());
+        assertEquals(9, statistics.getSamples());
+        assertEquals(108, statistics.getMaxNanos());
+        assertEquals(104, statistics.getMedianNanos());
+        assertEquals(104.0, statistics.getMeanNanos(), 0.001);
+    }
+    
+    @Test
+    @DisplayName("Test percentiles are ordered")
+    void testPercentileOrdering() {
+        BenchmarkRunner runner = new BenchmarkRunner(5, 30);
+        ThreePegRecursive algorithm = new ThreePegRecursive();
+        
+        BenchmarkRunner.BenchmarkStatistics statistics = runner.run("3-Peg Recursive", () -> algorithm.solve(8));
+        
+        assertTrue(statistics.getMinNanos() <= statistics.getMedianNanos());
+        assertTrue(statistics.getMedianNanos() <= statistics.getP90Nanos());
+        assertTrue(statistics.getP90Nanos() <= statistics.getP99Nanos());
+        assertTrue(statistics.getP99Nanos() <= statistics.getMaxNanos());
+    }
+    
+    @Test
+    @DisplayName("Test at least one measured iteration is required")
+    void testNoIterationsRejected() {
+        BenchmarkRunner runner = new BenchmarkRunner(0, 1);
+        
+        assertThrows(IllegalArgumentException.class, () -> runner.run("none", () -> 1, 0, 0));
+    }
+}
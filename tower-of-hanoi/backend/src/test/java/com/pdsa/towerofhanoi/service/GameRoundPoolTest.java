@@ -0,0 +1,125 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.dto.GameStartResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Game Round Pool Tests")
+class GameRoundPoolTest {
+
+    private GameRoundPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private static IntFunction<GameStartResponse> counting(AtomicLong ids) {
+        return pegs -> {
+            GameStartResponse response = new GameStartResponse();
+            response.setGameRoundId(ids.incrementAndGet());
+            response.setNumberOfPegs(pegs);
+            return response;
+        };
+    }
+
+    private static void awaitSize(GameRoundPool pool, int pegs, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pool.size(pegs) < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(size, pool.size(pegs));
+    }
+
+    @Test
+    @DisplayName("Test start fills every peg count to the high watermark")
+    void testStartFillsToHighWatermark() throws InterruptedException {
+        pool = new GameRoundPool(true, 2, 5);
+
+        pool.start(counting(new AtomicLong()));
+
+        awaitSize(pool, 3, 5);
+        awaitSize(pool, 4, 5);
+        GameStartResponse round = pool.take(4);
+        assertEquals(4, round.getNumberOfPegs());
+    }
+
+    @Test
+    @DisplayName("Test dropping below the low watermark triggers a refill")
+    void testRefillBelowLowWatermark() throws InterruptedException {
+        pool = new GameRoundPool(true, 2, 4);
+        AtomicLong ids = new AtomicLong();
+        pool.start(counting(ids));
+        awaitSize(pool, 3, 4);
+
+        // 4 -> 2 stays at the low watermark, so nothing new is produced
+        pool.take(3);
+        pool.take(3);
+        Thread.sleep(50);
+        assertEquals(2, pool.size(3));
+
+        pool.take(3);
+        awaitSize(pool, 3, 4);
+        assertEquals(4 + 4 + 3, ids.get());
+    }
+
+    @Test
+    @DisplayName("Test take returns null when the pool cannot serve")
+    void testTakeReturnsNullWhenEmpty() {
+        pool = new GameRoundPool(true, 2, 4);
+        assertNull(pool.take(3), "Not started yet");
+
+        GameRoundPool disabled = new GameRoundPool(false, 2, 4);
+        AtomicInteger calls = new AtomicInteger();
+        disabled.start(pegs -> {
+            calls.incrementAndGet();
+            return new GameStartResponse();
+        });
+        assertNull(disabled.take(3));
+        assertEquals(0, calls.get());
+        disabled.shutdown();
+
+        assertNull(pool.take(5), "Unsupported peg count");
+    }
+
+    @Test
+    @DisplayName("Test a failing factory leaves the pool usable")
+    void testFactoryFailure() throws InterruptedException {
+        pool = new GameRoundPool(true, 1, 3);
+        AtomicInteger calls = new AtomicInteger();
+
+        pool.start(pegs -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("database down");
+            }
+            GameStartResponse response = new GameStartResponse();
+            response.setNumberOfPegs(pegs);
+            return response;
+        });
+
+        // The failed peg count is retried on the next take
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pool.size(3) + pool.size(4) < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        int emptyPegs = pool.size(3) == 0 ? 3 : 4;
+        assertNull(pool.take(emptyPegs));
+        awaitSize(pool, emptyPegs, 3);
+    }
+
+    @Test
+    @DisplayName("Test invalid watermarks are rejected")
+    void testInvalidWatermarks() {
+        assertThrows(IllegalArgumentException.class, () -> new GameRoundPool(true, 4, 4));
+        assertThrows(IllegalArgumentException.class, () -> new GameRoundPool(true, -1, 4));
+    }
+}
@@ -0,0 +1,76 @@
+package com.pdsa.towerofhanoi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Latency Histogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Test small values are recorded exactly")
+    void testSmallValuesExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 50; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(50, histogram.getTotalCount());
+        assertEquals(25, histogram.percentile(0.50));
+        assertEquals(45, histogram.percentile(0.90));
+        assertEquals(50, histogram.percentile(1.0));
+    }
+
+    @Test
+    @DisplayName("Test percentiles stay within the bucket error")
+    void testRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1_000; value <= 1_000_000; value += 1_000) {
+            histogram.record(value);
+        }
+
+        assertEquals(500_000, histogram.percentile(0.50), 500_000 * 0.04);
+        assertEquals(990_000, histogram.percentile(0.99), 990_000 * 0.04);
+    }
+
+    @Test
+    @DisplayName("Test every value maps into a bucket whose midpoint is close")
+    void testBucketMidpoints() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            long midpoint = LatencyHistogram.midpointOf(LatencyHistogram.bucketOf(value));
+            assertTrue(Math.abs(midpoint - value) <= Math.max(1, value / 32), value + " -> " + midpoint);
+        }
+    }
+
+    @Test
+    @DisplayName("Test merged histograms equal one histogram of all values")
+    void testMerge() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        LatencyHistogram combined = new LatencyHistogram();
+        Random random = new Random(11);
+        for (int i = 0; i < 1_000; i++) {
+            long value = 10_000 + random.nextInt(5_000_000);
+            (i % 2 == 0 ? first : second).record(value);
+            combined.record(value);
+        }
+
+        first.merge(second);
+
+        assertEquals(combined.getTotalCount(), first.getTotalCount());
+        for (double fraction : new double[] {0.1, 0.5, 0.9, 0.99}) {
+            assertEquals(combined.percentile(fraction), first.percentile(fraction));
+        }
+    }
+
+    @Test
+    @DisplayName("Test empty histogram reports zero")
+    void testEmpty() {
+        assertEquals(0, new LatencyHistogram().percentile(0.5));
+    }
+}
@@ -0,0 +1,63 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.algorithm.FourPegFrameStewart;
+import com.pdsa.towerofhanoi.algorithm.FourPegOptimized;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Optimal Move Table Tests")
+class OptimalMoveTableTest {
+
+    private final FourPegFrameStewart frameStewart = new FourPegFrameStewart();
+    private final FourPegOptimized optimized = new FourPegOptimized();
+
+    private OptimalMoveTable table(String contents) {
+        return new OptimalMoveTable(new ByteArrayResource(contents.getBytes(StandardCharsets.UTF_8)),
+            frameStewart, optimized);
+    }
+
+    @Test
+    @DisplayName("Test bundled table covers every served disk count and matches Frame-Stewart")
+    void testBundledTable() {
+        OptimalMoveTable table = new OptimalMoveTable(new ClassPathResource("four-peg-optimal.csv"),
+            frameStewart, optimized);
+
+        assertTrue(table.load());
+        for (int n = 5; n <= 10; n++) {
+            assertTrue(table.getOptimalMoves().containsKey(n), n + " disks");
+        }
+        assertTrue(table.verify(frameStewart.getAlgorithmName(), frameStewart::getMinimumMoves).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test mismatching counts are reported")
+    void testMismatches() {
+        OptimalMoveTable table = table("# comment\ndisks,optimal_moves\n5,13\n6,17\n7,25\n");
+        assertTrue(table.load());
+
+        List<Integer> mismatches = table.verify(optimized.getAlgorithmName(), optimized::getMinimumMoves);
+
+        assertEquals(List.of(6, 7), mismatches);
+    }
+
+    @Test
+    @DisplayName("Test missing or malformed tables disable the check")
+    void testUnusableTable() {
+        OptimalMoveTable missing = new OptimalMoveTable(new ClassPathResource("no-such-table.csv"),
+            frameStewart, optimized);
+        assertFalse(missing.load());
+        missing.verifyFourPegAlgorithms();
+        assertTrue(missing.getOptimalMoves().isEmpty());
+
+        OptimalMoveTable malformed = table("disks,optimal_moves\n5,thirteen\n");
+        assertFalse(malformed.load());
+        assertTrue(malformed.verify("any", n -> 0).isEmpty());
+    }
+}
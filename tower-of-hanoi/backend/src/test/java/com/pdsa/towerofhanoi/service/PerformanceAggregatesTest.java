@@ -0,0 +1,152 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.model.AlgorithmPerformance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Performance Aggregates Tests")
+class PerformanceAggregatesTest {
+
+    private static AlgorithmPerformance performance(String algorithmName, long gameRoundId, long nanos) {
+        AlgorithmPerformance performance = new AlgorithmPerformance();
+        performance.setAlgorithmName(algorithmName);
+        performance.setNumberOfPegs(4);
+        performance.setGameRoundId(gameRoundId);
+        performance.setMinimumMoves(49);
+        performance.setExecutionTimeNanos(nanos);
+        return performance;
+    }
+
+    @Test
+    @DisplayName("Test count, mean, min, max and percentiles per disk count")
+    void testRollingStats() {
+        PerformanceAggregates aggregates = new PerformanceAggregates(null, 100, false);
+        for (int i = 1; i <= 100; i++) {
+            aggregates.record(performance("4-Peg Frame-Stewart", i, i * 1_000L), i <= 60 ? 9 : 10);
+        }
+
+        PerformanceAggregates.AlgorithmSnapshot snapshot = aggregates.snapshot("4-Peg Frame-Stewart");
+
+        assertEquals(100, snapshot.getOverall().getCount());
+        assertEquals(50_500.0, snapshot.getOverall().getMeanNanos(), 1e-9);
+        assertEquals(1_000L, snapshot.getOverall().getMinNanos());
+        assertEquals(100_000L, snapshot.getOverall().getMaxNanos());
+        assertEquals(50_000L, snapshot.getOverall().percentile(0.5), 50_000 * 0.04);
+        assertEquals(List.of(9, 10), List.copyOf(snapshot.getByDisks().keySet()));
+        assertEquals(60, snapshot.getByDisks().get(9).getCount());
+    }
+
+    @Test
+    @DisplayName("Test only the most recent runs are kept, oldest first")
+    void testRecentRunsBounded() {
+        PerformanceAggregates aggregates = new PerformanceAggregates(null, 3, false);
+        for (int i = 1; i <= 5; i++) {
+            aggregates.record(performance("A", i, 1_000L), 5);
+        }
+
+        List<PerformanceAggregates.RecentRun> recent = aggregates.snapshot("A").getRecentRuns();
+        assertEquals(3, recent.size());
+        assertEquals(3L, recent.get(0).getGameRoundId());
+        assertEquals(5L, recent.get(2).getGameRoundId());
+    }
+
+    @Test
+    @DisplayName("Test seeded history merges under live runs")
+    void testMergeSeededHistory() {
+        PerformanceAggregates live = new PerformanceAggregates(null, 3, false);
+        live.record(performance("A", 10, 4_000L), 5);
+
+        PerformanceAggregates seeded = new PerformanceAggregates(null, 3, false);
+        seeded.record(performance("A", 1, 1_000L), 5);
+        seeded.record(performance("A", 2, 2_000L), 6);
+        seeded.record(performance("A", 3, 3_000L), 6);
+        seeded.record(performance("B", 4, 9_000L), 5);
+
+        live.merge(seeded);
+
+        PerformanceAggregates.AlgorithmSnapshot a = live.snapshot("A");
+        assertEquals(4, a.getOverall().getCount());
+        assertEquals(1_000L, a.getOverall().getMinNanos());
+        assertEquals(2, a.getByDisks().get(5).getCount());
+        assertEquals(List.of(2L, 3L, 10L),
+            a.getRecentRuns().stream().map(PerformanceAggregates.RecentRun::getGameRoundId).toList());
+        assertEquals(List.of("A", "B"), live.getAlgorithmNames());
+    }
+
+    @Test
+    @DisplayName("Test unknown algorithm has no snapshot")
+    void testUnknownAlgorithm() {
+        assertNull(new PerformanceAggregates(null, 10, false).snapshot("missing"));
+    }
+
+    @Test
+    @DisplayName("Test seeding skips rows written after the high-water mark")
+    void testSeedStopsAtHighWaterMark() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:aggregates;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE game_rounds (id BIGINT PRIMARY KEY, number_of_disks INT)");
+        jdbcTemplate.execute("CREATE TABLE algorithm_performance (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "game_round_id BIGINT, algorithm_name VARCHAR(64), number_of_pegs INT, " +
+            "minimum_moves INT, execution_time_nanos BIGINT)");
+        jdbcTemplate.update("INSERT INTO game_rounds VALUES (1, 5), (2, 6)");
+        String insert = "INSERT INTO algorithm_performance " +
+            "(game_round_id, algorithm_name, number_of_pegs, minimum_moves, execution_time_nanos) VALUES (?, 'A', 4, 49, ?)";
+        jdbcTemplate.update(insert, 1L, 1_000L);
+        jdbcTemplate.update(insert, 1L, 2_000L);
+
+        PerformanceAggregates aggregates = new PerformanceAggregates(jdbcTemplate, 10, true);
+        aggregates.markSeedBoundary();
+        assertFalse(aggregates.isReady());
+
+        // A live run is recorded and its row lands before the startup scan
+        aggregates.record(performance("A", 2, 3_000L), 6);
+        jdbcTemplate.update(insert, 2L, 3_000L);
+
+        aggregates.seedFromDatabase();
+        assertTrue(aggregates.isReady());
+
+        PerformanceAggregates.AlgorithmSnapshot snapshot = aggregates.snapshot("A");
+        assertEquals(3, snapshot.getOverall().getCount());
+        assertEquals(1, snapshot.getByDisks().get(6).getCount());
+        assertEquals(List.of(1L, 1L, 2L),
+            snapshot.getRecentRuns().stream().map(PerformanceAggregates.RecentRun::getGameRoundId).toList());
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Test a missing table leaves nothing to seed")
+    void testSeedWithoutTable() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:empty;DB_CLOSE_DELAY=-1"));
+        PerformanceAggregates aggregates = new PerformanceAggregates(jdbcTemplate, 10, true);
+
+        aggregates.markSeedBoundary();
+        aggregates.seedFromDatabase();
+
+        assertTrue(aggregates.getAlgorithmNames().isEmpty());
+        assertTrue(aggregates.isReady());
+    }
+
+    @Test
+    @DisplayName("Test a failed seed keeps the aggregates not ready")
+    void testFailedSeedNotReady() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:broken;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE algorithm_performance (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.update("INSERT INTO algorithm_performance VALUES (1)");
+        PerformanceAggregates aggregates = new PerformanceAggregates(jdbcTemplate, 10, true);
+
+        // There is no game_rounds table to join
+        aggregates.markSeedBoundary();
+        aggregates.seedFromDatabase();
+
+        assertFalse(aggregates.isReady());
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+}
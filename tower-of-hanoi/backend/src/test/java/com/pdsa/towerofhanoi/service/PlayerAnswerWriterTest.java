@@ -0,0 +1,121 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.algorithm.CompactMoves;
+import com.pdsa.towerofhanoi.model.PlayerAnswer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Player Answer Writer Tests")
+class PlayerAnswerWriterTest {
+
+    private static PlayerAnswer answer(String playerName) {
+        PlayerAnswer answer = new PlayerAnswer();
+        answer.setPlayerName(playerName);
+        answer.setGameRoundId(1L);
+        answer.setPlayerMinimumMoves(7);
+        answer.setPlayerMoveSequence(CompactMoves.parse("A->C, A->B, C->B, A->C, B->A, B->C, A->C"));
+        answer.setIsCorrect(true);
+        return answer;
+    }
+
+    @Test
+    @DisplayName("Test queued answers are inserted in batches and drained on shutdown")
+    @SuppressWarnings("unchecked")
+    void testBatchedInsertOnShutdown() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                batchSizes.add(((Collection<PlayerAnswer>) invocation.getArgument(1)).size());
+                return new int[0][0];
+            });
+
+        PlayerAnswerWriter writer = new PlayerAnswerWriter(jdbcTemplate, mock(PlatformTransactionManager.class), 100, 10, 60_000);
+        for (int i = 0; i < 25; i++) {
+            writer.submit(answer("Player " + i));
+        }
+        writer.shutdown();
+
+        assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum(), "Every answer should be written");
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10), "Batches should respect the batch size");
+        assertEquals(0, writer.pending());
+    }
+
+    @Test
+    @DisplayName("Test a failing batch insert falls back to row-by-row inserts")
+    @SuppressWarnings("unchecked")
+    void testFailingBatchFallsBackToRows() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        List<String> inserted = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                Collection<PlayerAnswer> batch = invocation.getArgument(1);
+                if (batch.stream().anyMatch(answer -> answer.getPlayerName().equals("Bad"))) {
+                    throw new DataIntegrityViolationException("Column cannot be null");
+                }
+                batch.forEach(answer -> inserted.add(answer.getPlayerName()));
+                return new int[0][0];
+            });
+
+        PlayerAnswerWriter writer = new PlayerAnswerWriter(jdbcTemplate, mock(PlatformTransactionManager.class), 100, 10, 60_000);
+        writer.submit(answer("Alice"));
+        writer.submit(answer("Bad"));
+        writer.submit(answer("Bob"));
+        writer.shutdown();
+
+        assertEquals(List.of("Alice", "Bob"), inserted);
+        assertEquals(1, writer.failed());
+    }
+    
+    @Test
+    @DisplayName("Test rows written before a batch fails are rolled back, not duplicated by the retries")
+    void testPartiallyWrittenBatchNotDuplicated() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:answer_writer;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE player_answers (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+            "player_name VARCHAR(255) NOT NULL, game_round_id BIGINT NOT NULL, player_minimum_moves INT NOT NULL, " +
+            "player_move_sequence_packed MEDIUMBLOB NOT NULL, is_correct BIT NOT NULL, submitted_at DATETIME(6) NOT NULL)");
+        try {
+            PlayerAnswerWriter writer = new PlayerAnswerWriter(
+                jdbcTemplate, new DataSourceTransactionManager(dataSource), 100, 10, 60_000);
+            writer.submit(answer("Alice"));
+            writer.submit(answer(null));
+            writer.submit(answer("Bob"));
+            writer.shutdown();
+
+            assertEquals(List.of("Alice", "Bob"),
+                jdbcTemplate.queryForList("SELECT player_name FROM player_answers ORDER BY id", String.class));
+            assertEquals(1, writer.failed());
+        } finally {
+            jdbcTemplate.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    @DisplayName("Test submission time is stamped before queueing")
+    void testSubmittedAtSet() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        PlayerAnswerWriter writer = new PlayerAnswerWriter(jdbcTemplate, mock(PlatformTransactionManager.class), 100, 10, 60_000);
+        PlayerAnswer answer = answer("Alice");
+
+        writer.submit(answer);
+        writer.shutdown();
+
+        assertNotNull(answer.getSubmittedAt());
+    }
+}
@@ -0,0 +1,87 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.algorithm.PackedMoves;
+import com.pdsa.towerofhanoi.algorithm.ThreePegRecursive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Solution Cache Tests")
+class SolutionCacheTest {
+
+    private final ThreePegRecursive algorithm = new ThreePegRecursive();
+
+    private SolutionCache.CachedSolution solve(int disks, AtomicInteger calls) {
+        calls.incrementAndGet();
+        return new SolutionCache.CachedSolution(
+            PackedMoves.fromMoveList(algorithm.solve(disks)), algorithm.getMinimumMoves(disks), 1000L);
+    }
+
+    @Test
+    @DisplayName("Test second lookup is served from the cache")
+    void testCacheHit() {
+        SolutionCache cache = new SolutionCache(10, 1 << 20, false);
+        AtomicInteger calls = new AtomicInteger();
+
+        SolutionCache.CachedSolution first = cache.get("3-Peg Recursive", 3, 7, () -> solve(7, calls));
+        SolutionCache.CachedSolution second = cache.get("3-Peg Recursive", 3, 7, () -> solve(7, calls));
+
+        assertSame(first, second);
+        assertEquals(1, calls.get(), "Solver should only run once");
+        assertEquals(1, cache.getHits());
+        assertEquals(127, second.getMinimumMoves());
+        assertEquals(127, second.getMoves().size());
+    }
+
+    @Test
+    @DisplayName("Test keys include algorithm and pegs")
+    void testDistinctKeys() {
+        SolutionCache cache = new SolutionCache(10, 1 << 20, false);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("3-Peg Recursive", 3, 5, () -> solve(5, calls));
+        cache.get("3-Peg Iterative", 3, 5, () -> solve(5, calls));
+        cache.get("3-Peg Recursive", 4, 5, () -> solve(5, calls));
+
+        assertEquals(3, calls.get());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test disk counts above the bound are not cached")
+    void testUpperDiskBound() {
+        SolutionCache cache = new SolutionCache(6, 1 << 20, false);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("3-Peg Recursive", 3, 8, () -> solve(8, calls));
+        cache.get("3-Peg Recursive", 3, 8, () -> solve(8, calls));
+
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test least recently used entries are evicted when over budget")
+    void testSizeAwareEviction() {
+        // Room for roughly two 10-disk solutions (1023 bytes each plus overhead)
+        SolutionCache cache = new SolutionCache(10, 2500, false);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("A", 3, 10, () -> solve(10, calls));
+        cache.get("B", 3, 10, () -> solve(10, calls));
+        cache.get("A", 3, 10, () -> solve(10, calls));   // touch A so B is eldest
+        cache.get("C", 3, 10, () -> solve(10, calls));
+
+        assertEquals(3, calls.get());
+        assertEquals(2, cache.size());
+        assertTrue(cache.getCurrentBytes() <= 2500);
+
+        cache.get("A", 3, 10, () -> solve(10, calls));
+        assertEquals(3, calls.get(), "A should still be cached");
+        cache.get("B", 3, 10, () -> solve(10, calls));
+        assertEquals(4, calls.get(), "B should have been evicted");
+    }
+}
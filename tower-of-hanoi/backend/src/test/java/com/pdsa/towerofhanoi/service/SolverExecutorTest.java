@@ -0,0 +1,115 @@
+package com.pdsa.towerofhanoi.service;
+
+import com.pdsa.towerofhanoi.algorithm.ThreePegIterative;
+import com.pdsa.towerofhanoi.exception.SolverBusyException;
+import com.pdsa.towerofhanoi.exception.SolverTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Solver Executor Tests")
+class SolverExecutorTest {
+
+    private SolverExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test results come back in task order")
+    void testResultsInOrder() {
+        executor = new SolverExecutor(2, 4, 5000);
+
+        List<String> results = executor.invokeAll(List.<Callable<String>>of(
+            () -> {
+                Thread.sleep(50);
+                return "first";
+            },
+            () -> "second"));
+
+        assertEquals(List.of("first", "second"), results);
+    }
+
+    @Test
+    @DisplayName("Test tasks run concurrently")
+    void testTasksRunConcurrently() {
+        executor = new SolverExecutor(2, 4, 5000);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Callable<Boolean> task = () -> {
+            bothStarted.countDown();
+            return bothStarted.await(2, TimeUnit.SECONDS);
+        };
+
+        assertEquals(List.of(true, true), executor.invokeAll(List.of(task, task)));
+    }
+
+    @Test
+    @DisplayName("Test a slow solver raises SolverTimeoutException")
+    void testTimeout() {
+        executor = new SolverExecutor(2, 4, 100);
+
+        assertThrows(SolverTimeoutException.class, () -> executor.invokeAll(List.<Callable<String>>of(
+            () -> {
+                Thread.sleep(5000);
+                return "too slow";
+            })));
+    }
+
+    @Test
+    @DisplayName("Test solver exceptions are rethrown unchanged")
+    void testFailurePropagates() {
+        executor = new SolverExecutor(2, 4, 5000);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> executor.invokeAll(List.<Callable<String>>of(() -> {
+                throw new IllegalArgumentException("bad disks");
+            })));
+        assertEquals("bad disks", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Test a saturated pool rejects work instead of running it on the caller")
+    void testRejectsWhenSaturated() {
+        executor = new SolverExecutor(1, 1, 5000);
+        Thread caller = Thread.currentThread();
+        List<Boolean> ranOnCaller = new CopyOnWriteArrayList<>();
+        Callable<String> task = () -> {
+            ranOnCaller.add(Thread.currentThread() == caller);
+            Thread.sleep(100);
+            return "done";
+        };
+
+        assertThrows(SolverBusyException.class, () -> executor.invokeAll(List.of(task, task, task)));
+        assertFalse(ranOnCaller.contains(true), "No task should run on the request thread");
+    }
+
+    @Test
+    @DisplayName("Test a timed-out solver is interrupted and stops")
+    void testTimedOutSolverStops() throws InterruptedException {
+        executor = new SolverExecutor(1, 1, 100);
+        CountDownLatch stopped = new CountDownLatch(1);
+        ThreePegIterative solver = new ThreePegIterative();
+
+        assertThrows(SolverTimeoutException.class, () -> executor.invokeAll(List.<Callable<Long>>of(() -> {
+            long[] moves = {0};
+            try {
+                // 2^50 moves, never finishes unless it notices the interrupt
+                solver.generate(50, (from, to) -> moves[0]++);
+            } finally {
+                stopped.countDown();
+            }
+            return moves[0];
+        })));
+        assertTrue(stopped.await(2, TimeUnit.SECONDS), "Solver should stop once cancelled");
+    }
+}
@@ -4,6 +4,7 @@ import com.pdsa.towerofhanoi.algorithm.*;
 import com.pdsa.towerofhanoi.dto.*;
 import com.pdsa.towerofhanoi.model.*;
 import com.pdsa.towerofhanoi.repository.*;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -12,10 +13,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,9 +46,25 @@ class TowerOfHanoiServiceImplTest {
     @Mock
     private FourPegOptimized fourPegOptimized;
     
+    @Mock
+    private PerformanceWriter performanceWriter;
+    
+    @Mock
+    private PlayerAnswerWriter playerAnswerWriter;
+    
     @InjectMocks
     private TowerOfHanoiServiceImpl service;
     
+    private SolutionCache solutionCache;
+    
+    private SolverExecutor solverExecutor;
+    
+    private BenchmarkRunner benchmarkRunner;
+    
+    private PerformanceAggregates performanceAggregates;
+    
+    private GameRoundPool gameRoundPool;
+    
     @BeforeEach
     void setUp() {
         // Initialize real algorithms for testing
@@ -61,10 +80,25 @@ class TowerOfHanoiServiceImplTest {
             threePegRecursive,
             threePegIterative,
             fourPegFrameStewart,
-            fourPegOptimized
+            fourPegOptimized,
+            solutionCache = new SolutionCache(10, 1 << 20, false),
+            benchmarkRunner = spy(new BenchmarkRunner(2, 5)),
+            solverExecutor = new SolverExecutor(2, 8, 10000),
+            performanceWriter,
+            new HintEngine(),
+            playerAnswerWriter,
+            performanceAggregates = spy(new PerformanceAggregates(null, 100, false)),
+            gameRoundPool = new GameRoundPool(true, 1, 2),
+            new SequenceDiffEngine()
         );
     }
     
+    @AfterEach
+    void tearDown() {
+        solverExecutor.shutdown();
+        gameRoundPool.shutdown();
+    }
+    
     @Test
     @DisplayName("Test start new game with 3 pegs")
     void testStartNewGameWithThreePegs() {
@@ -78,8 +112,6 @@ class TowerOfHanoiServiceImplTest {
         savedGameRound.setNumberOfPegs(3);
         
         when(gameRoundRepository.save(any(GameRound.class))).thenReturn(savedGameRound);
-        when(algorithmPerformanceRepository.save(any(AlgorithmPerformance.class)))
-            .thenReturn(new AlgorithmPerformance());
         
         // Act
         GameStartResponse response = service.startNewGame(request);
@@ -95,7 +127,42 @@ class TowerOfHanoiServiceImplTest {
         
         // Verify database operations
         verify(gameRoundRepository, times(1)).save(any(GameRound.class));
-        verify(algorithmPerformanceRepository, times(2)).save(any(AlgorithmPerformance.class));
+        verify(performanceWriter, times(2)).submit(any(AlgorithmPerformance.class));
+    }
+    
+    @Test
+    @DisplayName("Test start new game hands out a pre-generated round")
+    void testStartNewGameUsesPooledRound() throws InterruptedException {
+        GameRound savedGameRound = new GameRound();
+        savedGameRound.setId(5L);
+        when(gameRoundRepository.save(any(GameRound.class))).thenReturn(savedGameRound);
+        
+        service.startRoundPool();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((gameRoundPool.size(3) < 2 || gameRoundPool.size(4) < 2) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, gameRoundPool.size(3));
+        
+        GameStartRequest request = new GameStartRequest();
+        request.setNumberOfPegs(3);
+        GameStartResponse response = service.startNewGame(request);
+        
+        // Pooled rounds are saved, and their timings recorded, only when handed out
+        assertEquals(5L, response.getGameRoundId());
+        assertEquals(3, response.getNumberOfPegs());
+        verify(gameRoundRepository, times(1)).save(argThat(round ->
+            round.getCorrectMinimumMoves().equals(response.getAlgorithm1Result().getMinimumMoves())
+                && round.getCorrectMoveSequence().equals(response.getAlgorithm1Result().getMoveSequence())));
+        verify(performanceWriter, times(2)).submit(argThat(performance -> performance.getGameRoundId() == 5L));
+        assertEquals(2, service.getPerformanceStats().stream()
+            .mapToLong(PerformanceStatsResponse::getTotalRuns).sum());
+        
+        // Bypassing the cache always solves a fresh round
+        request.setBypassCache(true);
+        service.startNewGame(request);
+        verify(gameRoundRepository, times(2)).save(any(GameRound.class));
+        verify(performanceWriter, times(4)).submit(any(AlgorithmPerformance.class));
     }
     
     @Test
@@ -111,8 +178,6 @@ class TowerOfHanoiServiceImplTest {
         savedGameRound.setNumberOfPegs(4);
         
         when(gameRoundRepository.save(any(GameRound.class))).thenReturn(savedGameRound);
-        when(algorithmPerformanceRepository.save(any(AlgorithmPerformance.class)))
-            .thenReturn(new AlgorithmPerformance());
         
         
         GameStartResponse response = service.startNewGame(request);
@@ -141,8 +206,6 @@ class TowerOfHanoiServiceImplTest {
             gr.setId(1L);
             return gr;
         });
-        when(algorithmPerformanceRepository.save(any(AlgorithmPerformance.class)))
-            .thenReturn(new AlgorithmPerformance());
         
         // Act - run multiple times to test randomness
         for (int i = 0; i < 10; i++) {
@@ -174,8 +237,6 @@ class TowerOfHanoiServiceImplTest {
         request.setPlayerMoveSequence("A->D, A->B, D->B, A->D, B->A, B->D, A->D");
         
         when(gameRoundRepository.findById(1L)).thenReturn(Optional.of(gameRound));
-        when(playerAnswerRepository.save(any(PlayerAnswer.class)))
-            .thenReturn(new PlayerAnswer());
         
         // Act
         PlayerAnswerResponse response = service.submitAnswer(request);
@@ -186,9 +247,46 @@ class TowerOfHanoiServiceImplTest {
         assertTrue(response.getIsCorrect());
         assertEquals("WIN", response.getResult());
         assertEquals(7, response.getCorrectMinimumMoves());
+        assertTrue(response.getMatchesCorrectSequence());
+        assertNull(response.getFirstDivergence());
+        
+        // Verify player answer was queued for the batch writer
+        verify(playerAnswerWriter, times(1)).submit(any(PlayerAnswer.class));
+    }
+    
+    @Test
+    @DisplayName("Test submitted sequence is packed and compared with the correct one")
+    void testSubmitAnswerPacksSequence() {
+        GameRound gameRound = new GameRound();
+        gameRound.setId(1L);
+        gameRound.setNumberOfDisks(2);
+        gameRound.setNumberOfPegs(3);
+        gameRound.setCorrectMinimumMoves(3);
+        gameRound.setCorrectMoveSequence("A->B, A->C, B->C");
+        
+        PlayerAnswerRequest request = new PlayerAnswerRequest();
+        request.setGameRoundId(1L);
+        request.setPlayerName("Test Player");
+        request.setPlayerMinimumMoves(3);
+        request.setPlayerMoveSequence("A->C,A->B ,  C->B");
+        
+        when(gameRoundRepository.findById(1L)).thenReturn(Optional.of(gameRound));
+        
+        PlayerAnswerResponse response = service.submitAnswer(request);
+        
+        assertEquals("WIN", response.getResult());
+        assertFalse(response.getMatchesCorrectSequence());
+        assertEquals(0, response.getFirstDivergence().getIndex());
+        assertEquals("A->B", response.getFirstDivergence().getExpectedMove());
+        assertEquals("A->C", response.getFirstDivergence().getActualMove());
+        assertEquals(List.of(List.of(2, 1), List.of(), List.of()), response.getFirstDivergence().getPegs());
+        verify(playerAnswerWriter).submit(argThat(answer ->
+            answer.getPlayerMoveSequence().toSequence().equals("A->C, A->B, C->B")));
         
-        // Verify player answer was saved
-        verify(playerAnswerRepository, times(1)).save(any(PlayerAnswer.class));
+        // A malformed move is rejected before anything is stored
+        request.setPlayerMoveSequence("A->C, A->E, C->B");
+        assertEquals("DRAW", service.submitAnswer(request).getResult());
+        verify(playerAnswerWriter, times(1)).submit(any(PlayerAnswer.class));
     }
     
     @Test
@@ -216,7 +314,7 @@ class TowerOfHanoiServiceImplTest {
         assertEquals("LOSE", response.getResult());
         
         // Verify player answer was NOT saved (only correct answers saved)
-        verify(playerAnswerRepository, never()).save(any(PlayerAnswer.class));
+        verify(playerAnswerWriter, never()).submit(any(PlayerAnswer.class));
     }
     
     @Test
@@ -231,8 +329,6 @@ class TowerOfHanoiServiceImplTest {
             gr.setId(1L);
             return gr;
         });
-        when(algorithmPerformanceRepository.save(any(AlgorithmPerformance.class)))
-            .thenReturn(new AlgorithmPerformance());
         
         // Act
         GameStartResponse response = service.startNewGame(request);
@@ -243,4 +339,201 @@ class TowerOfHanoiServiceImplTest {
         assertTrue(response.getAlgorithm1Result().getExecutionTimeNanos() > 0);
         assertTrue(response.getAlgorithm2Result().getExecutionTimeNanos() > 0);
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Test repeated games are served from the solution cache")
+    void testSolutionCacheUsed() {
+        GameStartRequest request = new GameStartRequest();
+        request.setNumberOfPegs(4);
+        
+        when(gameRoundRepository.save(any(GameRound.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // 6 possible disk counts, so 20 games must repeat some of them
+        for (int i = 0; i < 20; i++) {
+            GameStartResponse response = service.startNewGame(request);
+            assertEquals(response.getAlgorithm1Result().getMinimumMoves(),
+                response.getAlgorithm1Result().getMoveSequence().split(", ").length);
+        }
+        
+        assertTrue(solutionCache.getHits() > 0, "Some games should hit the cache");
+        assertTrue(solutionCache.size() <= 12, "At most 6 disk counts x 2 algorithms");
+    }
+    
+    @Test
+    @DisplayName("Test cached starts are recorded and marked as cached")
+    void testCachedStartsRecordedAsCached() {
+        GameStartRequest request = new GameStartRequest();
+        request.setNumberOfPegs(4);
+        
+        when(gameRoundRepository.save(any(GameRound.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        for (int i = 0; i < 20; i++) {
+            service.startNewGame(request);
+        }
+        
+        // One row per algorithm per round; only the solver runs are not marked as cached
+        assertTrue(solutionCache.getHits() > 0);
+        verify(performanceWriter, times(40)).submit(any(AlgorithmPerformance.class));
+        verify(performanceWriter, times((int) solutionCache.getMisses()))
+            .submit(argThat(performance -> !performance.getFromCache()));
+        long recordedRuns = service.getPerformanceStats().stream()
+            .mapToLong(PerformanceStatsResponse::getTotalRuns).sum();
+        assertEquals(40, recordedRuns);
+    }
+    
+    @Test
+    @DisplayName("Test a cache miss times a single solve without benchmarking")
+    void testCacheMissDoesNotBenchmark() {
+        GameStartRequest request = new GameStartRequest();
+        request.setNumberOfPegs(3);
+        
+        when(gameRoundRepository.save(any(GameRound.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        service.startNewGame(request);
+        request.setBypassCache(true);
+        service.startNewGame(request);
+        
+        verify(benchmarkRunner, never()).run(any(), any());
+        verify(benchmarkRunner, never()).run(any(), any(), anyInt(), anyInt());
+    }
+    
+    @Test
+    @DisplayName("Test bypassCache re-runs the solvers")
+    void testBypassCache() {
+        GameStartRequest request = new GameStartRequest();
+        request.setNumberOfPegs(3);
+        request.setBypassCache(true);
+        
+        when(gameRoundRepository.save(any(GameRound.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        service.startNewGame(request);
+        service.startNewGame(request);
+        
+        assertEquals(0, solutionCache.size());
+        assertEquals(0, solutionCache.getHits());
+    }
+    
+    @Test
+    @DisplayName("Test performance stats are served from in-memory aggregates")
+    void testPerformanceStatsFromAggregates() {
+        // Arrange
+        performanceAggregates.record(performance(1L, 1_000L), 5);
+        performanceAggregates.record(performance(2L, 500L), 5);
+        performanceAggregates.record(performance(3L, 1_500L), 5);
+        performanceAggregates.record(performance(4L, 5_000L), 6);
+        
+        // Act
+        PerformanceStatsResponse response = service.getPerformanceStatsByAlgorithm("3-Peg Recursive");
+        
+        // Assert
+        assertEquals(4L, response.getTotalRuns());
+        assertEquals(2, response.getDiskStats().size());
+        assertEquals(0.002, response.getAverageExecutionTimeMillis(), 1e-9);  // (1000 + 500 + 1500 + 5000) / 4 ns
+        assertEquals(500L, response.getMinExecutionTimeNanos());
+        assertEquals(5_000L, response.getMaxExecutionTimeNanos());
+        assertEquals(3, response.getDiskStats().get(0).getRuns());
+        assertEquals(4, response.getRecords().size());
+        assertEquals(4L, response.getRecords().get(3).getGameRoundId());
+        verifyNoInteractions(algorithmPerformanceRepository, gameRoundRepository);
+    }
+    
+    @Test
+    @DisplayName("Test performance stats fall back to SQL aggregates until the seed is done")
+    void testPerformanceStatsFromSqlUntilSeeded() {
+        // Arrange
+        doReturn(false).when(performanceAggregates).isReady();
+        PerformanceAggregateView fiveDisks = aggregate(5, 3L, 1_000L, 500L, 2_000L);
+        PerformanceAggregateView sixDisks = aggregate(6, 1L, 5_000L, 5_000L, 5_000L);
+        when(algorithmPerformanceRepository.aggregateByDisksForAlgorithm("3-Peg Recursive"))
+            .thenReturn(List.of(fiveDisks, sixDisks));
+        when(algorithmPerformanceRepository.findRecordsAfter(eq("3-Peg Recursive"), eq(0L), any()))
+            .thenReturn(List.of());
+        
+        // Act
+        PerformanceStatsResponse response = service.getPerformanceStatsByAlgorithm("3-Peg Recursive");
+        
+        // Assert
+        assertEquals(4L, response.getTotalRuns());
+        assertEquals(2, response.getDiskStats().size());
+        assertEquals(0.002, response.getAverageExecutionTimeMillis(), 1e-9);  // (3 * 1000 + 5000) / 4 ns
+        assertEquals(500L, response.getMinExecutionTimeNanos());
+        assertEquals(5_000L, response.getMaxExecutionTimeNanos());
+        assertNull(response.getNextCursor());
+        verify(gameRoundRepository, never()).findById(any());
+    }
+    
+    @Test
+    @DisplayName("Test solver runs update the aggregates")
+    void testStartNewGameRecordsAggregates() {
+        GameStartRequest request = new GameStartRequest();
+        request.setNumberOfPegs(4);
+        
+        when(gameRoundRepository.save(any(GameRound.class))).thenAnswer(invocation -> {
+            GameRound gr = invocation.getArgument(0);
+            gr.setId(9L);
+            return gr;
+        });
+        
+        service.startNewGame(request);
+        
+        List<PerformanceStatsResponse> stats = service.getPerformanceStats();
+        assertEquals(2, stats.size());
+        assertEquals(1L, stats.get(0).getTotalRuns());
+        assertEquals(4, stats.get(0).getNumberOfPegs());
+    }
+    
+    @Test
+    @DisplayName("Test hint from a partly solved 3-peg board")
+    void testHintThreePegs() {
+        // Disk 3 already on C, disks 1 and 2 still on A
+        HintRequest request = new HintRequest(3, List.of(List.of(2, 1), List.of(), List.of(3)));
+        
+        HintResponse response = service.getHint(request);
+        
+        assertFalse(response.getSolved());
+        assertEquals(1, response.getDisk());
+        assertEquals("A->B", response.getMove());
+        assertEquals(3L, response.getRemainingMoves());
+    }
+    
+    @Test
+    @DisplayName("Test hint on a finished 4-peg board")
+    void testHintSolved() {
+        HintRequest request = new HintRequest(4, List.of(List.of(), List.of(), List.of(), List.of(3, 2, 1)));
+        
+        HintResponse response = service.getHint(request);
+        
+        assertTrue(response.getSolved());
+        assertEquals(0L, response.getRemainingMoves());
+    }
+    
+    @Test
+    @DisplayName("Test hint rejects a larger disk on a smaller one")
+    void testHintInvalidBoard() {
+        HintRequest request = new HintRequest(3, List.of(List.of(1, 2), List.of(), List.of()));
+        
+        assertThrows(com.pdsa.towerofhanoi.exception.InvalidConfigurationException.class,
+            () -> service.getHint(request));
+    }
+    
+    private AlgorithmPerformance performance(long gameRoundId, long executionTimeNanos) {
+        AlgorithmPerformance performance = new AlgorithmPerformance();
+        performance.setGameRoundId(gameRoundId);
+        performance.setAlgorithmName("3-Peg Recursive");
+        performance.setNumberOfPegs(3);
+        performance.setMinimumMoves(31);
+        performance.setExecutionTimeNanos(executionTimeNanos);
+        return performance;
+    }
+    
+    private PerformanceAggregateView aggregate(int disks, long runs, long average, long min, long max) {
+        PerformanceAggregateView view = mock(PerformanceAggregateView.class);
+        lenient().when(view.getNumberOfPegs()).thenReturn(3);
+        lenient().when(view.getNumberOfDisks()).thenReturn(disks);
+        when(view.getRuns()).thenReturn(runs);
+        when(view.getAverageExecutionTimeNanos()).thenReturn((double) average);
+        when(view.getMinExecutionTimeNanos()).thenReturn(min);
+        when(view.getMaxExecutionTimeNanos()).thenReturn(max);
+        return view;
+    }
+}
@@ -0,0 +1,144 @@
+package com.pdsa.towerofhanoi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Write-Behind Queue Tests")
+class WriteBehindQueueTest {
+
+    @Test
+    @DisplayName("Test items are flushed in batches no larger than batchSize")
+    void testBatching() {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 1000, 10, 50, 100,
+            batch -> batches.add(new ArrayList<>(batch)));
+
+        for (int i = 0; i < 95; i++) {
+            queue.submit(i);
+        }
+        queue.close();
+
+        List<Integer> written = new ArrayList<>();
+        for (List<Integer> batch : batches) {
+            assertTrue(batch.size() <= 10, "Batch too large: " + batch.size());
+            written.addAll(batch);
+        }
+        assertEquals(95, written.size());
+        for (int i = 0; i < 95; i++) {
+            assertEquals(i, written.get(i), "Items should be written in submission order");
+        }
+    }
+
+    @Test
+    @DisplayName("Test a partial batch is flushed after the interval")
+    void testFlushInterval() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>("test", 100, 50, 20, 100,
+            batch -> flushed.countDown());
+
+        queue.submit("only item");
+
+        assertTrue(flushed.await(2, TimeUnit.SECONDS), "Partial batch should flush without close()");
+        queue.close();
+    }
+
+    @Test
+    @DisplayName("Test a full queue writes on the caller thread instead of dropping")
+    void testBackpressureNoDrops() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        Thread caller = Thread.currentThread();
+        List<Boolean> onCaller = Collections.synchronizedList(new ArrayList<>());
+
+        WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 2, 1, 10, 10, batch -> {
+            if (Thread.currentThread() == caller) {
+                onCaller.add(true);
+            } else {
+                // Hold the worker so the queue fills up
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            written.addAll(batch);
+        });
+
+        for (int i = 0; i < 10; i++) {
+            queue.submit(i);
+        }
+        release.countDown();
+        queue.close();
+
+        assertEquals(10, written.size(), "No item should be dropped");
+        assertFalse(onCaller.isEmpty(), "Overflow should be written on the caller thread");
+    }
+
+    @Test
+    @DisplayName("Test a failing flush does not stop later batches")
+    void testFlushFailureIsContained() {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 100, 1, 10, 100, batch -> {
+            if (batch.contains(0)) {
+                throw new IllegalStateException("boom");
+            }
+            written.addAll(batch);
+        });
+
+        queue.submit(0);
+        queue.submit(1);
+        queue.close();
+
+        assertEquals(List.of(1), written);
+        assertEquals(1, queue.failed());
+    }
+
+    @Test
+    @DisplayName("Test one bad item does not sink the rest of its batch")
+    void testFailedBatchWrittenOneByOne() {
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 100, 10, 1_000, 100, batch -> {
+            if (batch.contains(3)) {
+                throw new IllegalStateException("constraint violation");
+            }
+            written.addAll(batch);
+        });
+
+        for (int i = 0; i < 10; i++) {
+            queue.submit(i);
+        }
+        queue.close();
+
+        assertEquals(List.of(0, 1, 2, 4, 5, 6, 7, 8, 9), written);
+        assertEquals(1, queue.failed());
+    }
+
+    @Test
+    @DisplayName("Test a transient failure is retried as a whole batch")
+    void testTransientFailureRetried() {
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        int[] calls = {0};
+        WriteBehindQueue<Integer> queue = new WriteBehindQueue<>("test", 100, 10, 1_000, 100, batch -> {
+            if (calls[0]++ == 0) {
+                throw new IllegalStateException("connection reset");
+            }
+            batches.add(new ArrayList<>(batch));
+        });
+
+        for (int i = 0; i < 5; i++) {
+            queue.submit(i);
+        }
+        queue.close();
+
+        assertEquals(List.of(List.of(0, 1, 2, 3, 4)), batches);
+        assertEquals(0, queue.failed());
+    }
+}
@@ -9,6 +9,7 @@ public class AlgorithmEvaluationResponse {
     private String homeCity;
     private List<String> selectedCities = new ArrayList<>();
     private List<AlgorithmResultDto> algorithmResults = new ArrayList<>();
+    private Integer optimalDistance;
 
     public Long getSessionId() {
         return sessionId;
@@ -41,4 +42,12 @@ public class AlgorithmEvaluationResponse {
     public void setAlgorithmResults(List<AlgorithmResultDto> algorithmResults) {
         this.algorithmResults = algorithmResults;
     }
+
+    public Integer getOptimalDistance() {
+        return optimalDistance;
+    }
+
+    public void setOptimalDistance(Integer optimalDistance) {
+        this.optimalDistance = optimalDistance;
+    }
 }
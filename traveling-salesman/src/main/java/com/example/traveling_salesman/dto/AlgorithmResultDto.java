@@ -10,6 +10,8 @@ public class AlgorithmResultDto {
     private List<String> path = new ArrayList<>();
     private int totalDistance;
     private BigDecimal timeTakenMs;
+    private Long exploredNodes;
+    private String status;
 
     public AlgorithmResultDto() {}
 
@@ -51,4 +53,23 @@ public class AlgorithmResultDto {
     public void setTimeTakenMs(BigDecimal timeTakenMs) {
         this.timeTakenMs = timeTakenMs;
     }
+
+    // Search nodes visited, or null when the algorithm does not count them
+    public Long getExploredNodes() {
+        return exploredNodes;
+    }
+
+    public void setExploredNodes(Long exploredNodes) {
+        this.exploredNodes = exploredNodes;
+    }
+
+    // EXACT, HEURISTIC or TIMED_OUT; a timed-out result carries the best tour
+    // found before the deadline, or an empty path if there was none
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
 }
@@ -1,62 +1,201 @@
 package com.example.traveling_salesman.model;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Symmetric distances between cities identified by dense ids 0..size-1, each
+ * with a display label.
+ *
+ * Distances are kept in one flat row-major array: unsigned 16-bit shorts when
+ * every value is at most 65535, ints otherwise. Labels default to A, B, ...,
+ * Z, AA, AB, ..., so the first ten match the {@link City} constants.
+ */
 public class DistanceMatrix {
-	private final int[][] distances;
+
+	private static final int MAX_SHORT_DISTANCE = 0xFFFF;
+
+	private final int size;
+	// Exactly one of these is set
+	private final short[] shortDistances;
+	private final int[] intDistances;
+	private final List<String> labels;
+	private final Map<String, Integer> idsByLabel;
 
 	public DistanceMatrix(int[][] distances) {
-		this.distances = copyAndValidate(distances);
+		this(defaultLabels(requireRows(distances).length), flatten(distances));
+	}
+
+	/**
+	 * @param distances size * size values, row by row
+	 */
+	public DistanceMatrix(int size, int[] distances) {
+		this(defaultLabels(size), distances);
+	}
+
+	/**
+	 * @param distances labels.size() squared values, row by row
+	 */
+	public DistanceMatrix(List<String> labels, int[] distances) {
+		Objects.requireNonNull(labels, "labels must not be null");
+		Objects.requireNonNull(distances, "distance matrix must not be null");
+		int size = labels.size();
+		if (size == 0) {
+			throw new IllegalArgumentException("distance matrix must not be empty");
+		}
+		if ((long) size * size != distances.length) {
+			throw new IllegalArgumentException("distance matrix must be square");
+		}
+		int max = validate(size, distances);
+
+		this.size = size;
+		if (max <= MAX_SHORT_DISTANCE) {
+			shortDistances = new short[distances.length];
+			for (int i = 0; i < distances.length; i++) {
+				shortDistances[i] = (short) distances[i];
+			}
+			intDistances = null;
+		} else {
+			shortDistances = null;
+			intDistances = distances.clone();
+		}
+
+		this.labels = List.copyOf(labels);
+		this.idsByLabel = indexLabels(this.labels);
+	}
+
+	// Storage already checked by DistanceMatrixCodec, with the default labels;
+	// exactly one of the arrays is set
+	DistanceMatrix(int size, short[] shortDistances, int[] intDistances) {
+		this.size = size;
+		this.shortDistances = shortDistances;
+		this.intDistances = intDistances;
+		this.labels = defaultLabels(size);
+		this.idsByLabel = indexLabels(labels);
 	}
 
 	public int size() {
-		return distances.length;
+		return size;
 	}
 
 	public int getDistance(City from, City to) {
 		Objects.requireNonNull(from, "from must not be null");
 		Objects.requireNonNull(to, "to must not be null");
-		return distances[from.ordinal()][to.ordinal()];
+		return getDistance(from.ordinal(), to.ordinal());
+	}
+
+	public int getDistance(int from, int to) {
+		int index = Objects.checkIndex(from, size) * size + Objects.checkIndex(to, size);
+		return shortDistances != null ? shortDistances[index] & MAX_SHORT_DISTANCE : intDistances[index];
+	}
+
+	public String getLabel(int id) {
+		return labels.get(id);
+	}
+
+	public List<String> getLabels() {
+		return labels;
+	}
+
+	// Id of the city with this label, or -1
+	public int indexOf(String label) {
+		Integer id = idsByLabel.get(label);
+		return id == null ? -1 : id;
+	}
+
+	// A, B, ..., Z, AA, AB, ...
+	public static String defaultLabel(int id) {
+		StringBuilder label = new StringBuilder();
+		for (int n = id + 1; n > 0; n = (n - 1) / 26) {
+			label.append((char) ('A' + (n - 1) % 26));
+		}
+		return label.reverse().toString();
 	}
 
 	public int[][] toArray() {
-		int[][] result = new int[distances.length][distances.length];
-		for (int i = 0; i < distances.length; i++) {
-			result[i] = Arrays.copyOf(distances[i], distances[i].length);
+		int[][] result = new int[size][size];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				result[i][j] = getDistance(i, j);
+			}
 		}
 		return result;
 	}
 
-	private int[][] copyAndValidate(int[][] source) {
-		Objects.requireNonNull(source, "distance matrix must not be null");
-		if (source.length == 0) {
-			throw new IllegalArgumentException("distance matrix must not be empty");
+	// Copy of the distances, row by row
+	public int[] toRowMajor() {
+		if (intDistances != null) {
+			return intDistances.clone();
+		}
+		int[] result = new int[shortDistances.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = shortDistances[i] & MAX_SHORT_DISTANCE;
 		}
+		return result;
+	}
+
+	private static int[][] requireRows(int[][] source) {
+		return Objects.requireNonNull(source, "distance matrix must not be null");
+	}
+
+	private static int[] flatten(int[][] source) {
 		int size = source.length;
-		int[][] copy = new int[size][size];
+		if (size == 0) {
+			throw new IllegalArgumentException("distance matrix must not be empty");
+		}
+		int[] flat = new int[size * size];
 		for (int i = 0; i < size; i++) {
 			if (source[i] == null || source[i].length != size) {
 				throw new IllegalArgumentException("distance matrix must be square");
 			}
-			for (int j = 0; j < size; j++) {
-				int value = source[i][j];
-				if (i == j && value != 0) {
-					throw new IllegalArgumentException("diagonal entries must be zero");
-				}
-				if (i != j && (value < 0)) {
-					throw new IllegalArgumentException("distance values must be non-negative");
-				}
-				copy[i][j] = value;
+			System.arraycopy(source[i], 0, flat, i * size, size);
+		}
+		return flat;
+	}
+
+	private static List<String> defaultLabels(int size) {
+		List<String> labels = new ArrayList<>(size);
+		for (int id = 0; id < size; id++) {
+			labels.add(defaultLabel(id));
+		}
+		return Collections.unmodifiableList(labels);
+	}
+
+	private static Map<String, Integer> indexLabels(List<String> labels) {
+		Map<String, Integer> ids = new HashMap<>(labels.size() * 2);
+		for (int id = 0; id < labels.size(); id++) {
+			String label = labels.get(id);
+			if (label.isBlank() || ids.put(label, id) != null) {
+				throw new IllegalArgumentException("city labels must be unique and not blank");
 			}
 		}
+		return ids;
+	}
+
+	// One pass over the diagonal and upper triangle, each value checked
+	// against its mirror; returns the largest distance
+	private static int validate(int size, int[] distances) {
+		int max = 0;
 		for (int i = 0; i < size; i++) {
+			int row = i * size;
+			if (distances[row + i] != 0) {
+				throw new IllegalArgumentException("diagonal entries must be zero");
+			}
 			for (int j = i + 1; j < size; j++) {
-				if (copy[i][j] != copy[j][i]) {
+				int value = distances[row + j];
+				if (value < 0) {
+					throw new IllegalArgumentException("distance values must be non-negative");
+				}
+				if (value != distances[j * size + i]) {
 					throw new IllegalArgumentException("distance matrix must be symmetric");
 				}
+				max = Math.max(max, value);
 			}
 		}
-		return copy;
+		return max;
 	}
 }
@@ -0,0 +1,114 @@
+package com.example.traveling_salesman.model;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of a {@link DistanceMatrix} for the session table.
+ *
+ * Only the upper triangle is written, row by row, as unsigned 16-bit values
+ * when every distance fits and as 32-bit ints otherwise; the zero diagonal and
+ * the mirrored half follow from symmetry, so a decoded matrix needs no
+ * validation. Layout, big-endian:
+ *
+ * <pre>
+ * byte    format version (1)
+ * byte    bytes per distance (2 or 4)
+ * int     city count
+ * n(n-1)/2 distances
+ * int     CRC32 of all preceding bytes
+ * </pre>
+ *
+ * Labels are not stored, so only matrices with the default labels can be
+ * encoded.
+ */
+public final class DistanceMatrixCodec {
+
+	private static final byte VERSION = 1;
+	private static final int HEADER_BYTES = 6;
+	private static final int CHECKSUM_BYTES = 4;
+	private static final int MAX_SHORT_DISTANCE = 0xFFFF;
+
+	private DistanceMatrixCodec() {
+	}
+
+	public static byte[] encode(DistanceMatrix matrix) {
+		Objects.requireNonNull(matrix, "distance matrix must not be null");
+		int size = matrix.size();
+		for (int id = 0; id < size; id++) {
+			if (!matrix.getLabel(id).equals(DistanceMatrix.defaultLabel(id))) {
+				throw new IllegalArgumentException("only matrices with default labels can be encoded");
+			}
+		}
+		int max = 0;
+		for (int i = 0; i < size; i++) {
+			for (int j = i + 1; j < size; j++) {
+				max = Math.max(max, matrix.getDistance(i, j));
+			}
+		}
+		int width = max <= MAX_SHORT_DISTANCE ? Short.BYTES : Integer.BYTES;
+
+		long values = (long) size * (size - 1) / 2;
+		ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(HEADER_BYTES + values * width + CHECKSUM_BYTES));
+		buffer.put(VERSION).put((byte) width).putInt(size);
+		for (int i = 0; i < size; i++) {
+			for (int j = i + 1; j < size; j++) {
+				if (width == Short.BYTES) {
+					buffer.putShort((short) matrix.getDistance(i, j));
+				} else {
+					buffer.putInt(matrix.getDistance(i, j));
+				}
+			}
+		}
+		buffer.putInt(checksum(buffer.array(), buffer.position()));
+		return buffer.array();
+	}
+
+	public static DistanceMatrix decode(byte[] bytes) {
+		Objects.requireNonNull(bytes, "encoded matrix must not be null");
+		if (bytes.length < HEADER_BYTES + CHECKSUM_BYTES) {
+			throw new IllegalArgumentException("encoded matrix is truncated");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		int end = bytes.length - CHECKSUM_BYTES;
+		if (buffer.getInt(end) != checksum(bytes, end)) {
+			throw new IllegalArgumentException("encoded matrix checksum mismatch");
+		}
+		if (buffer.get() != VERSION) {
+			throw new IllegalArgumentException("unsupported encoded matrix version");
+		}
+		int width = buffer.get();
+		int size = buffer.getInt();
+		if ((width != Short.BYTES && width != Integer.BYTES) || size < 1
+				|| HEADER_BYTES + (long) size * (size - 1) / 2 * width != end) {
+			throw new IllegalArgumentException("encoded matrix header does not match its length");
+		}
+
+		short[] shorts = width == Short.BYTES ? new short[size * size] : null;
+		int[] ints = width == Integer.BYTES ? new int[size * size] : null;
+		for (int i = 0; i < size; i++) {
+			for (int j = i + 1; j < size; j++) {
+				if (shorts != null) {
+					short value = buffer.getShort();
+					shorts[i * size + j] = value;
+					shorts[j * size + i] = value;
+				} else {
+					int value = buffer.getInt();
+					if (value < 0) {
+						throw new IllegalArgumentException("distance values must be non-negative");
+					}
+					ints[i * size + j] = value;
+					ints[j * size + i] = value;
+				}
+			}
+		}
+		return new DistanceMatrix(size, shorts, ints);
+	}
+
+	private static int checksum(byte[] bytes, int length) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, length);
+		return (int) crc.getValue();
+	}
+}
@@ -32,10 +32,16 @@ public class GameSession {
 	@Column(name = "home_city", nullable = false, length = 100)
 	private City homeCity;
 
+	// Only set on sessions stored before distance_matrix_bin existed
 	@Lob
-	@Column(name = "distance_matrix", nullable = false, columnDefinition = "LONGTEXT")
+	@Column(name = "distance_matrix", columnDefinition = "LONGTEXT")
 	private String distanceMatrixJson;
 
+	// DistanceMatrixCodec format
+	@Lob
+	@Column(name = "distance_matrix_bin", columnDefinition = "MEDIUMBLOB")
+	private byte[] distanceMatrixData;
+
 	@Lob
 	@Column(name = "selected_cities", columnDefinition = "LONGTEXT")
 	private String selectedCitiesJson;
@@ -84,6 +90,14 @@ public class GameSession {
 		this.distanceMatrixJson = distanceMatrixJson;
 	}
 
+	public byte[] getDistanceMatrixData() {
+		return distanceMatrixData;
+	}
+
+	public void setDistanceMatrixData(byte[] distanceMatrixData) {
+		this.distanceMatrixData = distanceMatrixData;
+	}
+
 	public String getSelectedCitiesJson() {
 		return selectedCitiesJson;
 	}
@@ -0,0 +1,50 @@
+package com.example.traveling_salesman.repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schema changes that ddl-auto=update cannot make on an existing database.
+ *
+ * Hibernate never relaxes a constraint, so a column an entity stopped
+ * writing keeps NOT NULL and every insert that leaves it out fails. Runs
+ * once Hibernate has updated the schema, while the context is still starting
+ * and before any request is served; each step checks the live schema, so it
+ * does nothing on a fresh database or on later starts.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrations {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public SchemaMigrations(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@PostConstruct
+	public void migrate() {
+		// game_session.distance_matrix (JSON) was replaced by distance_matrix_bin;
+		// old sessions still read it, new ones leave it null
+		if (Boolean.FALSE.equals(columnNullable("game_session", "distance_matrix"))) {
+			jdbcTemplate.execute("ALTER TABLE game_session MODIFY distance_matrix LONGTEXT NULL");
+		}
+	}
+
+	// null if the column does not exist
+	private Boolean columnNullable(String table, String column) {
+		return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+				return columns.next() ? columns.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls : null;
+			}
+		});
+	}
+}
@@ -0,0 +1,173 @@
+package com.example.traveling_salesman.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.service.algorithms.IndexedTour;
+import com.example.traveling_salesman.service.algorithms.SearchControl;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspAlgorithm;
+
+/**
+ * Runs every registered algorithm on the same selection concurrently and
+ * returns whatever is ready by a per-request deadline.
+ *
+ * Algorithms run on a fixed pool with a bounded queue; a task the queue cannot
+ * take counts as timed out. At the deadline each unfinished run has its
+ * {@link SearchControl} cancelled, which the algorithm notices at its next poll,
+ * and is reported with the best tour it offered so far. Results keep the
+ * registration order of the algorithms.
+ */
+@Component
+public class AlgorithmCoordinator implements DisposableBean {
+
+	private final List<TspAlgorithm> algorithms;
+	private final ThreadPoolExecutor executor;
+	private final long deadlineNanos;
+
+	/**
+	 * @param threads pool size; 0 gives one thread per algorithm, so a single
+	 *                request never waits behind itself
+	 */
+	@Autowired
+	public AlgorithmCoordinator(
+			List<TspAlgorithm> algorithms,
+			@Value("${tsp.coordinator.threads:0}") int threads,
+			@Value("${tsp.coordinator.queue-capacity:64}") int queueCapacity,
+			@Value("${tsp.coordinator.deadline-ms:2000}") long deadlineMs) {
+		if (threads < 0) {
+			throw new IllegalArgumentException("threads must not be negative");
+		}
+		if (queueCapacity < 1) {
+			throw new IllegalArgumentException("queue-capacity must be positive");
+		}
+		if (deadlineMs <= 0) {
+			throw new IllegalArgumentException("deadline must be positive");
+		}
+		this.algorithms = List.copyOf(algorithms);
+		int poolSize = threads > 0 ? threads : Math.max(1, algorithms.size());
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), daemonThreads());
+		this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+	}
+
+	public List<TspAlgorithm> algorithms() {
+		return algorithms;
+	}
+
+	public List<AlgorithmRun> run(City homeCity, List<City> visitCities, DistanceMatrix matrix) {
+		TourInstance instance = TourInstance.of(homeCity, visitCities, matrix);
+		long start = System.nanoTime();
+		long deadline = start + deadlineNanos;
+
+		List<Attempt> attempts = new ArrayList<>(algorithms.size());
+		for (TspAlgorithm algorithm : algorithms) {
+			Attempt attempt = new Attempt(algorithm);
+			try {
+				attempt.future = executor.submit(() -> attempt.solve(instance));
+			} catch (RejectedExecutionException ex) {
+				// Saturated; reported as timed out without a tour
+			}
+			attempts.add(attempt);
+		}
+
+		boolean interrupted = false;
+		for (Attempt attempt : attempts) {
+			if (attempt.future == null || interrupted) {
+				continue;
+			}
+			try {
+				attempt.tour = attempt.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException ex) {
+				// Cancelled below
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				interrupted = true;
+			} catch (ExecutionException ex) {
+				cancelUnfinished(attempts);
+				if (ex.getCause() instanceof RuntimeException runtime) {
+					throw runtime;
+				}
+				throw new IllegalStateException("Algorithm " + attempt.algorithm.name() + " failed", ex.getCause());
+			}
+		}
+		cancelUnfinished(attempts);
+
+		long waitedNs = System.nanoTime() - start;
+		List<AlgorithmRun> runs = new ArrayList<>(attempts.size());
+		for (Attempt attempt : attempts) {
+			TspAlgorithm algorithm = attempt.algorithm;
+			if (attempt.tour != null) {
+				AlgorithmRun.Status status = algorithm.exact() ? AlgorithmRun.Status.EXACT : AlgorithmRun.Status.HEURISTIC;
+				runs.add(new AlgorithmRun(algorithm.name(), status, instance.toSolution(attempt.tour), attempt.elapsedNs));
+			} else {
+				IndexedTour best = attempt.control.best();
+				runs.add(new AlgorithmRun(algorithm.name(), AlgorithmRun.Status.TIMED_OUT,
+						best == null ? null : instance.toSolution(best), waitedNs));
+			}
+		}
+		return runs;
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	private static void cancelUnfinished(List<Attempt> attempts) {
+		for (Attempt attempt : attempts) {
+			if (attempt.tour == null) {
+				attempt.control.cancel();
+				if (attempt.future != null) {
+					// Drops it if still queued; a running search stops at its next poll
+					attempt.future.cancel(false);
+				}
+			}
+		}
+	}
+
+	private static ThreadFactory daemonThreads() {
+		AtomicInteger count = new AtomicInteger();
+		return task -> {
+			Thread thread = new Thread(task, "tsp-coordinator-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static final class Attempt {
+
+		private final TspAlgorithm algorithm;
+		private final SearchControl control = new SearchControl();
+		private Future<IndexedTour> future;
+		private IndexedTour tour;
+		private volatile long elapsedNs;
+
+		Attempt(TspAlgorithm algorithm) {
+			this.algorithm = algorithm;
+		}
+
+		IndexedTour solve(TourInstance instance) {
+			long start = System.nanoTime();
+			IndexedTour result = algorithm.solve(instance, control);
+			elapsedNs = System.nanoTime() - start;
+			return result;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.example.traveling_salesman.service;
+
+import com.example.traveling_salesman.service.algorithms.TspSolution;
+
+/**
+ * Outcome of one algorithm within an {@link AlgorithmCoordinator} run.
+ */
+public final class AlgorithmRun {
+
+	public enum Status {
+		// Finished, and the algorithm always returns an optimal tour
+		EXACT,
+		// Finished with a tour that need not be optimal
+		HEURISTIC,
+		// Missed the deadline; the solution is the best tour offered so far, if any
+		TIMED_OUT
+	}
+
+	private final String algorithmName;
+	private final Status status;
+	private final TspSolution solution;
+	private final long elapsedNs;
+
+	AlgorithmRun(String algorithmName, Status status, TspSolution solution, long elapsedNs) {
+		this.algorithmName = algorithmName;
+		this.status = status;
+		this.solution = solution;
+		this.elapsedNs = elapsedNs;
+	}
+
+	public String getAlgorithmName() {
+		return algorithmName;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	// Null only when the run timed out before offering any tour
+	public TspSolution getSolution() {
+		return solution;
+	}
+
+	// Time spent solving; for a timed-out run, from the start of the request to the deadline
+	public long getElapsedNs() {
+		return elapsedNs;
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.traveling_salesman.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded map whose entries expire a fixed time after they are written; the
+ * oldest entries are dropped first once it is full.
+ */
+final class ExpiringCache<K, V> {
+
+	private final int maxEntries;
+	private final long ttlNanos;
+	private final LongSupplier ticker;
+
+	// Insertion order, so the eldest entry is also the first to expire
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>();
+
+	ExpiringCache(int maxEntries, long ttlNanos, LongSupplier ticker) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("max-entries must be positive");
+		}
+		if (ttlNanos <= 0) {
+			throw new IllegalArgumentException("ttl must be positive");
+		}
+		this.maxEntries = maxEntries;
+		this.ttlNanos = ttlNanos;
+		this.ticker = ticker;
+	}
+
+	// Cached value, or null if absent or expired
+	synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (ticker.getAsLong() - entry.writtenAt >= ttlNanos) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	synchronized void put(K key, V value) {
+		long now = ticker.getAsLong();
+		entries.remove(key);
+		entries.put(key, new Entry<>(value, now));
+
+		Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+		while (eldest.hasNext()) {
+			Map.Entry<K, Entry<V>> next = eldest.next();
+			if (entries.size() <= maxEntries && now - next.getValue().writtenAt < ttlNanos) {
+				break;
+			}
+			eldest.remove();
+		}
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+		private final long writtenAt;
+
+		Entry(V value, long writtenAt) {
+			this.value = value;
+			this.writtenAt = writtenAt;
+		}
+	}
+}
@@ -25,11 +25,12 @@ import com.example.traveling_salesman.dto.StartGameRequest;
 import com.example.traveling_salesman.model.AlgorithmTimeLog;
 import com.example.traveling_salesman.model.City;
 import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.model.DistanceMatrixCodec;
 import com.example.traveling_salesman.model.GameResult;
 import com.example.traveling_salesman.model.GameSession;
 import com.example.traveling_salesman.repository.GameResultRepository;
 import com.example.traveling_salesman.repository.GameSessionRepository;
-import com.example.traveling_salesman.service.algorithms.TspAlgorithm;
+import com.example.traveling_salesman.service.algorithms.SubsetTourTable;
 import com.example.traveling_salesman.service.algorithms.TspSolution;
 import com.example.traveling_salesman.support.DistanceMatrixGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -41,20 +42,26 @@ public class GameService {
 	private final DistanceMatrixGenerator distanceMatrixGenerator;
 	private final GameSessionRepository gameSessionRepository;
 	private final GameResultRepository gameResultRepository;
-	private final List<TspAlgorithm> algorithms;
+	private final AlgorithmCoordinator coordinator;
 	private final ObjectMapper objectMapper;
+	private final SubsetTableCache subsetTables;
+	private final SessionMatrixCache sessionMatrices;
 
 	public GameService(
 			DistanceMatrixGenerator distanceMatrixGenerator,
 			GameSessionRepository gameSessionRepository,
 			GameResultRepository gameResultRepository,
-			List<TspAlgorithm> algorithms,
-			ObjectMapper objectMapper) {
+			AlgorithmCoordinator coordinator,
+			ObjectMapper objectMapper,
+			SubsetTableCache subsetTables,
+			SessionMatrixCache sessionMatrices) {
 		this.distanceMatrixGenerator = distanceMatrixGenerator;
 		this.gameSessionRepository = gameSessionRepository;
 		this.gameResultRepository = gameResultRepository;
-		this.algorithms = algorithms;
+		this.coordinator = coordinator;
 		this.objectMapper = objectMapper;
+		this.subsetTables = subsetTables;
+		this.sessionMatrices = sessionMatrices;
 	}
 
 	@Transactional
@@ -65,59 +72,71 @@ public class GameService {
 		GameSession session = new GameSession();
 		session.setPlayerName(request.getPlayerName());
 		session.setHomeCity(homeCity);
-		session.setDistanceMatrixJson(writeMatrix(matrix));
+		session.setDistanceMatrixData(DistanceMatrixCodec.encode(matrix));
 
 		gameSessionRepository.save(session);
+		sessionMatrices.put(session.getId(), matrix);
+		subsetTable(session.getId(), homeCity, matrix);
 
 		GameRoundResponse response = new GameRoundResponse();
 		response.setSessionId(session.getId());
 		response.setPlayerName(request.getPlayerName());
 		response.setHomeCity(homeCity.name());
-		response.setCityLabels(Arrays.stream(City.values()).map(Enum::name).toList());
+		response.setCityLabels(matrix.getLabels());
 		response.setDistanceMatrix(matrix.toArray());
 		return response;
 	}
 
 	@Transactional
 	public AlgorithmEvaluationResponse evaluateSelection(SelectCitiesRequest request) {
-		if (algorithms.isEmpty()) {
+		if (coordinator.algorithms().isEmpty()) {
 			throw new IllegalStateException("No TSP algorithms registered");
 		}
 		GameSession session = gameSessionRepository
 				.findById(request.getSessionId())
 				.orElseThrow(() -> new IllegalArgumentException("Game session not found"));
 
-		DistanceMatrix matrix = readMatrix(session.getDistanceMatrixJson());
+		DistanceMatrix matrix = sessionMatrix(session);
 		City homeCity = session.getHomeCity();
 		List<City> visitCities = toCityList(request.getCities());
 		visitCities.removeIf(city -> city == homeCity);
 		session.setSelectedCitiesJson(writeJson(toCityStrings(visitCities)));
+		SubsetTourTable table = subsetTable(session.getId(), homeCity, matrix);
 
 		List<AlgorithmResultDto> algorithmResults = new ArrayList<>();
-		for (TspAlgorithm algorithm : algorithms) {
-		    long start = System.nanoTime();
-		    TspSolution solution = algorithm.solve(homeCity, visitCities, matrix);
-		    long elapsedNs = System.nanoTime() - start;
+		for (AlgorithmRun run : coordinator.run(homeCity, visitCities, matrix)) {
+		    TspSolution solution = run.getSolution();
+		    long elapsedNs = run.getElapsedNs();
 
 		    BigDecimal elapsedMs = BigDecimal.valueOf(elapsedNs)
 			    .divide(BigDecimal.valueOf(1_000_000L), 4, RoundingMode.HALF_UP);
 
-		    session.addTimeLog(createTimeLog(algorithm.name(), elapsedMs));
-
-		    algorithmResults.add(new AlgorithmResultDto(
-			    algorithm.name(),
-			    toCityStrings(solution.getOrderedPath()),
-			    solution.getTotalDistance(),
-			    elapsedMs));
+		    // A timed-out run only measured the deadline, not the algorithm
+		    if (run.getStatus() != AlgorithmRun.Status.TIMED_OUT) {
+			    session.addTimeLog(createTimeLog(run.getAlgorithmName(), elapsedMs));
+		    }
+
+		    AlgorithmResultDto result = new AlgorithmResultDto(
+			    run.getAlgorithmName(),
+			    solution == null ? List.of() : toCityStrings(solution.getOrderedPath()),
+			    solution == null ? 0 : solution.getTotalDistance(),
+			    elapsedMs);
+		    result.setStatus(run.getStatus().name());
+		    if (solution != null && solution.getExploredNodes() >= 0) {
+			    result.setExploredNodes(solution.getExploredNodes());
+		    }
+		    algorithmResults.add(result);
 		}
 
 		gameSessionRepository.save(session);
+		int optimalDistance = table.distance(mask(visitCities));
 
 		AlgorithmEvaluationResponse response = new AlgorithmEvaluationResponse();
 		response.setSessionId(session.getId());
 		response.setHomeCity(homeCity.name());
 		response.setSelectedCities(toCityStrings(visitCities));
 		response.setAlgorithmResults(algorithmResults);
+		response.setOptimalDistance(optimalDistance);
 		return response;
 	}
 
@@ -127,7 +146,7 @@ public class GameService {
 				.findById(request.getSessionId())
 				.orElseThrow(() -> new IllegalArgumentException("Game session not found"));
 
-		DistanceMatrix matrix = readMatrix(session.getDistanceMatrixJson());
+		DistanceMatrix matrix = sessionMatrix(session);
 		City homeCity = session.getHomeCity();
 
 		List<City> submittedPath = toCityPath(request.getProposedPath());
@@ -148,7 +167,7 @@ public class GameService {
 		}
 
 		int submittedDistance = calculateDistance(submittedPath, matrix);
-		TspSolution optimalSolution = resolveBestSolution(homeCity, visitCities, matrix);
+		TspSolution optimalSolution = subsetTable(session.getId(), homeCity, matrix).solution(mask(visitCities));
 
 		boolean correct = submittedDistance == optimalSolution.getTotalDistance();
 
@@ -186,11 +205,49 @@ public class GameService {
 		return timeLog;
 	}
 
-	private TspSolution resolveBestSolution(City homeCity, List<City> visitCities, DistanceMatrix matrix) {
-		return algorithms.stream()
-				.map(algorithm -> algorithm.solve(homeCity, visitCities, matrix))
-				.min((a, b) -> Integer.compare(a.getTotalDistance(), b.getTotalDistance()))
-				.orElseThrow(() -> new IllegalStateException("No algorithms available"));
+	// The session's table, built and cached on a miss. The table is the only way
+	// optimal tours are found, so a session it cannot cover is refused up front
+	private SubsetTourTable subsetTable(Long sessionId, City homeCity, DistanceMatrix matrix) {
+		SubsetTourTable table = subsetTables.get(sessionId);
+		if (table == null) {
+			int visitCities = matrix.size() - 1;
+			if (visitCities > SubsetTourTable.MAX_VISIT_CITIES) {
+				throw new IllegalArgumentException("Game session has " + visitCities
+						+ " cities to visit; at most " + SubsetTourTable.MAX_VISIT_CITIES + " are supported");
+			}
+			table = SubsetTourTable.of(matrix, homeCity.ordinal());
+			subsetTables.put(sessionId, table);
+		}
+		return table;
+	}
+
+	// Bit i is set for the city with ordinal i
+	private static long mask(List<City> cities) {
+		long mask = 0;
+		for (City city : cities) {
+			mask |= 1L << city.ordinal();
+		}
+		return mask;
+	}
+
+	// Cached matrix, otherwise decoded from the binary column, or from the JSON
+	// column for sessions stored before it existed
+	private DistanceMatrix sessionMatrix(GameSession session) {
+		DistanceMatrix matrix = sessionMatrices.get(session.getId());
+		if (matrix == null) {
+			byte[] data = session.getDistanceMatrixData();
+			matrix = data != null ? decodeMatrix(data) : readMatrix(session.getDistanceMatrixJson());
+			sessionMatrices.put(session.getId(), matrix);
+		}
+		return matrix;
+	}
+
+	private DistanceMatrix decodeMatrix(byte[] data) {
+		try {
+			return DistanceMatrixCodec.decode(data);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalStateException("Unable to read stored distance matrix", ex);
+		}
 	}
 
 	private DistanceMatrix readMatrix(String json) {
@@ -215,10 +272,6 @@ public class GameService {
 		}
 	}
 
-	private String writeMatrix(DistanceMatrix matrix) {
-		return writeJson(matrix.toArray());
-	}
-
 	private String writeJson(Object value) {
 		try {
 			return objectMapper.writeValueAsString(value);
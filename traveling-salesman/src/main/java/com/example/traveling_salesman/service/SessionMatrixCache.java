@@ -0,0 +1,47 @@
+package com.example.traveling_salesman.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.traveling_salesman.model.DistanceMatrix;
+
+/**
+ * Distance matrices of recent sessions, kept as built objects so requests
+ * within a game neither decode the stored matrix nor build it again.
+ *
+ * Entries expire a fixed time after they are written and the oldest are
+ * dropped once the cache is full.
+ */
+@Component
+public class SessionMatrixCache {
+
+	private final ExpiringCache<Long, DistanceMatrix> matrices;
+
+	@Autowired
+	public SessionMatrixCache(
+			@Value("${tsp.matrix-cache.max-entries:1024}") int maxEntries,
+			@Value("${tsp.matrix-cache.ttl-seconds:1800}") long ttlSeconds) {
+		this(maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+	}
+
+	SessionMatrixCache(int maxEntries, long ttlNanos, LongSupplier ticker) {
+		this.matrices = new ExpiringCache<>(maxEntries, ttlNanos, ticker);
+	}
+
+	// Matrix of the session, or null if absent or expired
+	public DistanceMatrix get(long sessionId) {
+		return matrices.get(sessionId);
+	}
+
+	public void put(long sessionId, DistanceMatrix matrix) {
+		matrices.put(sessionId, matrix);
+	}
+
+	public int size() {
+		return matrices.size();
+	}
+}
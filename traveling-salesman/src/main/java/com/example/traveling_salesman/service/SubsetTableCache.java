@@ -0,0 +1,49 @@
+package com.example.traveling_salesman.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.traveling_salesman.service.algorithms.SubsetTourTable;
+
+/**
+ * Each session's table of optimal tours for every city selection, built once
+ * when the game starts so evaluations and attempts answer the exact optimum
+ * with a lookup.
+ *
+ * Entries expire a fixed time after they are written and the oldest are
+ * dropped once the cache is full; a session whose table is gone has it
+ * rebuilt on its next request.
+ */
+@Component
+public class SubsetTableCache {
+
+	private final ExpiringCache<Long, SubsetTourTable> tables;
+
+	@Autowired
+	public SubsetTableCache(
+			@Value("${tsp.subset-table-cache.max-entries:1024}") int maxEntries,
+			@Value("${tsp.subset-table-cache.ttl-seconds:1800}") long ttlSeconds) {
+		this(maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+	}
+
+	SubsetTableCache(int maxEntries, long ttlNanos, LongSupplier ticker) {
+		this.tables = new ExpiringCache<>(maxEntries, ttlNanos, ticker);
+	}
+
+	// Table for the session, or null if absent or expired
+	public SubsetTourTable get(long sessionId) {
+		return tables.get(sessionId);
+	}
+
+	public void put(long sessionId, SubsetTourTable table) {
+		tables.put(sessionId, table);
+	}
+
+	public int size() {
+		return tables.size();
+	}
+}
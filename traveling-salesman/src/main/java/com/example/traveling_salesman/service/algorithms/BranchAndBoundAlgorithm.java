@@ -0,0 +1,362 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import java.util.Arrays;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Exact depth-first branch and bound with Held-Karp 1-tree lower bounds.
+ *
+ * The upper bound starts from a nearest-neighbour tour improved by 2-opt.
+ * Before searching, subgradient optimisation finds node penalties pi that
+ * make the 1-tree of the whole instance as close to a tour as possible. Every
+ * search node then bounds the rest of the tour (current city, through the
+ * unvisited cities, back home) by the minimum spanning tree of the unvisited
+ * cities plus the cheapest penalised edges joining it to both path ends,
+ * minus the penalties; the partial cost is carried down incrementally.
+ * Children are tried nearest first so good tours are found early.
+ *
+ * Every improvement is offered to the {@link SearchControl}, which is polled
+ * every 1024 nodes and between subgradient iterations.
+ *
+ * Memory is O(n^2): the distance and penalised weight tables, neighbour
+ * lists and a few per-city arrays reused across the whole search.
+ */
+@Component
+public class BranchAndBoundAlgorithm implements TspAlgorithm {
+
+	// Bounds are doubles over integer tour lengths
+	private static final double EPSILON = 1e-6;
+
+	@Override
+	public String name() {
+		return "BRANCH_AND_BOUND";
+	}
+
+	@Override
+	public boolean exact() {
+		return true;
+	}
+
+	@Override
+	public boolean anytime() {
+		return true;
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance) {
+		return solve(instance, new SearchControl());
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance, SearchControl control) {
+		int n = instance.size();
+		if (n == 1) {
+			return new IndexedTour(new int[] {0, 0}, 0, 1);
+		}
+		Search search = new Search(instance, control);
+		search.seedUpperBound();
+		search.optimisePenalties();
+		search.run();
+		return new IndexedTour(search.bestOrder, search.best, search.nodes);
+	}
+
+	private static final class Search {
+
+		private final int n;
+		private final SearchControl control;
+		private final int[] dist;
+		private final double[] weight;
+		private final double[] penalty;
+		private final int[] neighbours;
+		private final boolean[] visited;
+		private final int[] path;
+		private final int[] bestOrder;
+		private int best;
+		private long nodes;
+
+		// Prim scratch, reused by every bound
+		private final double[] key;
+		private final int[] parent;
+		private final int[] members;
+		private final int[] degree;
+
+		Search(TourInstance instance, SearchControl control) {
+			n = instance.size();
+			this.control = control;
+			dist = instance.distances();
+			weight = new double[n * n];
+			penalty = new double[n];
+			visited = new boolean[n];
+			path = new int[n + 1];
+			bestOrder = new int[n + 1];
+			key = new double[n];
+			parent = new int[n];
+			members = new int[n];
+			degree = new int[n];
+
+			// Each row lists the other cities nearest first
+			neighbours = new int[n * (n - 1)];
+			Integer[] row = new Integer[n - 1];
+			for (int i = 0; i < n; i++) {
+				int c = 0;
+				for (int j = 0; j < n; j++) {
+					if (j != i) {
+						row[c++] = j;
+					}
+				}
+				int from = i;
+				Arrays.sort(row, (a, b) -> Integer.compare(dist[from * n + a], dist[from * n + b]));
+				for (int j = 0; j < n - 1; j++) {
+					neighbours[i * (n - 1) + j] = row[j];
+				}
+			}
+			applyPenalties();
+		}
+
+		void seedUpperBound() {
+			int[] order = bestOrder;
+			visited[0] = true;
+			for (int position = 1; position < n; position++) {
+				int current = order[position - 1];
+				for (int j = 0; j < n - 1; j++) {
+					int next = neighbours[current * (n - 1) + j];
+					if (!visited[next]) {
+						order[position] = next;
+						visited[next] = true;
+						break;
+					}
+				}
+			}
+			order[n] = 0;
+			Arrays.fill(visited, false);
+
+			// First-improvement 2-opt on the closed tour; segment costs are
+			// summed in both directions so asymmetric raw matrices stay correct
+			boolean improved = true;
+			while (improved) {
+				improved = false;
+				for (int i = 1; i < n - 1 && !improved; i++) {
+					for (int j = i + 1; j < n && !improved; j++) {
+						int before = dist[order[i - 1] * n + order[i]] + dist[order[j] * n + order[j + 1]];
+						int after = dist[order[i - 1] * n + order[j]] + dist[order[i] * n + order[j + 1]];
+						for (int p = i; p < j; p++) {
+							before += dist[order[p] * n + order[p + 1]];
+							after += dist[order[p + 1] * n + order[p]];
+						}
+						if (after < before) {
+							for (int a = i, b = j; a < b; a++, b--) {
+								int swap = order[a];
+								order[a] = order[b];
+								order[b] = swap;
+							}
+							improved = true;
+						}
+					}
+				}
+			}
+			best = tourLength(order);
+			control.offer(new IndexedTour(order, best));
+		}
+
+		// Held-Wolfe-Crowder subgradient ascent on the 1-tree bound
+		void optimisePenalties() {
+			if (n < 4) {
+				return;
+			}
+			double[] bestPenalty = new double[n];
+			double bestBound = Double.NEGATIVE_INFINITY;
+			double step = 2.0;
+			int sinceImprovement = 0;
+			int iterations = 50 + 10 * n;
+			for (int iteration = 0; iteration < iterations && step > 1e-4; iteration++) {
+				control.checkCancelled();
+				double bound = oneTree();
+				if (bound > bestBound + EPSILON) {
+					bestBound = bound;
+					System.arraycopy(penalty, 0, bestPenalty, 0, n);
+					sinceImprovement = 0;
+				} else if (++sinceImprovement >= n) {
+					step /= 2;
+					sinceImprovement = 0;
+				}
+				if (Math.ceil(bestBound - EPSILON) >= best) {
+					break;
+				}
+
+				int norm = 0;
+				for (int i = 0; i < n; i++) {
+					norm += (degree[i] - 2) * (degree[i] - 2);
+				}
+				if (norm == 0) {
+					break;
+				}
+				double move = step * (best - bound) / norm;
+				for (int i = 0; i < n; i++) {
+					penalty[i] += move * (degree[i] - 2);
+				}
+				applyPenalties();
+			}
+			System.arraycopy(bestPenalty, 0, penalty, 0, n);
+			applyPenalties();
+		}
+
+		void run() {
+			visited[0] = true;
+			path[0] = 0;
+			path[n] = 0;
+			search(0, 0, 0);
+		}
+
+		private void search(int current, int depth, int partial) {
+			if ((++nodes & 0x3FF) == 1) {
+				control.checkCancelled();
+			}
+			if (depth == n - 1) {
+				int total = partial + dist[current * n];
+				if (total < best) {
+					best = total;
+					System.arraycopy(path, 0, bestOrder, 0, n + 1);
+					control.offer(new IndexedTour(bestOrder, best));
+				}
+				return;
+			}
+			if (depth > 0 && partial + Math.ceil(remainingBound(current) - EPSILON) >= best) {
+				return;
+			}
+			int row = current * (n - 1);
+			for (int j = 0; j < n - 1; j++) {
+				int next = neighbours[row + j];
+				if (visited[next]) {
+					continue;
+				}
+				int cost = partial + dist[current * n + next];
+				if (cost >= best) {
+					// Neighbours are sorted, so every later one costs at least as much
+					break;
+				}
+				visited[next] = true;
+				path[depth + 1] = next;
+				search(next, depth + 1, cost);
+				visited[next] = false;
+			}
+		}
+
+		// Lower bound on current -> every unvisited city -> home
+		private double remainingBound(int current) {
+			int m = 0;
+			double penalties = penalty[current] + penalty[0];
+			for (int v = 1; v < n; v++) {
+				if (!visited[v]) {
+					members[m++] = v;
+					penalties += 2 * penalty[v];
+				}
+			}
+
+			double total = spanningTree(m);
+			double toCurrent = Double.MAX_VALUE;
+			double toHome = Double.MAX_VALUE;
+			for (int i = 0; i < m; i++) {
+				toCurrent = Math.min(toCurrent, weight[current * n + members[i]]);
+				toHome = Math.min(toHome, weight[members[i]]);
+			}
+			return total + toCurrent + toHome - penalties;
+		}
+
+		// 1-tree over every city: spanning tree of 1..n-1 plus home's two cheapest edges
+		private double oneTree() {
+			for (int v = 1; v < n; v++) {
+				members[v - 1] = v;
+			}
+			Arrays.fill(degree, 0);
+			double total = spanningTree(n - 1);
+			for (int i = 1; i < n - 1; i++) {
+				degree[members[i]]++;
+				degree[parent[i]]++;
+			}
+
+			int first = -1;
+			int second = -1;
+			for (int v = 1; v < n; v++) {
+				if (first < 0 || weight[v] < weight[first]) {
+					second = first;
+					first = v;
+				} else if (second < 0 || weight[v] < weight[second]) {
+					second = v;
+				}
+			}
+			total += weight[first] + weight[second];
+			degree[0] = 2;
+			degree[first]++;
+			degree[second]++;
+
+			double penalties = 0;
+			for (int i = 0; i < n; i++) {
+				penalties += penalty[i];
+			}
+			return total - 2 * penalties;
+		}
+
+		// Prim over members[0..m), reordered into tree order; parent[i] is the
+		// city that members[i] was attached to
+		private double spanningTree(int m) {
+			if (m == 0) {
+				return 0;
+			}
+			double total = 0;
+			int root = members[0];
+			for (int i = 1; i < m; i++) {
+				key[i] = weight[root * n + members[i]];
+				parent[i] = root;
+			}
+			for (int added = 1; added < m; added++) {
+				int pick = added;
+				for (int i = added + 1; i < m; i++) {
+					if (key[i] < key[pick]) {
+						pick = i;
+					}
+				}
+				swap(added, pick);
+				int city = members[added];
+				total += key[added];
+				for (int i = added + 1; i < m; i++) {
+					double w = weight[city * n + members[i]];
+					if (w < key[i]) {
+						key[i] = w;
+						parent[i] = city;
+					}
+				}
+			}
+			return total;
+		}
+
+		private void swap(int a, int b) {
+			int member = members[a];
+			members[a] = members[b];
+			members[b] = member;
+			double k = key[a];
+			key[a] = key[b];
+			key[b] = k;
+			int p = parent[a];
+			parent[a] = parent[b];
+			parent[b] = p;
+		}
+
+		// Symmetric penalised weights; the cheaper direction keeps bounds valid on raw matrices
+		private void applyPenalties() {
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					weight[i * n + j] = Math.min(dist[i * n + j], dist[j * n + i]) + penalty[i] + penalty[j];
+				}
+			}
+		}
+
+		private int tourLength(int[] order) {
+			int total = 0;
+			for (int i = 1; i <= n; i++) {
+				total += dist[order[i - 1] * n + order[i]];
+			}
+			return total;
+		}
+	}
+}
@@ -1,79 +1,290 @@
 package com.example.traveling_salesman.service.algorithms;
 
-import com.example.traveling_salesman.model.City;
-import com.example.traveling_salesman.model.DistanceMatrix;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.springframework.stereotype.Component;
 
+/**
+ * Exhaustive search over every visiting order, kept as the ground truth the
+ * other algorithms are checked against.
+ *
+ * Orders are int[] permutations stepped in place in lexicographic order, with
+ * the prefix lengths kept per position so a step only re-adds the edges
+ * after the position it changed. A prefix that, even finishing along the
+ * cheapest edge into each remaining city, cannot beat the best tour found by
+ * any task skips its whole block of (k - 1 - p)! permutations at once. The
+ * k! lexicographic ranks are split into ranges across a fork/join pool; each
+ * task unranks its first permutation in the factorial number system. Ties
+ * keep the lexicographically first order, so the result does not depend on
+ * scheduling. Each task offers its improvements to the {@link SearchControl}
+ * and polls it every 4096 steps.
+ */
 @Component
 public class BruteForceAlgorithm implements TspAlgorithm {
 
+	// 20! is the largest factorial that fits in a long rank
+	public static final int MAX_VISIT_CITIES = 20;
+
+	private static final long DEFAULT_PERMUTATIONS_PER_TASK = 1 << 18;
+
+	private final ForkJoinPool pool;
+	private final long permutationsPerTask;
+
+	public BruteForceAlgorithm() {
+		this(ForkJoinPool.commonPool(), DEFAULT_PERMUTATIONS_PER_TASK);
+	}
+
+	public BruteForceAlgorithm(ForkJoinPool pool, long permutationsPerTask) {
+		this.pool = pool;
+		this.permutationsPerTask = permutationsPerTask;
+	}
+
 	@Override
 	public String name() {
 		return "BRUTE_FORCE";
 	}
 
 	@Override
-	public TspSolution solve(City homeCity, List<City> citiesToVisit, DistanceMatrix matrix) {
-		if (homeCity == null) {
-			throw new IllegalArgumentException("homeCity must not be null");
+	public boolean exact() {
+		return true;
+	}
+
+	@Override
+	public boolean anytime() {
+		return true;
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance) {
+		return solve(instance, new SearchControl());
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance, SearchControl control) {
+		int k = instance.size() - 1;
+		if (k == 0) {
+			return new IndexedTour(new int[] {0, 0}, 0);
 		}
-		if (matrix == null) {
-			throw new IllegalArgumentException("matrix must not be null");
+		if (k > MAX_VISIT_CITIES) {
+			throw new IllegalArgumentException("Brute force supports at most " + MAX_VISIT_CITIES + " cities to visit");
 		}
-		List<City> remaining = citiesToVisit == null ? new ArrayList<>() : new ArrayList<>(citiesToVisit);
-		if (remaining.isEmpty()) {
-			return new TspSolution(List.of(homeCity, homeCity), 0);
+
+		long[] factorials = new long[k + 1];
+		factorials[0] = 1;
+		for (int i = 1; i <= k; i++) {
+			factorials[i] = factorials[i - 1] * i;
 		}
 
-		List<City>[] bestRoute = new List[] {null};
-		int[] bestDistance = new int[] {Integer.MAX_VALUE};
+		// Seeding with a nearest-neighbour tour lets pruning start on the first prefix
+		Enumeration enumeration = new Enumeration(instance, k, factorials, nearestNeighbour(instance), control);
+		long count = factorials[k];
+		Best best = count <= permutationsPerTask
+				? enumeration.run(0, count)
+				: pool.invoke(new RangeTask(enumeration, 0, count));
+
+		int[] order = new int[k + 2];
+		System.arraycopy(best.permutation, 0, order, 1, k);
+		return new IndexedTour(order, best.distance);
+	}
 
-		permute(remaining, 0, matrix, homeCity, (route, distance) -> {
-			if (distance < bestDistance[0]) {
-				bestDistance[0] = distance;
-				bestRoute[0] = new ArrayList<>(route);
+	private static int nearestNeighbour(TourInstance instance) {
+		int n = instance.size();
+		boolean[] visited = new boolean[n];
+		visited[0] = true;
+		int current = 0;
+		int total = 0;
+		for (int step = 1; step < n; step++) {
+			int next = -1;
+			for (int v = 1; v < n; v++) {
+				if (!visited[v] && (next < 0 || instance.distance(current, v) < instance.distance(current, next))) {
+					next = v;
+				}
 			}
-		});
+			visited[next] = true;
+			total += instance.distance(current, next);
+			current = next;
+		}
+		return total + instance.distance(current, 0);
+	}
+
+	private static final class Best {
+
+		final int distance;
+		final int[] permutation;
 
-		List<City> path = new ArrayList<>();
-		path.add(homeCity);
-		if (bestRoute[0] != null) {
-			path.addAll(bestRoute[0]);
+		Best(int distance, int[] permutation) {
+			this.distance = distance;
+			this.permutation = permutation;
 		}
-		path.add(homeCity);
-		return new TspSolution(path, bestDistance[0]);
 	}
 
-	private void permute(List<City> cities, int index, DistanceMatrix matrix, City homeCity, RouteConsumer consumer) {
-		if (index == cities.size()) {
-			List<City> snapshot = List.copyOf(cities);
-			int distance = routeDistance(homeCity, snapshot, matrix);
-			consumer.accept(snapshot, distance);
-			return;
+	private static final class Enumeration {
+
+		private final int n;
+		private final int k;
+		private final int[] dist;
+		private final long[] factorials;
+		private final int[] cheapestEntry;
+		private final int entrySum;
+		private final AtomicInteger bound;
+		private final SearchControl control;
+
+		Enumeration(TourInstance instance, int k, long[] factorials, int initialBound, SearchControl control) {
+			this.n = instance.size();
+			this.k = k;
+			this.dist = instance.distances();
+			this.factorials = factorials;
+			this.bound = new AtomicInteger(initialBound);
+			this.control = control;
+
+			// The rest of a tour enters every unvisited city and home once, each
+			// at no less than that city's cheapest incoming edge
+			cheapestEntry = new int[n];
+			int sum = 0;
+			for (int v = 0; v < n; v++) {
+				int cheapest = Integer.MAX_VALUE;
+				for (int u = 0; u < n; u++) {
+					if (u != v) {
+						cheapest = Math.min(cheapest, dist[u * n + v]);
+					}
+				}
+				cheapestEntry[v] = cheapest;
+				sum += cheapest;
+			}
+			entrySum = sum;
 		}
-		for (int i = index; i < cities.size(); i++) {
-			Collections.swap(cities, index, i);
-			permute(cities, index + 1, matrix, homeCity, consumer);
-			Collections.swap(cities, index, i);
+
+		// Best order among the lexicographic ranks [from, to); distance is
+		// MAX_VALUE if every one of them was pruned
+		Best run(long from, long to) {
+			int[] permutation = unrank(from);
+			int[] prefix = new int[k];
+			int[] entered = new int[k];
+			int[] best = new int[k];
+			int bestDistance = Integer.MAX_VALUE;
+
+			long rank = from;
+			int start = 0;
+			for (int steps = 0; ; steps++) {
+				if ((steps & 0xFFF) == 0) {
+					control.checkCancelled();
+				}
+				int limit = bound.get();
+				boolean pruned = false;
+				for (int p = start; p < k; p++) {
+					prefix[p] = p == 0
+							? dist[permutation[0]]
+							: prefix[p - 1] + dist[permutation[p - 1] * n + permutation[p]];
+					entered[p] = (p == 0 ? 0 : entered[p - 1]) + cheapestEntry[permutation[p]];
+					if (prefix[p] + entrySum - entered[p] > limit) {
+						// Jump to the last permutation sharing this prefix. The suffix is
+						// ascending unless a task started part way into the block
+						long block = factorials[k - 1 - p];
+						if (rank % block != 0) {
+							Arrays.sort(permutation, p + 1, k);
+						}
+						rank = (rank / block + 1) * block;
+						reverse(permutation, p + 1, k - 1);
+						pruned = true;
+						break;
+					}
+				}
+				if (!pruned) {
+					int total = prefix[k - 1] + dist[permutation[k - 1] * n];
+					if (total < bestDistance) {
+						bestDistance = total;
+						System.arraycopy(permutation, 0, best, 0, k);
+						bound.accumulateAndGet(total, Math::min);
+						int[] order = new int[k + 2];
+						System.arraycopy(permutation, 0, order, 1, k);
+						control.offer(new IndexedTour(order, total));
+					}
+					rank++;
+				}
+				if (rank >= to) {
+					break;
+				}
+				start = nextPermutation(permutation);
+				if (start < 0) {
+					break;
+				}
+			}
+			return new Best(bestDistance, best);
 		}
-	}
 
-	private int routeDistance(City homeCity, List<City> route, DistanceMatrix matrix) {
-		int total = 0;
-		City current = homeCity;
-		for (City next : route) {
-			total += matrix.getDistance(current, next);
-			current = next;
+		// Permutation of 1..k with the given lexicographic rank
+		private int[] unrank(long rank) {
+			int[] available = new int[k];
+			for (int i = 0; i < k; i++) {
+				available[i] = i + 1;
+			}
+			int[] permutation = new int[k];
+			for (int p = 0; p < k; p++) {
+				long block = factorials[k - 1 - p];
+				int digit = (int) (rank / block);
+				rank %= block;
+				permutation[p] = available[digit];
+				System.arraycopy(available, digit + 1, available, digit, k - 1 - p - digit);
+			}
+			return permutation;
+		}
+
+		// Steps to the next permutation in place; returns the first changed position, or -1 after the last
+		private static int nextPermutation(int[] values) {
+			int i = values.length - 2;
+			while (i >= 0 && values[i] >= values[i + 1]) {
+				i--;
+			}
+			if (i < 0) {
+				return -1;
+			}
+			int j = values.length - 1;
+			while (values[j] <= values[i]) {
+				j--;
+			}
+			int swap = values[i];
+			values[i] = values[j];
+			values[j] = swap;
+			reverse(values, i + 1, values.length - 1);
+			return i;
+		}
+
+		private static void reverse(int[] values, int from, int to) {
+			for (; from < to; from++, to--) {
+				int swap = values[from];
+				values[from] = values[to];
+				values[to] = swap;
+			}
 		}
-		total += matrix.getDistance(current, homeCity);
-		return total;
 	}
 
-	@FunctionalInterface
-	private interface RouteConsumer {
-		void accept(List<City> route, int distance);
+	private final class RangeTask extends RecursiveTask<Best> {
+
+		private final Enumeration enumeration;
+		private final long from;
+		private final long to;
+
+		RangeTask(Enumeration enumeration, long from, long to) {
+			this.enumeration = enumeration;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Best compute() {
+			if (to - from <= permutationsPerTask) {
+				return enumeration.run(from, to);
+			}
+			long middle = from + (to - from) / 2;
+			RangeTask right = new RangeTask(enumeration, middle, to);
+			right.fork();
+			Best left = new RangeTask(enumeration, from, middle).compute();
+			Best other = right.join();
+			// The lower range wins ties, keeping the lexicographically first order
+			return left.distance <= other.distance ? left : other;
+		}
 	}
 }
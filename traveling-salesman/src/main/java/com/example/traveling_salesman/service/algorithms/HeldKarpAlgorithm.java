@@ -1,15 +1,9 @@
 package com.example.traveling_salesman.service.algorithms;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
 
 import org.springframework.stereotype.Component;
 
-import com.example.traveling_salesman.model.City;
-import com.example.traveling_salesman.model.DistanceMatrix;
-
 @Component
 public class HeldKarpAlgorithm implements TspAlgorithm {
 
@@ -19,20 +13,24 @@ public class HeldKarpAlgorithm implements TspAlgorithm {
 	}
 
 	@Override
-	public TspSolution solve(City homeCity, List<City> citiesToVisit, DistanceMatrix matrix) {
-		if (homeCity == null) {
-			throw new IllegalArgumentException("homeCity must not be null");
-		}
-		if (matrix == null) {
-			throw new IllegalArgumentException("matrix must not be null");
-		}
+	public boolean exact() {
+		return true;
+	}
 
-		List<City> cities = deduplicate(citiesToVisit, homeCity);
-		if (cities.isEmpty()) {
-			return new TspSolution(List.of(homeCity, homeCity), 0);
+	@Override
+	public IndexedTour solve(TourInstance instance) {
+		return solve(instance, new SearchControl());
+	}
+
+	// Polls control every 256 subsets
+	@Override
+	public IndexedTour solve(TourInstance instance, SearchControl control) {
+		// Visit city v (0..n-1) is instance index v + 1
+		int n = instance.size() - 1;
+		if (n == 0) {
+			return new IndexedTour(new int[] {0, 0}, 0);
 		}
 
-		int n = cities.size();
 		int subsetCount = 1 << n;
 		int[][] dp = new int[subsetCount][n];
 		int[][] parent = new int[subsetCount][n];
@@ -44,10 +42,13 @@ public class HeldKarpAlgorithm implements TspAlgorithm {
 
 		for (int i = 0; i < n; i++) {
 			int mask = 1 << i;
-			dp[mask][i] = matrix.getDistance(homeCity, cities.get(i));
+			dp[mask][i] = instance.distance(0, i + 1);
 		}
 
 		for (int subset = 1; subset < subsetCount; subset++) {
+			if ((subset & 0xFF) == 0) {
+				control.checkCancelled();
+			}
 			for (int end = 0; end < n; end++) {
 				int endMask = 1 << end;
 				if ((subset & endMask) == 0) {
@@ -61,7 +62,7 @@ public class HeldKarpAlgorithm implements TspAlgorithm {
 					if ((prevSubset & (1 << prev)) == 0) {
 						continue;
 					}
-					int candidate = dp[prevSubset][prev] + matrix.getDistance(cities.get(prev), cities.get(end));
+					int candidate = dp[prevSubset][prev] + instance.distance(prev + 1, end + 1);
 					if (candidate < dp[subset][end]) {
 						dp[subset][end] = candidate;
 						parent[subset][end] = prev;
@@ -78,52 +79,27 @@ public class HeldKarpAlgorithm implements TspAlgorithm {
 			if (routeDistance >= inf) {
 				continue;
 			}
-			int candidate = routeDistance + matrix.getDistance(cities.get(end), homeCity);
+			int candidate = routeDistance + instance.distance(end + 1, 0);
 			if (candidate < bestDistance) {
 				bestDistance = candidate;
 				lastIndex = end;
 			}
 		}
 
-		if (lastIndex == -1) {
-			return new TspSolution(List.of(homeCity, homeCity), 0);
-		}
-
-		List<City> ordered = reconstructPath(cities, parent, fullSet, lastIndex);
-		List<City> path = new ArrayList<>();
-		path.add(homeCity);
-		path.addAll(ordered);
-		path.add(homeCity);
-		return new TspSolution(path, bestDistance);
+		return new IndexedTour(reconstructPath(n, parent, fullSet, lastIndex), bestDistance);
 	}
 
-	private List<City> deduplicate(List<City> citiesToVisit, City homeCity) {
-		List<City> unique = new ArrayList<>();
-		if (citiesToVisit == null) {
-			return unique;
-		}
-		for (City city : citiesToVisit) {
-			if (city != null && city != homeCity && !unique.contains(city)) {
-				unique.add(city);
-			}
-		}
-		return unique;
-	}
-
-	private List<City> reconstructPath(List<City> cities, int[][] parent, int subset, int currentIndex) {
-		List<City> ordered = new ArrayList<>();
+	private int[] reconstructPath(int n, int[][] parent, int subset, int currentIndex) {
+		int[] order = new int[n + 2];
 		int mask = subset;
 		int index = currentIndex;
-		while (index != -1) {
-			ordered.add(cities.get(index));
+		for (int position = n; index != -1; position--) {
+			order[position] = index + 1;
 			int nextMask = mask ^ (1 << index);
 			int nextIndex = parent[mask][index];
 			mask = nextMask;
 			index = nextIndex;
 		}
-		Collections.reverse(ordered);
-		return ordered;
+		return order;
 	}
 }
-
-
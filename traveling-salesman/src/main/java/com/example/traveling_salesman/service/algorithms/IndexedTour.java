@@ -0,0 +1,50 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Tour over the local indices of a {@link TourInstance}: starts and ends at
+ * index 0 (the home city) and visits every other index once.
+ */
+public final class IndexedTour {
+
+	private final int[] order;
+	private final int totalDistance;
+	private final long exploredNodes;
+
+	public IndexedTour(int[] order, int totalDistance) {
+		this(order, totalDistance, -1);
+	}
+
+	// exploredNodes is -1 for solvers that do not count search nodes
+	public IndexedTour(int[] order, int totalDistance, long exploredNodes) {
+		this.order = order.clone();
+		this.totalDistance = totalDistance;
+		this.exploredNodes = exploredNodes;
+	}
+
+	public int[] getOrder() {
+		return order.clone();
+	}
+
+	public int length() {
+		return order.length;
+	}
+
+	public int get(int position) {
+		return order[position];
+	}
+
+	public int getTotalDistance() {
+		return totalDistance;
+	}
+
+	public long getExploredNodes() {
+		return exploredNodes;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(order) + " (" + totalDistance + ")";
+	}
+}
@@ -0,0 +1,363 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import org.springframework.stereotype.Component;
+
+import com.example.traveling_salesman.model.DistanceMatrix;
+
+/**
+ * Nearest-neighbour tour improved by 2-opt and Or-opt moves until neither
+ * finds an improvement.
+ *
+ * Moves are only tried towards each city's few nearest neighbours, and only
+ * while the new edge is shorter than the one it would replace. Cities wait in
+ * a queue (their don't-look bit is clear) until a pass over them finds
+ * nothing; every applied move queues the endpoints of the edges it changed.
+ * The tour is an array plus each city's position; a 2-opt move reverses the
+ * shorter side of the cycle, and an Or-opt segment move is done as two or
+ * three such reversals. Move gains assume a symmetric matrix, which
+ * {@link DistanceMatrix} guarantees; the reported length is always recomputed.
+ * The greedy tour is offered to the {@link SearchControl} before improving,
+ * and a cancelled search offers the tour as far as it got.
+ */
+@Component
+public class LocalSearchAlgorithm implements TspAlgorithm {
+
+	private static final int DEFAULT_NEIGHBOURS = 10;
+	private static final int MAX_SEGMENT = 3;
+
+	private final int neighbours;
+
+	public LocalSearchAlgorithm() {
+		this(DEFAULT_NEIGHBOURS);
+	}
+
+	public LocalSearchAlgorithm(int neighbours) {
+		if (neighbours < 1) {
+			throw new IllegalArgumentException("neighbours must be positive");
+		}
+		this.neighbours = neighbours;
+	}
+
+	@Override
+	public String name() {
+		return "LOCAL_SEARCH";
+	}
+
+	@Override
+	public boolean anytime() {
+		return true;
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance) {
+		return solve(instance, new SearchControl());
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance, SearchControl control) {
+		int n = instance.size();
+		if (n == 1) {
+			return new IndexedTour(new int[] {0, 0}, 0);
+		}
+
+		Tour tour = new Tour(instance, Math.min(neighbours, n - 1));
+		control.offer(tour.closed(instance));
+		if (n >= 5 && !tour.improve(control)) {
+			control.offer(tour.closed(instance));
+			control.checkCancelled();
+		}
+		return tour.closed(instance);
+	}
+
+	private static final class Tour {
+
+		private final int n;
+		private final int[] dist;
+		private final int k;
+		private final int[] nearest;
+		private final int[] tour;
+		private final int[] position;
+
+		// Cities whose don't-look bit is clear, in FIFO order
+		private final int[] queue;
+		private final boolean[] queued;
+		private int head;
+		private int count;
+
+		Tour(TourInstance instance, int k) {
+			this.n = instance.size();
+			this.dist = instance.distances();
+			this.k = k;
+			this.nearest = nearestNeighbours();
+			this.tour = nearestNeighbourTour();
+			this.position = new int[n];
+			for (int i = 0; i < n; i++) {
+				position[tour[i]] = i;
+			}
+			this.queue = new int[n];
+			this.queued = new boolean[n];
+			for (int i = 0; i < n; i++) {
+				push(tour[i]);
+			}
+		}
+
+		// False if control was cancelled before the queue emptied; polled every 256 cities
+		boolean improve(SearchControl control) {
+			for (int popped = 0; count > 0; popped++) {
+				if ((popped & 0xFF) == 0 && control.isCancelled()) {
+					return false;
+				}
+				int city = queue[head];
+				head = (head + 1) % n;
+				count--;
+				queued[city] = false;
+				if (twoOpt(city) || orOpt(city)) {
+					push(city);
+				}
+			}
+			return true;
+		}
+
+		// The tour rotated to start and end at home
+		IndexedTour closed(TourInstance instance) {
+			int[] order = new int[n + 1];
+			int city = 0;
+			for (int i = 0; i < n; i++) {
+				order[i] = city;
+				city = next(city);
+			}
+			return new IndexedTour(order, instance.tourDistance(order));
+		}
+
+		int next(int city) {
+			return tour[position[city] + 1 == n ? 0 : position[city] + 1];
+		}
+
+		int previous(int city) {
+			return tour[position[city] == 0 ? n - 1 : position[city] - 1];
+		}
+
+		// Replaces (a, succ a) or (pred a, a) and an edge at a near neighbour c by (a, c)
+		private boolean twoOpt(int a) {
+			for (int direction = 0; direction < 2; direction++) {
+				boolean forward = direction == 0;
+				int b = forward ? next(a) : previous(a);
+				int removed = distance(a, b);
+				for (int j = 0; j < k; j++) {
+					int c = nearest[a * k + j];
+					int added = distance(a, c);
+					if (added >= removed) {
+						break;
+					}
+					int d = forward ? next(c) : previous(c);
+					if (c == b || d == a) {
+						continue;
+					}
+					int delta = added + distance(b, d) - removed - distance(c, d);
+					if (delta < 0) {
+						exchange(a, b, c, d);
+						push(a);
+						push(b);
+						push(c);
+						push(d);
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		// Moves a segment of up to three cities that starts or ends at a
+		// between two adjacent cities near one of its ends
+		private boolean orOpt(int a) {
+			if (n < 8) {
+				return false;
+			}
+			for (int length = 1; length <= MAX_SEGMENT; length++) {
+				for (int end = 0; end < 2; end++) {
+					int first = a;
+					if (end == 1) {
+						if (length == 1) {
+							continue;
+						}
+						for (int i = 1; i < length; i++) {
+							first = previous(first);
+						}
+					}
+					int last = first;
+					for (int i = 1; i < length; i++) {
+						last = next(last);
+					}
+					if (tryMoveSegment(first, last, length)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		private boolean tryMoveSegment(int first, int last, int length) {
+			int before = previous(first);
+			int after = next(last);
+			int gain = distance(before, first) + distance(last, after) - distance(before, after);
+			if (gain <= 0) {
+				return false;
+			}
+
+			for (int side = 0; side < 2; side++) {
+				// Which segment end joins the neighbour c
+				int near = side == 0 ? first : last;
+				int far = side == 0 ? last : first;
+				for (int j = 0; j < k; j++) {
+					int c = nearest[near * k + j];
+					int joined = distance(near, c);
+					if (joined >= gain) {
+						break;
+					}
+					if (c == before || c == after || inSegment(c, first, length)) {
+						continue;
+					}
+					for (int direction = 0; direction < 2; direction++) {
+						int e = direction == 0 ? next(c) : previous(c);
+						if (e == before || e == after || inSegment(e, first, length)) {
+							continue;
+						}
+						int delta = joined + distance(far, e) - distance(c, e) - gain;
+						if (delta < 0) {
+							moveSegment(first, last, before, after, c, e, near);
+							push(before);
+							push(after);
+							push(first);
+							push(last);
+							push(c);
+							push(e);
+							return true;
+						}
+					}
+				}
+			}
+			return false;
+		}
+
+		private boolean inSegment(int city, int first, int length) {
+			int offset = position[city] - position[first];
+			if (offset < 0) {
+				offset += n;
+			}
+			return offset < length;
+		}
+
+		// before first..last after ... c e  becomes  before after ... c [segment] e,
+		// with near joined to c; (c, e) is a tour edge in either orientation
+		private void moveSegment(int first, int last, int before, int after, int c, int e, int near) {
+			int gapStart = next(c) == e ? c : e;
+			int gapEnd = gapStart == c ? e : c;
+			// before -> first, gapStart -> gapEnd: gives before gapStart ... after last..first gapEnd
+			exchange(before, first, gapStart, gapEnd);
+			// gives before after ... gapStart last..first gapEnd
+			exchange(before, gapStart, after, last);
+			if (near == (gapStart == c ? first : last)) {
+				// gives before after ... gapStart first..last gapEnd
+				exchange(gapStart, last, first, gapEnd);
+			}
+		}
+
+		// Removes tour edges (x, y) and (u, v), where y follows x exactly when v
+		// follows u, and adds (x, u) and (y, v)
+		private void exchange(int x, int y, int u, int v) {
+			if (next(x) == y) {
+				reverse(y, u);
+			} else {
+				reverse(x, v);
+			}
+		}
+
+		// Reverses the path from city `from` forward to city `to`, or the
+		// complementary path when that is shorter; both give the same cycle
+		private void reverse(int from, int to) {
+			int i = position[from];
+			int j = position[to];
+			int inner = j - i;
+			if (inner < 0) {
+				inner += n;
+			}
+			inner++;
+			if (2 * inner > n) {
+				int swap = i;
+				i = j + 1 == n ? 0 : j + 1;
+				j = swap == 0 ? n - 1 : swap - 1;
+				inner = n - inner;
+			}
+			for (int s = 0; s < inner / 2; s++) {
+				int left = tour[i];
+				int right = tour[j];
+				tour[i] = right;
+				position[right] = i;
+				tour[j] = left;
+				position[left] = j;
+				i = i + 1 == n ? 0 : i + 1;
+				j = j == 0 ? n - 1 : j - 1;
+			}
+		}
+
+		private void push(int city) {
+			if (!queued[city]) {
+				queued[city] = true;
+				queue[(head + count) % n] = city;
+				count++;
+			}
+		}
+
+		private int distance(int from, int to) {
+			return dist[from * n + to];
+		}
+
+		// The k nearest other cities of every city, nearest first
+		private int[] nearestNeighbours() {
+			int[] lists = new int[n * k];
+			int[] best = new int[k];
+			for (int i = 0; i < n; i++) {
+				int size = 0;
+				for (int j = 0; j < n; j++) {
+					if (j == i) {
+						continue;
+					}
+					int d = dist[i * n + j];
+					if (size == k && d >= dist[i * n + best[k - 1]]) {
+						continue;
+					}
+					int slot = size < k ? size++ : k - 1;
+					while (slot > 0 && dist[i * n + best[slot - 1]] > d) {
+						best[slot] = best[slot - 1];
+						slot--;
+					}
+					best[slot] = j;
+				}
+				System.arraycopy(best, 0, lists, i * k, k);
+			}
+			return lists;
+		}
+
+		private int[] nearestNeighbourTour() {
+			int[] order = new int[n];
+			boolean[] visited = new boolean[n];
+			visited[0] = true;
+			int current = 0;
+			for (int step = 1; step < n; step++) {
+				int next = -1;
+				int best = Integer.MAX_VALUE;
+				int row = current * n;
+				for (int v = 1; v < n; v++) {
+					if (!visited[v] && dist[row + v] < best) {
+						best = dist[row + v];
+						next = v;
+					}
+				}
+				order[step] = next;
+				visited[next] = true;
+				current = next;
+			}
+			return order;
+		}
+	}
+}
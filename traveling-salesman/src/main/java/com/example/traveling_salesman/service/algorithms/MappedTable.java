@@ -0,0 +1,92 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-size byte table backed by a memory-mapped temporary file, so very
+ * large solver tables live in the page cache instead of on the heap.
+ *
+ * The file is mapped in 1 GB segments (a single mapping is limited to 2 GB)
+ * and deleted again on close. Writes to different indexes never interfere,
+ * so disjoint ranges can be filled by different threads.
+ */
+final class MappedTable implements AutoCloseable {
+
+	private static final int SEGMENT_SHIFT = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	private final Path file;
+	private final FileChannel channel;
+	private final MappedByteBuffer[] segments;
+
+	private MappedTable(Path file, FileChannel channel, MappedByteBuffer[] segments) {
+		this.file = file;
+		this.channel = channel;
+		this.segments = segments;
+	}
+
+	static MappedTable create(Path directory, String prefix, long bytes) {
+		Path file = null;
+		FileChannel channel = null;
+		try {
+			file = Files.createTempFile(directory, prefix, ".tbl");
+			channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			int count = (int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+			MappedByteBuffer[] segments = new MappedByteBuffer[Math.max(1, count)];
+			for (int i = 0; i < segments.length; i++) {
+				long start = (long) i << SEGMENT_SHIFT;
+				long length = Math.max(0, Math.min(1L << SEGMENT_SHIFT, bytes - start));
+				segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, length);
+				segments[i].order(ByteOrder.nativeOrder());
+			}
+			return new MappedTable(file, channel, segments);
+		} catch (IOException ex) {
+			closeQuietly(channel, file);
+			throw new UncheckedIOException("Unable to map solver table in " + directory, ex);
+		}
+	}
+
+	// Index in ints; int slots never straddle a segment because segments are a multiple of 4 bytes
+	int getInt(long index) {
+		long offset = index << 2;
+		return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+	}
+
+	void putInt(long index, int value) {
+		long offset = index << 2;
+		segments[(int) (offset >>> SEGMENT_SHIFT)].putInt((int) (offset & SEGMENT_MASK), value);
+	}
+
+	byte getByte(long index) {
+		return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+	}
+
+	void putByte(long index, byte value) {
+		segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), value);
+	}
+
+	@Override
+	public void close() {
+		closeQuietly(channel, file);
+	}
+
+	private static void closeQuietly(FileChannel channel, Path file) {
+		try {
+			if (channel != null) {
+				channel.close();
+			}
+			if (file != null) {
+				Files.deleteIfExists(file);
+			}
+		} catch (IOException ignored) {
+			// Temp files are best-effort cleanup
+		}
+	}
+}
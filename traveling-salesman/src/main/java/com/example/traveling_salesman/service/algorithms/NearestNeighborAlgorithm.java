@@ -1,13 +1,7 @@
 package com.example.traveling_salesman.service.algorithms;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.springframework.stereotype.Component;
 
-import com.example.traveling_salesman.model.City;
-import com.example.traveling_salesman.model.DistanceMatrix;
-
 @Component
 public class NearestNeighborAlgorithm implements TspAlgorithm {
 
@@ -17,60 +11,42 @@ public class NearestNeighborAlgorithm implements TspAlgorithm {
 	}
 
 	@Override
-	public TspSolution solve(City homeCity, List<City> citiesToVisit, DistanceMatrix matrix) {
-		if (homeCity == null) {
-			throw new IllegalArgumentException("homeCity must not be null");
-		}
-		if (matrix == null) {
-			throw new IllegalArgumentException("matrix must not be null");
-		}
-
-		List<City> remaining = new ArrayList<>();
-		if (citiesToVisit != null) {
-			for (City city : citiesToVisit) {
-				if (city != null && city != homeCity && !remaining.contains(city)) {
-					remaining.add(city);
-				}
-			}
-		}
-
-		if (remaining.isEmpty()) {
-			return new TspSolution(List.of(homeCity, homeCity), 0);
-		}
-
-		List<City> path = new ArrayList<>();
-		path.add(homeCity);
-		City current = homeCity;
+	public IndexedTour solve(TourInstance instance) {
+		int n = instance.size();
+		int[] order = new int[n + 1];
+		boolean[] visited = new boolean[n];
+		visited[0] = true;
+		int current = 0;
 		int totalDistance = 0;
 
-		while (!remaining.isEmpty()) {
-			City next = selectNearestCity(current, remaining, matrix);
-			totalDistance += matrix.getDistance(current, next);
-			path.add(next);
-			remaining.remove(next);
+		for (int position = 1; position < n; position++) {
+			int next = selectNearestCity(instance, current, visited);
+			totalDistance += instance.distance(current, next);
+			order[position] = next;
+			visited[next] = true;
 			current = next;
 		}
 
-		totalDistance += matrix.getDistance(current, homeCity);
-		path.add(homeCity);
-		return new TspSolution(path, totalDistance);
+		totalDistance += instance.distance(current, 0);
+		return new IndexedTour(order, totalDistance);
 	}
 
-	private City selectNearestCity(City current, List<City> remaining, DistanceMatrix matrix) {
-		City best = null;
+	// Ties go to the lower matrix id
+	private int selectNearestCity(TourInstance instance, int current, boolean[] visited) {
+		int best = -1;
 		int bestDistance = Integer.MAX_VALUE;
-		for (City candidate : remaining) {
-			int distance = matrix.getDistance(current, candidate);
+		for (int candidate = 1; candidate < visited.length; candidate++) {
+			if (visited[candidate]) {
+				continue;
+			}
+			int distance = instance.distance(current, candidate);
 			if (distance < bestDistance) {
 				bestDistance = distance;
 				best = candidate;
-			} else if (distance == bestDistance && best != null && candidate.ordinal() < best.ordinal()) {
+			} else if (distance == bestDistance && instance.id(candidate) < instance.id(best)) {
 				best = candidate;
 			}
 		}
-		if (best == null) {
-			throw new IllegalStateException("No candidate city available for nearest neighbor step");
-		}
 		return best;
 	}
 }
@@ -0,0 +1,245 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Held-Karp for instances too large for an on-heap dp table (about 23 to 30
+ * cities to visit).
+ *
+ * Only two cardinality layers are kept, each in a memory-mapped temporary
+ * file. A layer stores one entry per (subset, end in subset), addressed as
+ * rank(subset) * size + position of end within the subset, where rank is the
+ * subset's colex rank; that is the minimum the recurrence needs, unlike the
+ * 2^k * k table of {@link ParallelHeldKarpAlgorithm}. For every entry the
+ * predecessor's position is written as one byte to a parent file, and the
+ * tour is read back from it at the end.
+ *
+ * 28 cities to visit need about 4.5 GB of mapped layers and 3.7 GB of
+ * parents on disk, and almost no heap. Not registered as a Spring bean: game
+ * sessions have at most ten cities and would only pay for the temporary files.
+ */
+public class OffHeapHeldKarpAlgorithm implements TspAlgorithm {
+
+	// Subsets are int bit masks and parent positions fit in a byte
+	public static final int MAX_VISIT_CITIES = 30;
+
+	private static final int DEFAULT_SUBSETS_PER_TASK = 1 << 10;
+
+	private final Path directory;
+	private final ForkJoinPool pool;
+	private final int subsetsPerTask;
+
+	public OffHeapHeldKarpAlgorithm() {
+		this(Path.of(System.getProperty("java.io.tmpdir")), ForkJoinPool.commonPool(), DEFAULT_SUBSETS_PER_TASK);
+	}
+
+	public OffHeapHeldKarpAlgorithm(Path directory, ForkJoinPool pool, int subsetsPerTask) {
+		this.directory = directory;
+		this.pool = pool;
+		this.subsetsPerTask = subsetsPerTask;
+	}
+
+	@Override
+	public String name() {
+		return "HELD_KARP_OFF_HEAP";
+	}
+
+	@Override
+	public boolean exact() {
+		return true;
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance) {
+		int k = instance.size() - 1;
+		if (k == 0) {
+			return new IndexedTour(new int[] {0, 0}, 0);
+		}
+		if (k > MAX_VISIT_CITIES) {
+			throw new IllegalArgumentException("Off-heap Held-Karp supports at most " + MAX_VISIT_CITIES + " cities to visit");
+		}
+
+		int[] dist = new int[k * k];
+		int[] fromHome = new int[k];
+		int[] toHome = new int[k];
+		for (int i = 0; i < k; i++) {
+			fromHome[i] = instance.distance(0, i + 1);
+			toHome[i] = instance.distance(i + 1, 0);
+			for (int j = 0; j < k; j++) {
+				dist[i * k + j] = instance.distance(i + 1, j + 1);
+			}
+		}
+
+		long[][] binomials = ParallelHeldKarpAlgorithm.binomials(k);
+		long largestLayer = 0;
+		long[] parentOffsets = new long[k + 2];
+		for (int size = 1; size <= k; size++) {
+			long entries = binomials[k][size] * size;
+			largestLayer = Math.max(largestLayer, entries);
+			parentOffsets[size + 1] = parentOffsets[size] + entries;
+		}
+
+		try (MappedTable first = MappedTable.create(directory, "held-karp-layer", largestLayer * Integer.BYTES);
+				MappedTable second = MappedTable.create(directory, "held-karp-layer", largestLayer * Integer.BYTES);
+				MappedTable parents = MappedTable.create(directory, "held-karp-parents", parentOffsets[k + 1])) {
+
+			// The size-1 subset {v} has rank v
+			for (int end = 0; end < k; end++) {
+				first.putInt(end, fromHome[end]);
+			}
+
+			MappedTable previous = first;
+			MappedTable current = second;
+			for (int size = 2; size <= k; size++) {
+				Layer layer = new Layer(k, dist, binomials, previous, current, parents, parentOffsets[size]);
+				long count = binomials[k][size];
+				if (count <= subsetsPerTask) {
+					layer.fill(size, 0, count);
+				} else {
+					pool.invoke(new LayerTask(layer, size, 0, count));
+				}
+				MappedTable swap = previous;
+				previous = current;
+				current = swap;
+			}
+
+			// The full set is the only subset of size k, rank 0; positions are cities
+			int best = Integer.MAX_VALUE;
+			int last = -1;
+			for (int end = 0; end < k; end++) {
+				int candidate = previous.getInt(end) + toHome[end];
+				if (candidate < best) {
+					best = candidate;
+					last = end;
+				}
+			}
+
+			int[] order = new int[k + 2];
+			int subset = (1 << k) - 1;
+			int position = last;
+			for (int size = k; size >= 1; size--) {
+				int city = nthBit(subset, position);
+				order[size] = city + 1;
+				if (size == 1) {
+					break;
+				}
+				position = parents.getByte(parentOffsets[size] + rank(subset, binomials) * size + position);
+				subset ^= 1 << city;
+			}
+			return new IndexedTour(order, best);
+		}
+	}
+
+	// Colex rank among subsets of the same size: sum of C(b_t, t) over the set bits b_1 < b_2 < ...
+	static long rank(int subset, long[][] binomials) {
+		long rank = 0;
+		int t = 1;
+		for (int bits = subset; bits != 0; bits &= bits - 1) {
+			rank += binomials[Integer.numberOfTrailingZeros(bits)][t++];
+		}
+		return rank;
+	}
+
+	private static int nthBit(int subset, int n) {
+		int bits = subset;
+		for (int i = 0; i < n; i++) {
+			bits &= bits - 1;
+		}
+		return Integer.numberOfTrailingZeros(bits);
+	}
+
+	private static final class Layer {
+
+		private final int k;
+		private final int[] dist;
+		private final long[][] binomials;
+		private final MappedTable previous;
+		private final MappedTable current;
+		private final MappedTable parents;
+		private final long parentOffset;
+
+		Layer(int k, int[] dist, long[][] binomials, MappedTable previous, MappedTable current,
+				MappedTable parents, long parentOffset) {
+			this.k = k;
+			this.dist = dist;
+			this.binomials = binomials;
+			this.previous = previous;
+			this.current = current;
+			this.parents = parents;
+			this.parentOffset = parentOffset;
+		}
+
+		// Fills every subset of the given size with rank in [from, to)
+		void fill(int size, long from, long to) {
+			int[] cities = new int[size];
+			long[] below = new long[size + 1];
+			long[] above = new long[size + 1];
+
+			int subset = ParallelHeldKarpAlgorithm.unrank(from, size, binomials);
+			for (long rank = from; rank < to; rank++) {
+				int t = 0;
+				for (int bits = subset; bits != 0; bits &= bits - 1) {
+					cities[t++] = Integer.numberOfTrailingZeros(bits);
+				}
+				// Rank of subset minus cities[m] = below[m] + above[m + 1]:
+				// elements under m keep their index, elements over it drop by one
+				for (int m = 0; m < size; m++) {
+					below[m + 1] = below[m] + binomials[cities[m]][m + 1];
+				}
+				above[size] = 0;
+				for (int m = size - 1; m >= 1; m--) {
+					above[m] = above[m + 1] + binomials[cities[m]][m];
+				}
+
+				for (int m = 0; m < size; m++) {
+					int end = cities[m];
+					long base = (below[m] + above[m + 1]) * (size - 1);
+					int best = Integer.MAX_VALUE;
+					int bestPosition = 0;
+					for (int p = 0; p < size - 1; p++) {
+						int prev = cities[p < m ? p : p + 1];
+						int candidate = previous.getInt(base + p) + dist[prev * k + end];
+						if (candidate < best) {
+							best = candidate;
+							bestPosition = p;
+						}
+					}
+					long index = rank * size + m;
+					current.putInt(index, best);
+					parents.putByte(parentOffset + index, (byte) bestPosition);
+				}
+
+				if (rank + 1 < to) {
+					subset = ParallelHeldKarpAlgorithm.nextSubset(subset);
+				}
+			}
+		}
+	}
+
+	private final class LayerTask extends RecursiveAction {
+
+		private final Layer layer;
+		private final int size;
+		private final long from;
+		private final long to;
+
+		LayerTask(Layer layer, int size, long from, long to) {
+			this.layer = layer;
+			this.size = size;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= subsetsPerTask) {
+				layer.fill(size, from, to);
+				return;
+			}
+			long middle = (from + to) >>> 1;
+			invokeAll(new LayerTask(layer, size, from, middle), new LayerTask(layer, size, middle, to));
+		}
+	}
+}
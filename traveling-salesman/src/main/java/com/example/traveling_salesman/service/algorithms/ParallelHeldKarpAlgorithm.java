@@ -0,0 +1,227 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Held-Karp over flat primitive arrays, filled one cardinality layer at a time.
+ *
+ * dp[subset * k + end] is the shortest path that leaves home, visits exactly
+ * the cities in subset and stops at end. Every subset of size c only reads
+ * subsets of size c - 1, so a whole layer can be filled in parallel: its
+ * subsets are walked in increasing order with Gosper's hack, and each
+ * fork/join task starts from its first subset by unranking it in the
+ * combinatorial number system. No parent table is kept; the tour is rebuilt
+ * by finding, at each step, the predecessor whose dp entry explains the
+ * current one. The {@link SearchControl} is polled at the start of every
+ * task's range.
+ */
+@Component
+public class ParallelHeldKarpAlgorithm implements TspAlgorithm {
+
+	// 2^24 subsets * 24 ends * 4 bytes = 1.5 GB of dp table
+	public static final int MAX_VISIT_CITIES = 24;
+
+	private static final int DEFAULT_SUBSETS_PER_TASK = 1 << 11;
+
+	private final ForkJoinPool pool;
+	private final int subsetsPerTask;
+
+	public ParallelHeldKarpAlgorithm() {
+		this(ForkJoinPool.commonPool(), DEFAULT_SUBSETS_PER_TASK);
+	}
+
+	public ParallelHeldKarpAlgorithm(ForkJoinPool pool, int subsetsPerTask) {
+		this.pool = pool;
+		this.subsetsPerTask = subsetsPerTask;
+	}
+
+	@Override
+	public String name() {
+		return "HELD_KARP_PARALLEL";
+	}
+
+	@Override
+	public boolean exact() {
+		return true;
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance) {
+		return solve(instance, new SearchControl());
+	}
+
+	@Override
+	public IndexedTour solve(TourInstance instance, SearchControl control) {
+		int k = instance.size() - 1;
+		if (k == 0) {
+			return new IndexedTour(new int[] {0, 0}, 0);
+		}
+		if (k > MAX_VISIT_CITIES) {
+			throw new IllegalArgumentException("Held-Karp supports at most " + MAX_VISIT_CITIES + " cities to visit");
+		}
+
+		// Visit city v (0..k-1) is instance index v + 1
+		int[] dist = new int[k * k];
+		int[] fromHome = new int[k];
+		int[] toHome = new int[k];
+		for (int i = 0; i < k; i++) {
+			fromHome[i] = instance.distance(0, i + 1);
+			toHome[i] = instance.distance(i + 1, 0);
+			for (int j = 0; j < k; j++) {
+				dist[i * k + j] = instance.distance(i + 1, j + 1);
+			}
+		}
+
+		int[] dp = new int[(1 << k) * k];
+		for (int end = 0; end < k; end++) {
+			dp[(1 << end) * k + end] = fromHome[end];
+		}
+
+		long[][] binomials = binomials(k);
+		Layer layer = new Layer(k, dist, dp, binomials, control);
+		for (int size = 2; size <= k; size++) {
+			long count = binomials[k][size];
+			if (count <= subsetsPerTask) {
+				layer.fill(size, 0, count);
+			} else {
+				pool.invoke(new LayerTask(layer, size, 0, count));
+			}
+		}
+
+		int full = (1 << k) - 1;
+		int best = Integer.MAX_VALUE;
+		int last = -1;
+		for (int end = 0; end < k; end++) {
+			int candidate = dp[full * k + end] + toHome[end];
+			if (candidate < best) {
+				best = candidate;
+				last = end;
+			}
+		}
+
+		int[] order = new int[k + 2];
+		int subset = full;
+		int end = last;
+		for (int position = k; position >= 1; position--) {
+			order[position] = end + 1;
+			int previous = subset ^ (1 << end);
+			if (previous == 0) {
+				break;
+			}
+			int target = dp[subset * k + end];
+			int from = -1;
+			for (int bits = previous; bits != 0; bits &= bits - 1) {
+				int candidate = Integer.numberOfTrailingZeros(bits);
+				if (dp[previous * k + candidate] + dist[candidate * k + end] == target) {
+					from = candidate;
+					break;
+				}
+			}
+			subset = previous;
+			end = from;
+		}
+		return new IndexedTour(order, best);
+	}
+
+	static long[][] binomials(int n) {
+		long[][] binomials = new long[n + 1][n + 1];
+		for (int i = 0; i <= n; i++) {
+			binomials[i][0] = 1;
+			for (int j = 1; j <= i; j++) {
+				binomials[i][j] = binomials[i - 1][j - 1] + binomials[i - 1][j];
+			}
+		}
+		return binomials;
+	}
+
+	// The rank-th subset of the given size in increasing numeric order (colex)
+	static int unrank(long rank, int size, long[][] binomials) {
+		int subset = 0;
+		for (int i = size; i >= 1; i--) {
+			int bit = i - 1;
+			while (bit + 1 < binomials.length && binomials[bit + 1][i] <= rank) {
+				bit++;
+			}
+			subset |= 1 << bit;
+			rank -= binomials[bit][i];
+		}
+		return subset;
+	}
+
+	// Gosper's hack: the next larger int with the same number of set bits
+	static int nextSubset(int subset) {
+		int lowest = subset & -subset;
+		int ripple = subset + lowest;
+		return (((ripple ^ subset) >>> 2) / lowest) | ripple;
+	}
+
+	private static final class Layer {
+
+		private final int k;
+		private final int[] dist;
+		private final int[] dp;
+		private final long[][] binomials;
+		private final SearchControl control;
+
+		Layer(int k, int[] dist, int[] dp, long[][] binomials, SearchControl control) {
+			this.k = k;
+			this.dist = dist;
+			this.dp = dp;
+			this.binomials = binomials;
+			this.control = control;
+		}
+
+		// Fills every subset of the given size with rank in [from, to)
+		void fill(int size, long from, long to) {
+			control.checkCancelled();
+			int subset = unrank(from, size, binomials);
+			for (long rank = from; rank < to; rank++) {
+				for (int ends = subset; ends != 0; ends &= ends - 1) {
+					int end = Integer.numberOfTrailingZeros(ends);
+					int previous = subset ^ (1 << end);
+					int base = previous * k;
+					int best = Integer.MAX_VALUE;
+					for (int bits = previous; bits != 0; bits &= bits - 1) {
+						int prev = Integer.numberOfTrailingZeros(bits);
+						int candidate = dp[base + prev] + dist[prev * k + end];
+						if (candidate < best) {
+							best = candidate;
+						}
+					}
+					dp[subset * k + end] = best;
+				}
+				if (rank + 1 < to) {
+					subset = nextSubset(subset);
+				}
+			}
+		}
+	}
+
+	private final class LayerTask extends RecursiveAction {
+
+		private final Layer layer;
+		private final int size;
+		private final long from;
+		private final long to;
+
+		LayerTask(Layer layer, int size, long from, long to) {
+			this.layer = layer;
+			this.size = size;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= subsetsPerTask) {
+				layer.fill(size, from, to);
+				return;
+			}
+			long middle = (from + to) >>> 1;
+			invokeAll(new LayerTask(layer, size, from, middle), new LayerTask(layer, size, middle, to));
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shared between one solve and whoever is waiting on it: the caller can
+ * cancel the search, and anytime algorithms offer every better tour they find
+ * so a cancelled search still leaves its best-so-far behind.
+ *
+ * Algorithms poll {@link #checkCancelled()} every so often and give up with a
+ * {@link CancellationException}; nothing is interrupted.
+ */
+public final class SearchControl {
+
+	private volatile boolean cancelled;
+	private final AtomicReference<IndexedTour> best = new AtomicReference<>();
+
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public void checkCancelled() {
+		if (cancelled) {
+			throw new CancellationException("search cancelled");
+		}
+	}
+
+	// Keeps the tour if it is shorter than the best offered so far
+	public void offer(IndexedTour tour) {
+		best.accumulateAndGet(tour,
+				(current, offered) -> current == null || offered.getTotalDistance() < current.getTotalDistance()
+						? offered
+						: current);
+	}
+
+	// Shortest tour offered, or null
+	public IndexedTour best() {
+		return best.get();
+	}
+}
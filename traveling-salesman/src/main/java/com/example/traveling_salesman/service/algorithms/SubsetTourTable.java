@@ -0,0 +1,164 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+
+/**
+ * Optimal tours from one home city for every subset of the other cities,
+ * from a single Held-Karp pass.
+ *
+ * The dp table already holds the best path from home through each subset to
+ * each end, so closing every subset's cheapest path back home answers all
+ * 2^k selections at once. Only the answers are kept: the tour length and last
+ * city of every subset, and a byte parent per (subset, end) to rebuild the
+ * order; for the game's nine visitable cities that is about 7 KB.
+ */
+public final class SubsetTourTable {
+
+	// 2^20 subsets * 20 parent bytes = 20 MB
+	public static final int MAX_VISIT_CITIES = 20;
+
+	private final int homeId;
+	private final int k;
+	private final int[] ids;
+	private final int[] localBits;
+	private final int[] best;
+	private final byte[] last;
+	private final byte[] parent;
+
+	private SubsetTourTable(int homeId, int[] ids, int[] localBits, int[] best, byte[] last, byte[] parent) {
+		this.homeId = homeId;
+		this.k = ids.length;
+		this.ids = ids;
+		this.localBits = localBits;
+		this.best = best;
+		this.last = last;
+		this.parent = parent;
+	}
+
+	public static SubsetTourTable of(DistanceMatrix matrix, int homeId) {
+		if (matrix == null) {
+			throw new IllegalArgumentException("matrix must not be null");
+		}
+		int k = matrix.size() - 1;
+		if (k > MAX_VISIT_CITIES) {
+			throw new IllegalArgumentException("Subset table supports at most " + MAX_VISIT_CITIES + " cities to visit");
+		}
+		TourInstance instance = TourInstance.allCities(matrix, homeId);
+
+		// Visit city v (0..k-1) is instance index v + 1
+		int[] ids = new int[k];
+		int[] localBits = new int[matrix.size()];
+		localBits[homeId] = -1;
+		for (int v = 0; v < k; v++) {
+			ids[v] = instance.id(v + 1);
+			localBits[ids[v]] = v;
+		}
+
+		int subsets = 1 << k;
+		int[] dp = new int[subsets * k];
+		byte[] parent = new byte[subsets * k];
+		for (int end = 0; end < k; end++) {
+			dp[(1 << end) * k + end] = instance.distance(0, end + 1);
+			parent[(1 << end) * k + end] = -1;
+		}
+		// Removing a city gives a smaller number, so increasing order fills every predecessor first
+		for (int subset = 1; subset < subsets; subset++) {
+			if ((subset & (subset - 1)) == 0) {
+				continue;
+			}
+			for (int ends = subset; ends != 0; ends &= ends - 1) {
+				int end = Integer.numberOfTrailingZeros(ends);
+				int previous = subset ^ (1 << end);
+				int bestCost = Integer.MAX_VALUE;
+				int bestPrevious = -1;
+				for (int bits = previous; bits != 0; bits &= bits - 1) {
+					int prev = Integer.numberOfTrailingZeros(bits);
+					int candidate = dp[previous * k + prev] + instance.distance(prev + 1, end + 1);
+					if (candidate < bestCost) {
+						bestCost = candidate;
+						bestPrevious = prev;
+					}
+				}
+				dp[subset * k + end] = bestCost;
+				parent[subset * k + end] = (byte) bestPrevious;
+			}
+		}
+
+		int[] best = new int[subsets];
+		byte[] last = new byte[subsets];
+		last[0] = -1;
+		for (int subset = 1; subset < subsets; subset++) {
+			int bestCost = Integer.MAX_VALUE;
+			for (int ends = subset; ends != 0; ends &= ends - 1) {
+				int end = Integer.numberOfTrailingZeros(ends);
+				int candidate = dp[subset * k + end] + instance.distance(end + 1, 0);
+				if (candidate < bestCost) {
+					bestCost = candidate;
+					last[subset] = (byte) end;
+				}
+			}
+			best[subset] = bestCost;
+		}
+		return new SubsetTourTable(homeId, ids, localBits, best, last, parent);
+	}
+
+	public int getHomeId() {
+		return homeId;
+	}
+
+	/**
+	 * Optimal tour length through the cities whose matrix id bits are set;
+	 * the home bit is ignored
+	 */
+	public int distance(long idMask) {
+		return best[localMask(idMask)];
+	}
+
+	// Matrix ids of the optimal tour, home at both ends
+	public int[] tourIds(long idMask) {
+		int subset = localMask(idMask);
+		int[] tour = new int[Integer.bitCount(subset) + 2];
+		tour[0] = homeId;
+		tour[tour.length - 1] = homeId;
+		int end = last[subset];
+		for (int position = tour.length - 2; position >= 1; position--) {
+			tour[position] = ids[end];
+			int previous = parent[subset * k + end];
+			subset ^= 1 << end;
+			end = previous;
+		}
+		return tour;
+	}
+
+	public TspSolution solution(long idMask) {
+		City[] cities = City.values();
+		int[] tour = tourIds(idMask);
+		List<City> path = new ArrayList<>(tour.length);
+		for (int id : tour) {
+			if (id >= cities.length) {
+				throw new IllegalStateException("city id " + id + " has no City constant");
+			}
+			path.add(cities[id]);
+		}
+		return new TspSolution(path, distance(idMask));
+	}
+
+	private int localMask(long idMask) {
+		// At most 21 ids, so the shift stays below 64
+		if (idMask >>> localBits.length != 0) {
+			throw new IllegalArgumentException("city mask has ids outside the matrix");
+		}
+		int subset = 0;
+		for (long bits = idMask; bits != 0; bits &= bits - 1) {
+			int bit = localBits[Long.numberOfTrailingZeros(bits)];
+			if (bit >= 0) {
+				subset |= 1 << bit;
+			}
+		}
+		return subset;
+	}
+}
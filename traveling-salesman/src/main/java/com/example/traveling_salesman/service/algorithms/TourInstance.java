@@ -0,0 +1,167 @@
+package com.example.traveling_salesman.service.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+
+/**
+ * A TSP instance copied into a local, flat, row-major int[] distance table so
+ * solvers index primitives in their inner loops instead of going through
+ * {@link DistanceMatrix} lookups.
+ *
+ * Index 0 is the home city and 1..size-1 are the distinct cities to visit;
+ * each index remembers the matrix id it came from.
+ */
+public final class TourInstance {
+
+	private final int size;
+	private final int[] distances;
+	private final int[] ids;
+
+	private TourInstance(int size, int[] distances, int[] ids) {
+		this.size = size;
+		this.distances = distances;
+		this.ids = ids;
+	}
+
+	/**
+	 * Home city plus the distinct, non-home cities of citiesToVisit in their given order.
+	 */
+	public static TourInstance of(City homeCity, List<City> citiesToVisit, DistanceMatrix matrix) {
+		if (homeCity == null) {
+			throw new IllegalArgumentException("homeCity must not be null");
+		}
+		if (matrix == null) {
+			throw new IllegalArgumentException("matrix must not be null");
+		}
+		int[] visitIds = new int[citiesToVisit == null ? 0 : citiesToVisit.size()];
+		int count = 0;
+		if (citiesToVisit != null) {
+			for (City city : citiesToVisit) {
+				if (city != null) {
+					visitIds[count++] = city.ordinal();
+				}
+			}
+		}
+		return of(matrix, homeCity.ordinal(), Arrays.copyOf(visitIds, count));
+	}
+
+	/**
+	 * Home id plus the distinct, non-home ids of visitIds in their given order.
+	 */
+	public static TourInstance of(DistanceMatrix matrix, int homeId, int[] visitIds) {
+		if (matrix == null) {
+			throw new IllegalArgumentException("matrix must not be null");
+		}
+		Objects.checkIndex(homeId, matrix.size());
+
+		boolean[] seen = new boolean[matrix.size()];
+		int[] ids = new int[matrix.size()];
+		ids[0] = homeId;
+		seen[homeId] = true;
+		int size = 1;
+		if (visitIds != null) {
+			for (int id : visitIds) {
+				if (!seen[Objects.checkIndex(id, matrix.size())]) {
+					seen[id] = true;
+					ids[size++] = id;
+				}
+			}
+		}
+
+		int[] distances = new int[size * size];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				distances[i * size + j] = matrix.getDistance(ids[i], ids[j]);
+			}
+		}
+		return new TourInstance(size, distances, Arrays.copyOf(ids, size));
+	}
+
+	/**
+	 * Every city of the matrix, with homeId first and the rest in id order.
+	 */
+	public static TourInstance allCities(DistanceMatrix matrix, int homeId) {
+		if (matrix == null) {
+			throw new IllegalArgumentException("matrix must not be null");
+		}
+		int[] visitIds = new int[matrix.size()];
+		for (int id = 0; id < visitIds.length; id++) {
+			visitIds[id] = id;
+		}
+		return of(matrix, homeId, visitIds);
+	}
+
+	/**
+	 * Instance over a raw square matrix with row 0 as home; indices are ids.
+	 */
+	public static TourInstance of(int[][] matrix) {
+		Objects.requireNonNull(matrix, "distance matrix must not be null");
+		int size = matrix.length;
+		if (size == 0) {
+			throw new IllegalArgumentException("distance matrix must not be empty");
+		}
+		int[] distances = new int[size * size];
+		int[] ids = new int[size];
+		for (int i = 0; i < size; i++) {
+			if (matrix[i] == null || matrix[i].length != size) {
+				throw new IllegalArgumentException("distance matrix must be square");
+			}
+			System.arraycopy(matrix[i], 0, distances, i * size, size);
+			ids[i] = i;
+		}
+		return new TourInstance(size, distances, ids);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int distance(int from, int to) {
+		return distances[from * size + to];
+	}
+
+	// Shared, not copied: callers must treat it as read-only
+	int[] distances() {
+		return distances;
+	}
+
+	public int tourDistance(int[] order) {
+		int total = 0;
+		for (int i = 1; i < order.length; i++) {
+			total += distances[order[i - 1] * size + order[i]];
+		}
+		return total;
+	}
+
+	// Matrix id of a local index
+	public int id(int index) {
+		return ids[index];
+	}
+
+	// Matrix ids of the tour, home at both ends
+	public int[] toIds(IndexedTour tour) {
+		int[] result = new int[tour.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = ids[tour.get(i)];
+		}
+		return result;
+	}
+
+	public TspSolution toSolution(IndexedTour tour) {
+		City[] cities = City.values();
+		List<City> path = new ArrayList<>(tour.length());
+		for (int i = 0; i < tour.length(); i++) {
+			int id = ids[tour.get(i)];
+			if (id >= cities.length) {
+				throw new IllegalStateException("city id " + id + " has no City constant");
+			}
+			path.add(cities[id]);
+		}
+		return new TspSolution(path, tour.getTotalDistance(), tour.getExploredNodes());
+	}
+}
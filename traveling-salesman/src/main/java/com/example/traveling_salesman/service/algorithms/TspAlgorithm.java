@@ -8,5 +8,33 @@ public interface TspAlgorithm {
 
 	String name();
 
-	TspSolution solve(City homeCity, List<City> citiesToVisit, DistanceMatrix matrix);
+	// True when solve always returns an optimal tour
+	default boolean exact() {
+		return false;
+	}
+
+	/**
+	 * Solves over dense local indices (0 is home), with no City lookups;
+	 * usable for instances of any size the algorithm can handle.
+	 */
+	IndexedTour solve(TourInstance instance);
+
+	// True when solve(instance, control) offers each better tour as it finds it
+	default boolean anytime() {
+		return false;
+	}
+
+	/**
+	 * Like solve(instance), but gives up with a CancellationException soon
+	 * after control is cancelled. The default ignores control, which suits
+	 * algorithms that finish quickly anyway.
+	 */
+	default IndexedTour solve(TourInstance instance, SearchControl control) {
+		return solve(instance);
+	}
+
+	default TspSolution solve(City homeCity, List<City> citiesToVisit, DistanceMatrix matrix) {
+		TourInstance instance = TourInstance.of(homeCity, citiesToVisit, matrix);
+		return instance.toSolution(solve(instance));
+	}
 }
@@ -7,10 +7,17 @@ import java.util.List;
 public class TspSolution {
     private final List<City> orderedPath;
     private final int totalDistance;
+    private final long exploredNodes;
 
     public TspSolution(List<City> orderedPath, int totalDistance) {
+        this(orderedPath, totalDistance, -1);
+    }
+
+    // exploredNodes is -1 for algorithms that do not count search nodes
+    public TspSolution(List<City> orderedPath, int totalDistance, long exploredNodes) {
         this.orderedPath = List.copyOf(orderedPath);
         this.totalDistance = totalDistance;
+        this.exploredNodes = exploredNodes;
     }
 
     public List<City> getOrderedPath() {
@@ -20,4 +27,8 @@ public class TspSolution {
     public int getTotalDistance() {
         return totalDistance;
     }
+
+    public long getExploredNodes() {
+        return exploredNodes;
+    }
 }
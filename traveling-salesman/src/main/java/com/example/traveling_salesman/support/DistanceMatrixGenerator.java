@@ -25,15 +25,22 @@ public class DistanceMatrixGenerator {
 	}
 
 	public DistanceMatrix generate() {
-		int[][] matrix = new int[CITY_COUNT][CITY_COUNT];
-		for (int i = 0; i < CITY_COUNT; i++) {
-			for (int j = i + 1; j < CITY_COUNT; j++) {
+		return generate(CITY_COUNT);
+	}
+
+	public DistanceMatrix generate(int cityCount) {
+		if (cityCount < 1) {
+			throw new IllegalArgumentException("cityCount must be positive");
+		}
+		int[] matrix = new int[cityCount * cityCount];
+		for (int i = 0; i < cityCount; i++) {
+			for (int j = i + 1; j < cityCount; j++) {
 				int distance = nextDistance();
-				matrix[i][j] = distance;
-				matrix[j][i] = distance;
+				matrix[i * cityCount + j] = distance;
+				matrix[j * cityCount + i] = distance;
 			}
 		}
-		return new DistanceMatrix(matrix);
+		return new DistanceMatrix(cityCount, matrix);
 	}
 
 	private int nextDistance() {
@@ -0,0 +1,103 @@
+package com.example.traveling_salesman.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.service.algorithms.BranchAndBoundAlgorithm;
+import com.example.traveling_salesman.service.algorithms.HeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.IndexedTour;
+import com.example.traveling_salesman.service.algorithms.ParallelHeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.SearchControl;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspSolution;
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
+class BranchAndBoundAlgorithmTest {
+
+    private final BranchAndBoundAlgorithm algorithm = new BranchAndBoundAlgorithm();
+
+    @Test
+    void matchesHeldKarpOnGeneratedSessions() {
+        HeldKarpAlgorithm reference = new HeldKarpAlgorithm();
+        for (long seed = 0; seed < 20; seed++) {
+            DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(seed)).generate();
+            List<City> visit = List.of(City.A, City.B, City.D, City.E, City.F, City.G, City.H, City.I, City.J);
+
+            TspSolution expected = reference.solve(City.C, visit, matrix);
+            TspSolution actual = algorithm.solve(City.C, visit, matrix);
+
+            assertEquals(expected.getTotalDistance(), actual.getTotalDistance());
+            assertEquals(City.C, actual.getOrderedPath().get(0));
+            assertEquals(11, actual.getOrderedPath().size());
+            assertTrue(actual.getExploredNodes() > 0);
+        }
+    }
+
+    @Test
+    void matchesParallelHeldKarpOnLargerInstances() {
+        ParallelHeldKarpAlgorithm reference = new ParallelHeldKarpAlgorithm();
+        for (int size = 4; size <= 16; size += 3) {
+            TourInstance instance = TourInstance.of(ParallelHeldKarpAlgorithmTest.randomMatrix(size, size));
+
+            IndexedTour tour = algorithm.solve(instance);
+
+            assertEquals(reference.solve(instance).getTotalDistance(), tour.getTotalDistance());
+            ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+        }
+    }
+
+    @Test
+    void solvesTwentyCities() {
+        TourInstance instance = TourInstance.of(ParallelHeldKarpAlgorithmTest.randomMatrix(20, 3));
+
+        IndexedTour tour = algorithm.solve(instance);
+
+        ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+        assertEquals(new ParallelHeldKarpAlgorithm().solve(instance).getTotalDistance(), tour.getTotalDistance());
+    }
+
+    @Test
+    void handlesTrivialInstances() {
+        DistanceMatrix matrix = new DistanceMatrix(new int[][] {{0, 4, 5}, {4, 0, 6}, {5, 6, 0}});
+
+        assertEquals(List.of(City.A, City.A), algorithm.solve(City.A, List.of(), matrix).getOrderedPath());
+        TspSolution single = algorithm.solve(City.A, List.of(City.B, City.A, City.B), matrix);
+        assertEquals(List.of(City.A, City.B, City.A), single.getOrderedPath());
+        assertEquals(8, single.getTotalDistance());
+        assertEquals(15, algorithm.solve(City.C, List.of(City.A, City.B), matrix).getTotalDistance());
+    }
+
+    @Test
+    void countsFewerNodesThanFullEnumeration() {
+        TourInstance instance = TourInstance.of(ParallelHeldKarpAlgorithmTest.randomMatrix(12, 11));
+
+        // A full search tree over 11 cities to visit has more than 11! nodes
+        assertTrue(algorithm.solve(instance).getExploredNodes() < 39_916_800L);
+    }
+
+    @Test
+    void rejectsMissingInput() {
+        assertThrows(IllegalArgumentException.class, () -> algorithm.solve(null, List.of(City.B), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> algorithm.solve(City.A, List.of(City.B), null));
+    }
+
+    @Test
+    void cancelledSearchLeavesItsStartingTour() {
+        TourInstance instance = TourInstance.of(LocalSearchAlgorithmTest.euclideanMatrix(30, 2));
+        SearchControl control = new SearchControl();
+        control.cancel();
+
+        assertThrows(CancellationException.class, () -> algorithm.solve(instance, control));
+        ParallelHeldKarpAlgorithmTest.assertValidTour(instance, control.best());
+    }
+}
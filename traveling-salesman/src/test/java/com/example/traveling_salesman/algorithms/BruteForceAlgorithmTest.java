@@ -0,0 +1,98 @@
+package com.example.traveling_salesman.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.service.algorithms.BruteForceAlgorithm;
+import com.example.traveling_salesman.service.algorithms.HeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.IndexedTour;
+import com.example.traveling_salesman.service.algorithms.ParallelHeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.SearchControl;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspSolution;
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
+class BruteForceAlgorithmTest {
+
+    private final BruteForceAlgorithm algorithm = new BruteForceAlgorithm();
+
+    @Test
+    void matchesHeldKarpOnGeneratedSessions() {
+        HeldKarpAlgorithm reference = new HeldKarpAlgorithm();
+        for (long seed = 0; seed < 10; seed++) {
+            DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(seed)).generate();
+            List<City> visit = List.of(City.A, City.B, City.D, City.E, City.F, City.G, City.H, City.I, City.J);
+
+            TspSolution expected = reference.solve(City.C, visit, matrix);
+            TspSolution actual = algorithm.solve(City.C, visit, matrix);
+
+            assertEquals(expected.getTotalDistance(), actual.getTotalDistance());
+            assertEquals(City.C, actual.getOrderedPath().get(0));
+            assertEquals(11, actual.getOrderedPath().size());
+        }
+    }
+
+    @Test
+    void smallRangesGiveTheSameTour() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TourInstance instance = TourInstance.of(ParallelHeldKarpAlgorithmTest.randomMatrix(9, 5));
+
+            IndexedTour whole = new BruteForceAlgorithm(pool, Long.MAX_VALUE).solve(instance);
+            // Ranges of 7 start part way into most prefix blocks
+            IndexedTour split = new BruteForceAlgorithm(pool, 7).solve(instance);
+
+            assertArrayEquals(whole.getOrder(), split.getOrder());
+            assertEquals(whole.getTotalDistance(), split.getTotalDistance());
+            ParallelHeldKarpAlgorithmTest.assertValidTour(instance, split);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void solvesThirteenCities() {
+        TourInstance instance = TourInstance.of(ParallelHeldKarpAlgorithmTest.randomMatrix(14, 2));
+
+        IndexedTour tour = algorithm.solve(instance);
+
+        ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+        assertEquals(new ParallelHeldKarpAlgorithm().solve(instance).getTotalDistance(), tour.getTotalDistance());
+    }
+
+    @Test
+    void handlesTrivialInstances() {
+        DistanceMatrix matrix = new DistanceMatrix(new int[][] {{0, 4}, {4, 0}});
+
+        assertEquals(List.of(City.A, City.A), algorithm.solve(City.A, List.of(), matrix).getOrderedPath());
+        TspSolution single = algorithm.solve(City.A, List.of(City.B, City.A, City.B), matrix);
+        assertEquals(List.of(City.A, City.B, City.A), single.getOrderedPath());
+        assertEquals(8, single.getTotalDistance());
+    }
+
+    @Test
+    void rejectsOversizedOrMissingInput() {
+        assertThrows(IllegalArgumentException.class, () -> algorithm.solve(null, List.of(City.B), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> algorithm.solve(TourInstance.of(new int[BruteForceAlgorithm.MAX_VISIT_CITIES + 2][BruteForceAlgorithm.MAX_VISIT_CITIES + 2])));
+    }
+
+    @Test
+    void cancelledSearchStops() {
+        TourInstance instance = TourInstance.of(ParallelHeldKarpAlgorithmTest.randomMatrix(13, 3));
+        SearchControl control = new SearchControl();
+        control.cancel();
+
+        assertThrows(CancellationException.class, () -> algorithm.solve(instance, control));
+    }
+}
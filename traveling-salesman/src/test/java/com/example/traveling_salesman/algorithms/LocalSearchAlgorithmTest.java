@@ -0,0 +1,150 @@
+package com.example.traveling_salesman.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.service.algorithms.IndexedTour;
+import com.example.traveling_salesman.service.algorithms.LocalSearchAlgorithm;
+import com.example.traveling_salesman.service.algorithms.NearestNeighborAlgorithm;
+import com.example.traveling_salesman.service.algorithms.ParallelHeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.SearchControl;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspSolution;
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
+class LocalSearchAlgorithmTest {
+
+    private final LocalSearchAlgorithm algorithm = new LocalSearchAlgorithm();
+
+    // Rounded distances between random points on a 10000 x 10000 square
+    static int[][] euclideanMatrix(int size, long seed) {
+        Random random = new Random(seed);
+        int[] x = new int[size];
+        int[] y = new int[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = random.nextInt(10_000);
+            y[i] = random.nextInt(10_000);
+        }
+        int[][] matrix = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix[i][j] = (int) Math.round(Math.hypot(x[i] - x[j], y[i] - y[j]));
+            }
+        }
+        return matrix;
+    }
+
+    @Test
+    void neverWorseThanNearestNeighbourOnGeneratedSessions() {
+        NearestNeighborAlgorithm greedy = new NearestNeighborAlgorithm();
+        for (long seed = 0; seed < 10; seed++) {
+            DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(seed)).generate();
+            List<City> visit = List.of(City.A, City.B, City.D, City.E, City.F, City.G, City.H, City.I, City.J);
+
+            TspSolution solution = algorithm.solve(City.C, visit, matrix);
+
+            assertTrue(solution.getTotalDistance() <= greedy.solve(City.C, visit, matrix).getTotalDistance());
+            assertEquals(City.C, solution.getOrderedPath().get(0));
+            assertEquals(11, solution.getOrderedPath().size());
+        }
+    }
+
+    @Test
+    void improvesOnTheGreedyTour() {
+        TourInstance instance = TourInstance.of(euclideanMatrix(200, 4));
+
+        IndexedTour tour = algorithm.solve(instance);
+
+        ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+        boolean[] visited = new boolean[200];
+        visited[0] = true;
+        int current = 0;
+        int greedy = 0;
+        for (int step = 1; step < 200; step++) {
+            int next = -1;
+            for (int v = 1; v < 200; v++) {
+                if (!visited[v] && (next < 0 || instance.distance(current, v) < instance.distance(current, next))) {
+                    next = v;
+                }
+            }
+            visited[next] = true;
+            greedy += instance.distance(current, next);
+            current = next;
+        }
+        greedy += instance.distance(current, 0);
+        assertTrue(tour.getTotalDistance() < greedy * 0.95);
+    }
+
+    @Test
+    void staysCloseToOptimal() {
+        ParallelHeldKarpAlgorithm exact = new ParallelHeldKarpAlgorithm();
+        for (long seed = 0; seed < 5; seed++) {
+            TourInstance instance = TourInstance.of(euclideanMatrix(14, seed));
+
+            IndexedTour tour = algorithm.solve(instance);
+
+            ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+            assertTrue(tour.getTotalDistance() <= exact.solve(instance).getTotalDistance() * 1.1);
+        }
+    }
+
+    @Test
+    void solvesAThousandCities() {
+        TourInstance instance = TourInstance.of(euclideanMatrix(1000, 9));
+
+        IndexedTour tour = algorithm.solve(instance);
+
+        ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+        // Random uniform tours approach 0.7124 * sqrt(cities * area)
+        assertTrue(tour.getTotalDistance() < 0.7124 * Math.sqrt(1000) * 10_000 * 1.15);
+    }
+
+    @Test
+    void solvesThousandsOfCitiesById() {
+        DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(3)).generate(2000);
+        TourInstance instance = TourInstance.allCities(matrix, 42);
+
+        IndexedTour tour = algorithm.solve(instance);
+
+        ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+        int[] ids = instance.toIds(tour);
+        assertEquals(42, ids[0]);
+        assertEquals(42, ids[2000]);
+    }
+
+    @Test
+    void handlesTrivialInstances() {
+        DistanceMatrix matrix = new DistanceMatrix(new int[][] {{0, 4, 5}, {4, 0, 6}, {5, 6, 0}});
+
+        assertEquals(List.of(City.A, City.A), algorithm.solve(City.A, List.of(), matrix).getOrderedPath());
+        TspSolution single = algorithm.solve(City.A, List.of(City.B, City.A, City.B), matrix);
+        assertEquals(List.of(City.A, City.B, City.A), single.getOrderedPath());
+        assertEquals(8, single.getTotalDistance());
+        assertEquals(15, algorithm.solve(City.C, List.of(City.A, City.B), matrix).getTotalDistance());
+    }
+
+    @Test
+    void rejectsMissingInput() {
+        assertThrows(IllegalArgumentException.class, () -> algorithm.solve(null, List.of(City.B), null));
+        assertThrows(IllegalArgumentException.class, () -> new LocalSearchAlgorithm(0));
+    }
+
+    @Test
+    void cancelledSearchLeavesAValidTour() {
+        TourInstance instance = TourInstance.of(euclideanMatrix(1000, 5));
+        SearchControl control = new SearchControl();
+        control.cancel();
+
+        assertThrows(CancellationException.class, () -> algorithm.solve(instance, control));
+        ParallelHeldKarpAlgorithmTest.assertValidTour(instance, control.best());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.traveling_salesman.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.service.algorithms.BruteForceAlgorithm;
+import com.example.traveling_salesman.service.algorithms.IndexedTour;
+import com.example.traveling_salesman.service.algorithms.OffHeapHeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.ParallelHeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspSolution;
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
+class OffHeapHeldKarpAlgorithmTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void matchesInMemoryHeldKarp() throws IOException {
+        OffHeapHeldKarpAlgorithm algorithm = new OffHeapHeldKarpAlgorithm(tempDir, ForkJoinPool.commonPool(), 1 << 10);
+        ParallelHeldKarpAlgorithm reference = new ParallelHeldKarpAlgorithm();
+
+        for (int size = 1; size <= 14; size++) {
+            TourInstance instance = TourInstance.of(ParallelHeldKarpAlgorithmTest.randomMatrix(size, size));
+
+            IndexedTour tour = algorithm.solve(instance);
+
+            assertEquals(reference.solve(instance).getTotalDistance(), tour.getTotalDistance(), size + " cities");
+            ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+        }
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "temporary tables should be deleted");
+        }
+    }
+
+    @Test
+    void parallelLayersWriteConsistentParents() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            OffHeapHeldKarpAlgorithm parallel = new OffHeapHeldKarpAlgorithm(tempDir, pool, 8);
+            TourInstance instance = TourInstance.of(ParallelHeldKarpAlgorithmTest.randomMatrix(16, 11));
+
+            IndexedTour tour = parallel.solve(instance);
+
+            assertEquals(new ParallelHeldKarpAlgorithm().solve(instance).getTotalDistance(), tour.getTotalDistance());
+            ParallelHeldKarpAlgorithmTest.assertValidTour(instance, tour);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void agreesWithBruteForceOnGameSessions() {
+        OffHeapHeldKarpAlgorithm algorithm = new OffHeapHeldKarpAlgorithm(tempDir, ForkJoinPool.commonPool(), 1 << 10);
+        DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(5)).generate();
+        List<City> visit = List.of(City.A, City.C, City.F, City.G, City.J);
+
+        TspSolution solution = algorithm.solve(City.B, visit, matrix);
+
+        assertEquals(new BruteForceAlgorithm().solve(City.B, visit, matrix).getTotalDistance(), solution.getTotalDistance());
+        assertEquals(City.B, solution.getOrderedPath().get(0));
+    }
+
+    @Test
+    void rejectsTooManyCities() {
+        OffHeapHeldKarpAlgorithm algorithm = new OffHeapHeldKarpAlgorithm(tempDir, ForkJoinPool.commonPool(), 1 << 10);
+        int size = OffHeapHeldKarpAlgorithm.MAX_VISIT_CITIES + 2;
+
+        assertThrows(IllegalArgumentException.class, () -> algorithm.solve(TourInstance.of(new int[size][size])));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.traveling_salesman.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.service.algorithms.HeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.IndexedTour;
+import com.example.traveling_salesman.service.algorithms.ParallelHeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.SearchControl;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspSolution;
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
+class ParallelHeldKarpAlgorithmTest {
+
+    private final ParallelHeldKarpAlgorithm algorithm = new ParallelHeldKarpAlgorithm();
+
+    static int[][] randomMatrix(int size, long seed) {
+        Random random = new Random(seed);
+        int[][] matrix = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                matrix[i][j] = matrix[j][i] = 1 + random.nextInt(1000);
+            }
+        }
+        return matrix;
+    }
+
+    // Every index exactly once, home at both ends, and the reported length is the real length
+    static void assertValidTour(TourInstance instance, IndexedTour tour) {
+        int[] order = tour.getOrder();
+        assertEquals(instance.size() + 1, order.length);
+        assertEquals(0, order[0]);
+        assertEquals(0, order[order.length - 1]);
+        int[] visited = Arrays.copyOfRange(order, 0, order.length - 1);
+        Arrays.sort(visited);
+        for (int i = 0; i < visited.length; i++) {
+            assertEquals(i, visited[i]);
+        }
+        assertEquals(instance.tourDistance(order), tour.getTotalDistance());
+    }
+
+    @Test
+    void matchesHeldKarpOnGeneratedSessions() {
+        HeldKarpAlgorithm reference = new HeldKarpAlgorithm();
+        for (long seed = 0; seed < 10; seed++) {
+            DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(seed)).generate();
+            List<City> visit = List.of(City.B, City.D, City.E, City.G, City.H, City.I, City.J);
+
+            TspSolution expected = reference.solve(City.C, visit, matrix);
+            TspSolution actual = algorithm.solve(City.C, visit, matrix);
+
+            assertEquals(expected.getTotalDistance(), actual.getTotalDistance());
+            assertEquals(City.C, actual.getOrderedPath().get(0));
+            assertEquals(9, actual.getOrderedPath().size());
+        }
+    }
+
+    @Test
+    void parallelLayersGiveTheSameOptimum() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelHeldKarpAlgorithm parallel = new ParallelHeldKarpAlgorithm(pool, 16);
+            TourInstance instance = TourInstance.of(randomMatrix(15, 7));
+
+            IndexedTour sequential = new ParallelHeldKarpAlgorithm(pool, Integer.MAX_VALUE).solve(instance);
+            IndexedTour split = parallel.solve(instance);
+
+            assertEquals(sequential.getTotalDistance(), split.getTotalDistance());
+            assertValidTour(instance, split);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void solvesTwentyCities() {
+        TourInstance instance = TourInstance.of(randomMatrix(20, 3));
+
+        IndexedTour tour = algorithm.solve(instance);
+
+        assertValidTour(instance, tour);
+    }
+
+    @Test
+    void handlesTrivialInstances() {
+        DistanceMatrix matrix = new DistanceMatrix(new int[][] {{0, 4}, {4, 0}});
+
+        assertEquals(List.of(City.A, City.A), algorithm.solve(City.A, List.of(), matrix).getOrderedPath());
+        TspSolution single = algorithm.solve(City.A, List.of(City.B, City.A, City.B), matrix);
+        assertEquals(List.of(City.A, City.B, City.A), single.getOrderedPath());
+        assertEquals(8, single.getTotalDistance());
+    }
+
+    @Test
+    void rejectsOversizedOrMissingInput() {
+        assertThrows(IllegalArgumentException.class, () -> algorithm.solve(null, List.of(City.B), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> algorithm.solve(TourInstance.of(new int[ParallelHeldKarpAlgorithm.MAX_VISIT_CITIES + 2][ParallelHeldKarpAlgorithm.MAX_VISIT_CITIES + 2])));
+    }
+
+    @Test
+    void tourInstanceSelectsCitiesById() {
+        DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(8)).generate(40);
+        TourInstance instance = TourInstance.of(matrix, 30, new int[] {12, 30, 35, 12, 2});
+
+        assertEquals(4, instance.size());
+        assertEquals(matrix.getDistance(30, 35), instance.distance(0, 2));
+        IndexedTour tour = algorithm.solve(instance);
+        int[] ids = instance.toIds(tour);
+        assertEquals(30, ids[0]);
+        assertEquals(matrix.getDistance(30, ids[1]) + matrix.getDistance(ids[1], ids[2])
+                + matrix.getDistance(ids[2], ids[3]) + matrix.getDistance(ids[3], 30), tour.getTotalDistance());
+        assertThrows(IllegalStateException.class, () -> instance.toSolution(tour));
+    }
+
+    @Test
+    void tourInstanceCopiesDistancesFlat() {
+        TourInstance instance = TourInstance.of(new int[][] {{0, 1, 2}, {1, 0, 3}, {2, 3, 0}});
+
+        assertEquals(3, instance.distance(1, 2));
+        assertEquals(6, instance.tourDistance(new int[] {0, 1, 2, 0}));
+        assertArrayEquals(new int[] {0, 2, 1, 0}, new IndexedTour(new int[] {0, 2, 1, 0}, 6).getOrder());
+        assertTrue(instance.size() == 3);
+    }
+
+    @Test
+    void cancelledSearchesStop() {
+        TourInstance instance = TourInstance.of(randomMatrix(13, 6));
+        SearchControl control = new SearchControl();
+        control.cancel();
+
+        assertThrows(CancellationException.class, () -> algorithm.solve(instance, control));
+        assertThrows(CancellationException.class, () -> new HeldKarpAlgorithm().solve(instance, control));
+    }
+}
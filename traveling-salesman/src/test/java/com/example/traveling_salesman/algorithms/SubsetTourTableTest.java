@@ -0,0 +1,103 @@
+package com.example.traveling_salesman.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.service.algorithms.HeldKarpAlgorithm;
+import com.example.traveling_salesman.service.algorithms.SubsetTourTable;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspSolution;
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
+class SubsetTourTableTest {
+
+    @Test
+    void matchesHeldKarpForEverySelection() {
+        HeldKarpAlgorithm reference = new HeldKarpAlgorithm();
+        for (long seed = 0; seed < 3; seed++) {
+            DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(seed)).generate();
+            City home = City.values()[(int) (seed * 3 + 2)];
+            SubsetTourTable table = SubsetTourTable.of(matrix, home.ordinal());
+
+            for (long mask = 0; mask < 1 << 10; mask++) {
+                if ((mask & 1L << home.ordinal()) != 0) {
+                    continue;
+                }
+                List<City> visit = new ArrayList<>();
+                for (City city : City.values()) {
+                    if ((mask & 1L << city.ordinal()) != 0) {
+                        visit.add(city);
+                    }
+                }
+
+                TspSolution solution = table.solution(mask);
+
+                assertEquals(reference.solve(home, visit, matrix).getTotalDistance(), solution.getTotalDistance());
+                List<City> path = solution.getOrderedPath();
+                assertEquals(home, path.get(0));
+                assertEquals(home, path.get(path.size() - 1));
+                List<City> inner = new ArrayList<>(path.subList(1, path.size() - 1));
+                inner.sort(null);
+                assertEquals(visit, inner);
+                int length = 0;
+                for (int i = 1; i < path.size(); i++) {
+                    length += matrix.getDistance(path.get(i - 1), path.get(i));
+                }
+                assertEquals(solution.getTotalDistance(), length);
+            }
+        }
+    }
+
+    @Test
+    void ignoresTheHomeBit() {
+        DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(1)).generate();
+        SubsetTourTable table = SubsetTourTable.of(matrix, 4);
+
+        assertEquals(table.distance(0b1010), table.distance(0b1_1010));
+        assertArrayEquals(table.tourIds(0b1010), table.tourIds(0b1_1010));
+        assertArrayEquals(new int[] {4, 4}, table.tourIds(1 << 4));
+        assertEquals(0, table.distance(0));
+    }
+
+    @Test
+    void handlesLargerMatrices() {
+        DistanceMatrix matrix = new DistanceMatrix(ParallelHeldKarpAlgorithmTest.randomMatrix(15, 8));
+        SubsetTourTable table = SubsetTourTable.of(matrix, 0);
+        HeldKarpAlgorithm reference = new HeldKarpAlgorithm();
+
+        long all = (1L << 15) - 2;
+        int[] ids = table.tourIds(all);
+        int length = 0;
+        for (int i = 1; i < ids.length; i++) {
+            length += matrix.getDistance(ids[i - 1], ids[i]);
+        }
+        assertEquals(table.distance(all), length);
+        int[] visited = Arrays.copyOfRange(ids, 0, 15);
+        Arrays.sort(visited);
+        for (int i = 0; i < 15; i++) {
+            assertEquals(i, visited[i]);
+        }
+        assertEquals(reference.solve(TourInstance.allCities(matrix, 0)).getTotalDistance(), table.distance(all));
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(2)).generate();
+        SubsetTourTable table = SubsetTourTable.of(matrix, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> SubsetTourTable.of(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> table.distance(1L << 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> SubsetTourTable.of(new DistanceMatrixGenerator(new Random(2)).generate(22), 0));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.traveling_salesman.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
+class DistanceMatrixCodecTest {
+
+    @Test
+    void roundTripsGeneratedSession() {
+        DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(6)).generate();
+
+        byte[] bytes = DistanceMatrixCodec.encode(matrix);
+        DistanceMatrix decoded = DistanceMatrixCodec.decode(bytes);
+
+        // Header, 45 shorts, checksum
+        assertEquals(6 + 45 * 2 + 4, bytes.length);
+        assertArrayEquals(matrix.toRowMajor(), decoded.toRowMajor());
+        assertEquals(matrix.getLabels(), decoded.getLabels());
+        assertEquals(3, decoded.indexOf("D"));
+    }
+
+    @Test
+    void roundTripsDistancesAboveSixteenBits() {
+        DistanceMatrix matrix = new DistanceMatrix(new int[][] {{0, 70_000, 3}, {70_000, 0, 65_535}, {3, 65_535, 0}});
+
+        byte[] bytes = DistanceMatrixCodec.encode(matrix);
+
+        assertEquals(6 + 3 * 4 + 4, bytes.length);
+        assertArrayEquals(matrix.toRowMajor(), DistanceMatrixCodec.decode(bytes).toRowMajor());
+    }
+
+    @Test
+    void roundTripsSingleCity() {
+        DistanceMatrix decoded = DistanceMatrixCodec.decode(DistanceMatrixCodec.encode(new DistanceMatrix(new int[][] {{0}})));
+
+        assertEquals(1, decoded.size());
+        assertEquals(0, decoded.getDistance(0, 0));
+    }
+
+    @Test
+    void rejectsCorruptedData() {
+        byte[] bytes = DistanceMatrixCodec.encode(new DistanceMatrixGenerator(new Random(6)).generate());
+
+        byte[] flipped = bytes.clone();
+        flipped[20] ^= 1;
+        assertThrows(IllegalArgumentException.class, () -> DistanceMatrixCodec.decode(flipped));
+        assertThrows(IllegalArgumentException.class,
+                () -> DistanceMatrixCodec.decode(Arrays.copyOf(bytes, bytes.length - 2)));
+        assertThrows(IllegalArgumentException.class, () -> DistanceMatrixCodec.decode(new byte[3]));
+    }
+
+    @Test
+    void rejectsCustomLabels() {
+        DistanceMatrix matrix = new DistanceMatrix(List.of("X", "Y"), new int[] {0, 1, 1, 0});
+
+        assertThrows(IllegalArgumentException.class, () -> DistanceMatrixCodec.encode(matrix));
+    }
+}
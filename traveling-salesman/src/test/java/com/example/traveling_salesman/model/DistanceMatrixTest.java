@@ -1,9 +1,16 @@
 package com.example.traveling_salesman.model;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
 class DistanceMatrixTest {
 
     @Test
@@ -42,4 +49,43 @@ class DistanceMatrixTest {
         DistanceMatrix m = new DistanceMatrix(input);
         assertArrayEquals(input, m.toArray());
     }
+
+    @Test
+    void acceptsFlatRowMajorValues() {
+        DistanceMatrix m = new DistanceMatrix(3, new int[] {0, 5, 7, 5, 0, 9, 7, 9, 0});
+        assertEquals(9, m.getDistance(1, 2));
+        assertEquals(7, m.getDistance(City.C, City.A));
+        assertArrayEquals(new int[] {0, 5, 7, 5, 0, 9, 7, 9, 0}, m.toRowMajor());
+        assertThrows(IllegalArgumentException.class, () -> new DistanceMatrix(3, new int[8]));
+        assertThrows(IllegalArgumentException.class, () -> new DistanceMatrix(2, new int[] {0, 1, 2, 0}));
+        assertThrows(IndexOutOfBoundsException.class, () -> m.getDistance(0, 3));
+    }
+
+    @Test
+    void keepsDistancesAboveSixteenBits() {
+        int[][] input = {{0, 65535, 70000}, {65535, 0, 1}, {70000, 1, 0}};
+        assertArrayEquals(input, new DistanceMatrix(input).toArray());
+        assertEquals(65535, new DistanceMatrix(new int[][] {{0, 65535}, {65535, 0}}).getDistance(0, 1));
+    }
+
+    @Test
+    void labelsCitiesBeyondTheEnum() {
+        DistanceMatrix m = new DistanceMatrixGenerator(new Random(1)).generate(30);
+        assertEquals(30, m.size());
+        assertEquals(List.of("A", "B", "C"), m.getLabels().subList(0, 3));
+        assertEquals("Z", m.getLabel(25));
+        assertEquals("AA", m.getLabel(26));
+        assertEquals("AD", m.getLabel(29));
+        assertEquals(27, m.indexOf("AB"));
+        assertEquals(-1, m.indexOf("ZZ"));
+        assertEquals("BA", DistanceMatrix.defaultLabel(52));
+    }
+
+    @Test
+    void acceptsCustomLabels() {
+        DistanceMatrix m = new DistanceMatrix(List.of("Home", "Depot"), new int[] {0, 4, 4, 0});
+        assertEquals(1, m.indexOf("Depot"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DistanceMatrix(List.of("X", "X"), new int[] {0, 4, 4, 0}));
+    }
 }
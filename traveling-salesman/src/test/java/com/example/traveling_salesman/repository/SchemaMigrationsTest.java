@@ -0,0 +1,75 @@
+package com.example.traveling_salesman.repository;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class SchemaMigrationsTest {
+
+    private static final String INSERT_SESSION_SQL = "INSERT INTO game_session "
+            + "(player_name, home_city, distance_matrix_bin, created_at) VALUES (?, 'A', X'00', CURRENT_TIMESTAMP)";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:tsp_migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    // game_session as ddl-auto=update leaves it on a database created before the binary matrix column
+    private void createLegacyGameSession() {
+        jdbcTemplate.execute("CREATE TABLE game_session ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "player_name VARCHAR(255) NOT NULL, "
+                + "home_city VARCHAR(100) NOT NULL, "
+                + "distance_matrix LONGTEXT NOT NULL, "
+                + "distance_matrix_bin MEDIUMBLOB, "
+                + "selected_cities LONGTEXT, "
+                + "created_at DATETIME(6) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO game_session (player_name, home_city, distance_matrix, created_at) "
+                + "VALUES ('Old Player', 'A', '[[0]]', CURRENT_TIMESTAMP)");
+    }
+
+    @Test
+    void oldSchemaRejectsSessionsWithoutJsonMatrix() {
+        createLegacyGameSession();
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(INSERT_SESSION_SQL, "New Player"));
+    }
+
+    @Test
+    void migrationRelaxesLegacyMatrixColumn() {
+        createLegacyGameSession();
+
+        new SchemaMigrations(jdbcTemplate).migrate();
+        jdbcTemplate.update(INSERT_SESSION_SQL, "New Player");
+
+        assertEquals("[[0]]", jdbcTemplate.queryForObject(
+                "SELECT distance_matrix FROM game_session WHERE player_name = 'Old Player'", String.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM game_session", Integer.class));
+
+        // A second start finds nothing left to do
+        assertDoesNotThrow(() -> new SchemaMigrations(jdbcTemplate).migrate());
+    }
+
+    @Test
+    void currentSchemaUnchanged() {
+        jdbcTemplate.execute("CREATE TABLE game_session (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "distance_matrix_bin MEDIUMBLOB)");
+
+        assertDoesNotThrow(() -> new SchemaMigrations(jdbcTemplate).migrate());
+    }
+}
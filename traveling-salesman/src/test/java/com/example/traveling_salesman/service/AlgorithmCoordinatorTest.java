@@ -0,0 +1,162 @@
+package com.example.traveling_salesman.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.service.algorithms.BranchAndBoundAlgorithm;
+import com.example.traveling_salesman.service.algorithms.IndexedTour;
+import com.example.traveling_salesman.service.algorithms.NearestNeighborAlgorithm;
+import com.example.traveling_salesman.service.algorithms.SearchControl;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspAlgorithm;
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+
+class AlgorithmCoordinatorTest {
+
+    private final DistanceMatrix matrix = new DistanceMatrixGenerator(new Random(11)).generate();
+    private final List<City> visit = List.of(City.B, City.C, City.D, City.E, City.F);
+    private final List<AlgorithmCoordinator> coordinators = new ArrayList<>();
+
+    // Waits until cancelled, optionally offering the visiting order first
+    private static final class Stalling implements TspAlgorithm {
+
+        private final String name;
+        private final boolean offers;
+        private final CountDownLatch stopped = new CountDownLatch(1);
+
+        Stalling(String name, boolean offers) {
+            this.name = name;
+            this.offers = offers;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public IndexedTour solve(TourInstance instance) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public IndexedTour solve(TourInstance instance, SearchControl control) {
+            if (offers) {
+                int[] order = new int[instance.size() + 1];
+                for (int i = 1; i < instance.size(); i++) {
+                    order[i] = i;
+                }
+                control.offer(new IndexedTour(order, instance.tourDistance(order)));
+            }
+            try {
+                while (!control.isCancelled()) {
+                    Thread.sleep(1);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            stopped.countDown();
+            control.checkCancelled();
+            return null;
+        }
+    }
+
+    private AlgorithmCoordinator coordinator(List<TspAlgorithm> algorithms, int threads, int queue, long deadlineMs) {
+        AlgorithmCoordinator coordinator = new AlgorithmCoordinator(algorithms, threads, queue, deadlineMs);
+        coordinators.add(coordinator);
+        return coordinator;
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinators.forEach(AlgorithmCoordinator::destroy);
+    }
+
+    @Test
+    void tagsFinishedRunsExactOrHeuristic() {
+        AlgorithmCoordinator coordinator = coordinator(
+                List.of(new NearestNeighborAlgorithm(), new BranchAndBoundAlgorithm()), 0, 8, 60_000);
+
+        List<AlgorithmRun> runs = coordinator.run(City.A, visit, matrix);
+
+        assertEquals(2, runs.size());
+        assertEquals("NEAREST_NEIGHBOR", runs.get(0).getAlgorithmName());
+        assertEquals(AlgorithmRun.Status.HEURISTIC, runs.get(0).getStatus());
+        assertEquals(AlgorithmRun.Status.EXACT, runs.get(1).getStatus());
+        assertEquals(new BranchAndBoundAlgorithm().solve(City.A, visit, matrix).getTotalDistance(),
+                runs.get(1).getSolution().getTotalDistance());
+        assertTrue(runs.get(0).getSolution().getTotalDistance() >= runs.get(1).getSolution().getTotalDistance());
+    }
+
+    @Test
+    void deadlineKeepsBestSoFarAndCancelsStragglers() throws Exception {
+        Stalling anytime = new Stalling("ANYTIME", true);
+        Stalling silent = new Stalling("SILENT", false);
+        AlgorithmCoordinator coordinator = coordinator(
+                List.of(new NearestNeighborAlgorithm(), anytime, silent), 0, 8, 200);
+
+        long start = System.nanoTime();
+        List<AlgorithmRun> runs = coordinator.run(City.A, visit, matrix);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 5_000);
+        assertEquals(AlgorithmRun.Status.HEURISTIC, runs.get(0).getStatus());
+        assertEquals(AlgorithmRun.Status.TIMED_OUT, runs.get(1).getStatus());
+        assertEquals(List.of(City.A, City.B, City.C, City.D, City.E, City.F, City.A),
+                runs.get(1).getSolution().getOrderedPath());
+        assertEquals(AlgorithmRun.Status.TIMED_OUT, runs.get(2).getStatus());
+        assertNull(runs.get(2).getSolution());
+        assertTrue(anytime.stopped.await(5, TimeUnit.SECONDS));
+        assertTrue(silent.stopped.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void runsTheQueueCannotTakeTimeOut() {
+        Stalling running = new Stalling("RUNNING", false);
+        Stalling queued = new Stalling("QUEUED", false);
+        AlgorithmCoordinator coordinator = coordinator(
+                List.of(running, queued, new NearestNeighborAlgorithm()), 1, 1, 100);
+
+        List<AlgorithmRun> runs = coordinator.run(City.A, visit, matrix);
+
+        for (AlgorithmRun run : runs) {
+            assertEquals(AlgorithmRun.Status.TIMED_OUT, run.getStatus());
+            assertNull(run.getSolution());
+        }
+    }
+
+    @Test
+    void algorithmFailuresPropagate() {
+        TspAlgorithm failing = new NearestNeighborAlgorithm() {
+            @Override
+            public IndexedTour solve(TourInstance instance) {
+                throw new IllegalArgumentException("too many cities");
+            }
+        };
+        AlgorithmCoordinator coordinator = coordinator(List.of(new NearestNeighborAlgorithm(), failing), 0, 8, 60_000);
+
+        assertThrows(IllegalArgumentException.class, () -> coordinator.run(City.A, visit, matrix));
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        List<TspAlgorithm> algorithms = List.of(new NearestNeighborAlgorithm());
+
+        assertThrows(IllegalArgumentException.class, () -> new AlgorithmCoordinator(algorithms, -1, 8, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AlgorithmCoordinator(algorithms, 0, 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AlgorithmCoordinator(algorithms, 0, 8, 0));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.traveling_salesman.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.traveling_salesman.dto.AlgorithmEvaluationResponse;
+import com.example.traveling_salesman.dto.GameResponse;
+import com.example.traveling_salesman.dto.GameRoundResponse;
+import com.example.traveling_salesman.dto.SelectCitiesRequest;
+import com.example.traveling_salesman.dto.SolveAttemptRequest;
+import com.example.traveling_salesman.dto.StartGameRequest;
+import com.example.traveling_salesman.model.City;
+import com.example.traveling_salesman.model.DistanceMatrix;
+import com.example.traveling_salesman.model.DistanceMatrixCodec;
+import com.example.traveling_salesman.model.GameSession;
+import com.example.traveling_salesman.repository.GameResultRepository;
+import com.example.traveling_salesman.repository.GameSessionRepository;
+import com.example.traveling_salesman.service.algorithms.BranchAndBoundAlgorithm;
+import com.example.traveling_salesman.service.algorithms.IndexedTour;
+import com.example.traveling_salesman.service.algorithms.NearestNeighborAlgorithm;
+import com.example.traveling_salesman.service.algorithms.SearchControl;
+import com.example.traveling_salesman.service.algorithms.SubsetTourTable;
+import com.example.traveling_salesman.service.algorithms.TourInstance;
+import com.example.traveling_salesman.service.algorithms.TspAlgorithm;
+import com.example.traveling_salesman.support.DistanceMatrixGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class GameServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GameSessionRepository sessions = mock(GameSessionRepository.class);
+    private final AtomicInteger exactRuns = new AtomicInteger();
+    private DistanceMatrix matrix;
+    private GameSession session;
+    private AlgorithmCoordinator coordinator;
+    private GameService service;
+
+    // Branch and bound that counts how often it is asked to solve
+    private final TspAlgorithm countingExact = new BranchAndBoundAlgorithm() {
+        @Override
+        public IndexedTour solve(TourInstance instance, SearchControl control) {
+            exactRuns.incrementAndGet();
+            return super.solve(instance, control);
+        }
+    };
+
+    @BeforeEach
+    void setUp() throws Exception {
+        matrix = new DistanceMatrixGenerator(new Random(4)).generate();
+        session = new GameSession();
+        ReflectionTestUtils.setField(session, "id", 7L);
+        session.setPlayerName("alice");
+        session.setHomeCity(City.A);
+        session.setDistanceMatrixJson(objectMapper.writeValueAsString(matrix.toArray()));
+        when(sessions.findById(7L)).thenReturn(Optional.of(session));
+        when(sessions.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        coordinator = new AlgorithmCoordinator(List.of(new NearestNeighborAlgorithm(), countingExact), 0, 8, 60_000);
+        service = new GameService(
+                new DistanceMatrixGenerator(new Random(4)),
+                sessions,
+                mock(GameResultRepository.class),
+                coordinator,
+                objectMapper,
+                new SubsetTableCache(16, 60_000_000_000L),
+                new SessionMatrixCache(16, 60_000_000_000L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.destroy();
+    }
+
+    private SolveAttemptRequest attempt(List<String> path) {
+        SolveAttemptRequest request = new SolveAttemptRequest();
+        request.setSessionId(7L);
+        request.setProposedPath(path);
+        return request;
+    }
+
+    @Test
+    void attemptAfterEvaluationUsesSessionTable() {
+        SelectCitiesRequest select = new SelectCitiesRequest();
+        select.setSessionId(7L);
+        select.setCities(List.of("B", "C", "D", "E"));
+        AlgorithmEvaluationResponse evaluation = service.evaluateSelection(select);
+        assertEquals(1, exactRuns.get());
+
+        GameResponse response = service.submitAttempt(attempt(List.of("A", "B", "C", "D", "E", "A")));
+
+        assertEquals(1, exactRuns.get());
+        int expected = new BranchAndBoundAlgorithm()
+                .solve(City.A, List.of(City.B, City.C, City.D, City.E), matrix).getTotalDistance();
+        assertEquals(expected, evaluation.getOptimalDistance());
+        assertEquals(List.of("HEURISTIC", "EXACT"),
+                evaluation.getAlgorithmResults().stream().map(result -> result.getStatus()).toList());
+        assertEquals(expected, response.getOptimalDistance());
+        assertEquals(6, response.getOptimalPath().size());
+    }
+
+    @Test
+    void attemptWithoutEvaluationNeverRunsExactAlgorithm() {
+        GameResponse first = service.submitAttempt(attempt(List.of("A", "C", "F", "A")));
+        GameResponse second = service.submitAttempt(attempt(List.of("A", "F", "C", "A")));
+
+        assertEquals(0, exactRuns.get());
+        assertEquals(first.getOptimalDistance(), second.getOptimalDistance());
+        assertTrue(first.getOptimalDistance() <= first.getSubmittedDistance());
+    }
+
+    @Test
+    void matrixTooLargeForTableIsRejected() throws Exception {
+        DistanceMatrix large = new DistanceMatrixGenerator(new Random(5)).generate(SubsetTourTable.MAX_VISIT_CITIES + 2);
+        session.setDistanceMatrixJson(objectMapper.writeValueAsString(large.toArray()));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> service.submitAttempt(attempt(List.of("A", "C", "F", "A"))));
+        assertEquals("Game session has " + (SubsetTourTable.MAX_VISIT_CITIES + 1) + " cities to visit; at most "
+                + SubsetTourTable.MAX_VISIT_CITIES + " are supported", error.getMessage());
+        assertEquals(0, exactRuns.get());
+    }
+
+    @Test
+    void startedGameStoresBinaryMatrix() {
+        AtomicReference<GameSession> stored = new AtomicReference<>();
+        when(sessions.save(any())).thenAnswer(invocation -> {
+            GameSession saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", 8L);
+            stored.set(saved);
+            return saved;
+        });
+        StartGameRequest request = new StartGameRequest();
+        request.setPlayerName("bob");
+
+        GameRoundResponse round = service.startGame(request);
+
+        assertNull(stored.get().getDistanceMatrixJson());
+        assertArrayEquals(new DistanceMatrix(round.getDistanceMatrix()).toRowMajor(),
+                DistanceMatrixCodec.decode(stored.get().getDistanceMatrixData()).toRowMajor());
+    }
+
+    @Test
+    void storedMatrixIsDecodedOncePerSession() {
+        session.setDistanceMatrixJson(null);
+        session.setDistanceMatrixData(DistanceMatrixCodec.encode(matrix));
+
+        GameResponse first = service.submitAttempt(attempt(List.of("A", "C", "F", "A")));
+        // Later requests use the cached matrix, not the column
+        session.setDistanceMatrixData(new byte[] {1});
+        GameResponse second = service.submitAttempt(attempt(List.of("A", "C", "F", "A")));
+
+        assertEquals(first.getSubmittedDistance(), second.getSubmittedDistance());
+        assertEquals(matrix.getDistance(City.A, City.C) + matrix.getDistance(City.C, City.F)
+                + matrix.getDistance(City.F, City.A), second.getSubmittedDistance());
+    }
+}